@@ -0,0 +1,80 @@
+package org.kasource.commons.reflection.benchmark;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.concurrent.TimeUnit;
+
+import org.kasource.commons.reflection.annotation.AnnotationBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks building annotations with {@link AnnotationBuilder} and accessing their attributes.
+ *
+ * @author rikardwi
+ **/
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnnotationBenchmark {
+    private Qualifier built;
+    private Qualifier declared;
+
+    @Setup
+    public void setup() {
+        built = new AnnotationBuilder<>(Qualifier.class, "primary").attr("priority", 1).build();
+        declared = Declared.class.getAnnotation(Qualifier.class);
+    }
+
+    @Benchmark
+    public Qualifier build() {
+        return new AnnotationBuilder<>(Qualifier.class, "primary").attr("priority", 1).build();
+    }
+
+    @Benchmark
+    public String attributeAccess() {
+        return built.value();
+    }
+
+    @Benchmark
+    public int arrayAttributeAccess() {
+        return built.tags().length;
+    }
+
+    @Benchmark
+    public int hashCodeOfBuilt() {
+        return built.hashCode();
+    }
+
+    @Benchmark
+    public boolean equalsDeclared() {
+        return built.equals(declared);
+    }
+
+    /**
+     * Annotation built by the benchmarks.
+     **/
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Qualifier {
+        String value();
+
+        int priority() default 0;
+
+        String[] tags() default {"a", "b"};
+    }
+
+    @Qualifier(value = "primary", priority = 1)
+    private static class Declared {
+    }
+}
@@ -0,0 +1,147 @@
+package org.kasource.commons.reflection.benchmark;
+
+import java.io.Serializable;
+
+/**
+ * Classes used by the benchmarks.
+ *
+ * @author rikardwi
+ **/
+final class Beans {
+
+    private Beans() {
+    }
+
+    /**
+     * Base bean with a few properties.
+     **/
+    public static class Person implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private String name;
+        private int age;
+        private boolean active;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+    }
+
+    /**
+     * Bean extending another bean.
+     **/
+    public static class Employee extends Person implements Comparable<Employee> {
+        private static final long serialVersionUID = 1L;
+
+        private String street;
+        private String zipCode;
+        private String countryCode;
+        private long salary;
+
+        public String getStreet() {
+            return street;
+        }
+
+        public void setStreet(String street) {
+            this.street = street;
+        }
+
+        public String getZipCode() {
+            return zipCode;
+        }
+
+        public void setZipCode(String zipCode) {
+            this.zipCode = zipCode;
+        }
+
+        public String getCountryCode() {
+            return countryCode;
+        }
+
+        public void setCountryCode(String countryCode) {
+            this.countryCode = countryCode;
+        }
+
+        public long getSalary() {
+            return salary;
+        }
+
+        public void setSalary(long salary) {
+            this.salary = salary;
+        }
+
+        public boolean hasSalary() {
+            return salary > 0;
+        }
+
+        @Override
+        public int compareTo(Employee other) {
+            return Long.compare(salary, other.salary);
+        }
+    }
+
+    /**
+     * Deep class hierarchy, where each level implements an interface of its own.
+     **/
+    public interface Level {
+    }
+
+    public interface Level1 extends Level {
+    }
+
+    public interface Level2 extends Level1 {
+    }
+
+    public interface Level3 extends Level2 {
+    }
+
+    public static class Base implements Level {
+    }
+
+    public static class Deep1 extends Base implements Level1 {
+    }
+
+    public static class Deep2 extends Deep1 implements Level2 {
+    }
+
+    public static class Deep3 extends Deep2 implements Level3 {
+    }
+
+    public static class Deep4 extends Deep3 implements Runnable {
+        @Override
+        public void run() {
+        }
+    }
+
+    public static class Deep5 extends Deep4 implements Cloneable {
+    }
+
+    public static class Deep6 extends Deep5 {
+    }
+
+    public static class Deep7 extends Deep6 {
+    }
+
+    public static class Deep8 extends Deep7 {
+    }
+}
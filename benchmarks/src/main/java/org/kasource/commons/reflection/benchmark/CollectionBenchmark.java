@@ -0,0 +1,77 @@
+package org.kasource.commons.reflection.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.kasource.commons.reflection.collection.ClassMap;
+import org.kasource.commons.reflection.collection.ConcurrentClassMap;
+import org.kasource.commons.reflection.collection.PackageMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks resolving values from {@link ClassMap} on a deep class hierarchy and from {@link PackageMap}.
+ *
+ * @author rikardwi
+ **/
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CollectionBenchmark {
+    private ClassMap<String> classMap;
+    private ClassMap<String> concurrentClassMap;
+    private PackageMap<String> packageMap;
+
+    @Setup
+    public void setup() {
+        Map<Class<?>, String> classes = new HashMap<>();
+        classes.put(Beans.Level.class, "Level");
+        classes.put(Object.class, "Object");
+        classMap = new ClassMap<>(classes);
+        concurrentClassMap = new ConcurrentClassMap<>(classes);
+
+        Map<String, String> packages = new HashMap<>();
+        packages.put("org", "org");
+        packages.put("org.kasource", "kasource");
+        packages.put("org.kasource.commons.reflection", "reflection");
+        packages.put("java.util", "util");
+        packageMap = new PackageMap<>(packages);
+    }
+
+    @Benchmark
+    public String classMapDeepHierarchy() {
+        return classMap.get(Beans.Deep8.class);
+    }
+
+    @Benchmark
+    public String classMapDirectMatch() {
+        return classMap.get(Beans.Base.class);
+    }
+
+    @Benchmark
+    public String concurrentClassMapDeepHierarchy() {
+        return concurrentClassMap.get(Beans.Deep8.class);
+    }
+
+    @Benchmark
+    public String packageMapByName() {
+        return packageMap.get("org.kasource.commons.reflection.benchmark");
+    }
+
+    @Benchmark
+    public String packageMapByClass() {
+        return packageMap.get(CollectionBenchmark.class);
+    }
+}
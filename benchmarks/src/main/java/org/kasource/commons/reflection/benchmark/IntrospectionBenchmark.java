@@ -0,0 +1,57 @@
+package org.kasource.commons.reflection.benchmark;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.kasource.commons.reflection.filter.FieldFilter;
+import org.kasource.commons.reflection.filter.builder.FieldFilterBuilder;
+import org.kasource.commons.reflection.filter.builder.MethodFilterBuilder;
+import org.kasource.commons.reflection.util.FieldUtils;
+import org.kasource.commons.reflection.util.MethodUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks finding the getters, setters and fields of a bean class.
+ *
+ * @author rikardwi
+ **/
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IntrospectionBenchmark {
+    private static final FieldFilter INSTANCE_FIELDS = new FieldFilterBuilder().not().isStatic().build();
+    private static final FieldFilter NAMED_FIELDS = new FieldFilterBuilder().name("name|street|.*Code").compile();
+
+    @Benchmark
+    public Set<Method> getGetters() {
+        return MethodUtils.getMethods(Beans.Employee.class, MethodFilterBuilder.FILTER_GETTERS);
+    }
+
+    @Benchmark
+    public Set<Method> getSetters() {
+        return MethodUtils.getMethods(Beans.Employee.class, MethodFilterBuilder.FILTER_SETTERS);
+    }
+
+    @Benchmark
+    public Set<Field> getInstanceFields() {
+        return FieldUtils.getFields(Beans.Employee.class, INSTANCE_FIELDS);
+    }
+
+    @Benchmark
+    public Set<Field> getNamedFields() {
+        return FieldUtils.getFields(Beans.Employee.class, NAMED_FIELDS);
+    }
+}
@@ -0,0 +1,60 @@
+package org.kasource.commons.reflection.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.kasource.commons.util.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks variable substitution with {@link StringUtils#replaceVariables(String, Map, boolean)}.
+ *
+ * @author rikardwi
+ **/
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StringUtilsBenchmark {
+    private static final String INPUT = "jdbc:${dbType}://${dbHost}:${dbPort}/${dbName}?user=${dbUser}";
+    private static final String NO_VARIABLES = "jdbc:postgresql://localhost:5432/test";
+
+    private Map<String, Object> variables;
+
+    @Setup
+    public void setup() {
+        variables = new HashMap<>();
+        variables.put("dbType", "postgresql");
+        variables.put("dbHost", "localhost");
+        variables.put("dbPort", 5432);
+        variables.put("dbName", "test");
+        variables.put("dbUser", "admin");
+    }
+
+    @Benchmark
+    public String replaceVariables() {
+        return StringUtils.replaceVariables(INPUT, variables, false);
+    }
+
+    @Benchmark
+    public String replaceVariablesSystemOverride() {
+        return StringUtils.replaceVariables(INPUT, variables, true);
+    }
+
+    @Benchmark
+    public String replaceNoVariables() {
+        return StringUtils.replaceVariables(NO_VARIABLES, variables, false);
+    }
+}
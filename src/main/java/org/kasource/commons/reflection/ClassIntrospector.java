@@ -12,6 +12,7 @@ import org.kasource.commons.reflection.filter.ClassFilter;
 import org.kasource.commons.reflection.filter.ConstructorFilter;
 import org.kasource.commons.reflection.filter.FieldFilter;
 import org.kasource.commons.reflection.filter.MethodFilter;
+import org.kasource.commons.reflection.util.MethodUtils;
 
 /**
  * Class Introspection.
@@ -44,6 +45,18 @@ import org.kasource.commons.reflection.filter.MethodFilter;
  **/
 public interface ClassIntrospector {
 
+    /**
+     * Returns the class introspected.
+     * <p>
+     * The default implementation throws UnsupportedOperationException, implementations should override it.
+     *
+     * @return the target class.
+     * @throws UnsupportedOperationException if the implementation does not expose its target class.
+     **/
+    default Class<?> getTarget() {
+        throw new UnsupportedOperationException(getClass().getName() + " does not expose its target class");
+    }
+
     /**
      * Returns the named method from class <i>clazz</i>, does not throw checked exceptions.
      *
@@ -119,6 +132,82 @@ public interface ClassIntrospector {
      **/
     Set<Method> getMethods(MethodFilter methodFilter);
 
+    /**
+     * Returns the effective methods of the target class, which matches the supplied methodFilter.
+     * <p>
+     * Unlike getMethods, methods overridden by a sub class are excluded and default methods of interfaces
+     * are included.
+     * <p>
+     * The default implementation delegates to {@link MethodUtils#getEffectiveMethods(Class, MethodFilter)}
+     * with the class returned by {@link #getTarget()}.
+     *
+     * @param methodFilter The method filter to apply.
+     * @return effective methods that match the methodFilter.
+     * @throws UnsupportedOperationException if the implementation does not expose its target class.
+     **/
+    default Set<Method> getEffectiveMethods(MethodFilter methodFilter) {
+        return MethodUtils.getEffectiveMethods(getTarget(), methodFilter);
+    }
+
+    /**
+     * Returns the methods named name declared by the target class.
+     * <p>
+     * The default implementation delegates to {@link MethodUtils#getDeclaredMethodsByName(Class, String)}
+     * with the class returned by {@link #getTarget()}.
+     *
+     * @param name The name of the methods.
+     * @return the methods named name.
+     * @throws UnsupportedOperationException if the implementation does not expose its target class.
+     **/
+    default Set<Method> getDeclaredMethodsByName(String name) {
+        return MethodUtils.getDeclaredMethodsByName(getTarget(), name);
+    }
+
+    /**
+     * Returns the methods named name declared by the target class, which takes numberOfParameters parameters.
+     * <p>
+     * The default implementation delegates to {@link MethodUtils#getDeclaredMethodsByName(Class, String, int)}
+     * with the class returned by {@link #getTarget()}.
+     *
+     * @param name               The name of the methods.
+     * @param numberOfParameters The number of parameters.
+     * @return the methods named name which takes numberOfParameters parameters.
+     * @throws UnsupportedOperationException if the implementation does not expose its target class.
+     **/
+    default Set<Method> getDeclaredMethodsByName(String name, int numberOfParameters) {
+        return MethodUtils.getDeclaredMethodsByName(getTarget(), name, numberOfParameters);
+    }
+
+    /**
+     * Returns the methods named name declared by the target class and any of its super classes.
+     * <p>
+     * The default implementation delegates to {@link MethodUtils#getMethodsByName(Class, String)}
+     * with the class returned by {@link #getTarget()}.
+     *
+     * @param name The name of the methods.
+     * @return the methods named name.
+     * @throws UnsupportedOperationException if the implementation does not expose its target class.
+     **/
+    default Set<Method> getMethodsByName(String name) {
+        return MethodUtils.getMethodsByName(getTarget(), name);
+    }
+
+    /**
+     * Returns the methods named name declared by the target class and any of its super classes, which takes
+     * numberOfParameters parameters.
+     * <p>
+     * The default implementation delegates to {@link MethodUtils#getMethodsByName(Class, String, int)}
+     * with the class returned by {@link #getTarget()}.
+     *
+     * @param name               The name of the methods.
+     * @param numberOfParameters The number of parameters.
+     * @return the methods named name which takes numberOfParameters parameters.
+     * @throws UnsupportedOperationException if the implementation does not expose its target class.
+     **/
+    default Set<Method> getMethodsByName(String name, int numberOfParameters) {
+        return MethodUtils.getMethodsByName(getTarget(), name, numberOfParameters);
+    }
+
     /**
      * Returns the method declared by the target class and any of its super classes, which matches the supplied
      * methodFilter, if method is found null is returned. If more than one method is found the
@@ -34,6 +34,9 @@ import org.kasource.commons.reflection.util.MethodUtils;
  * ClassFilter, FieldFilter and MethodFilter is used to query (filter) for interfaces, fields
  * and methods.
  * <p>
+ * The members of the target class and its super classes are resolved once and cached per class,
+ * so creating introspectors and running queries does not re-read the class meta data.
+ * <p>
  * Example: Finding all getters:
  * {@code
  * ClassIntroSpector introspector = new ClassIntroSpector(MyClass.class);
@@ -59,6 +62,15 @@ public class ClassIntrospectorImpl implements ClassIntrospector {
         this.target = target;
     }
 
+    /**
+     * Returns the class introspected.
+     *
+     * @return the target class.
+     **/
+    @Override
+    public Class<?> getTarget() {
+        return target;
+    }
 
     /**
      * Returns the named method from class <i>clazz</i>, does not throw checked exceptions.
@@ -158,6 +170,67 @@ public class ClassIntrospectorImpl implements ClassIntrospector {
         return MethodUtils.getMethods(target, methodFilter);
     }
 
+    /**
+     * Returns the effective methods of the target class, which matches the supplied methodFilter.
+     * <p>
+     * Unlike getMethods, methods overridden by a sub class are excluded and default methods of interfaces
+     * are included.
+     *
+     * @param methodFilter The method filter to apply.
+     * @return effective methods that match the methodFilter.
+     **/
+    @Override
+    public Set<Method> getEffectiveMethods(MethodFilter methodFilter) {
+        return MethodUtils.getEffectiveMethods(target, methodFilter);
+    }
+
+    /**
+     * Returns the methods named name declared by the target class.
+     *
+     * @param name The name of the methods.
+     * @return the methods named name.
+     **/
+    @Override
+    public Set<Method> getDeclaredMethodsByName(String name) {
+        return MethodUtils.getDeclaredMethodsByName(target, name);
+    }
+
+    /**
+     * Returns the methods named name declared by the target class, which takes numberOfParameters parameters.
+     *
+     * @param name               The name of the methods.
+     * @param numberOfParameters The number of parameters.
+     * @return the methods named name which takes numberOfParameters parameters.
+     **/
+    @Override
+    public Set<Method> getDeclaredMethodsByName(String name, int numberOfParameters) {
+        return MethodUtils.getDeclaredMethodsByName(target, name, numberOfParameters);
+    }
+
+    /**
+     * Returns the methods named name declared by the target class and any of its super classes.
+     *
+     * @param name The name of the methods.
+     * @return the methods named name.
+     **/
+    @Override
+    public Set<Method> getMethodsByName(String name) {
+        return MethodUtils.getMethodsByName(target, name);
+    }
+
+    /**
+     * Returns the methods named name declared by the target class and any of its super classes, which takes
+     * numberOfParameters parameters.
+     *
+     * @param name               The name of the methods.
+     * @param numberOfParameters The number of parameters.
+     * @return the methods named name which takes numberOfParameters parameters.
+     **/
+    @Override
+    public Set<Method> getMethodsByName(String name, int numberOfParameters) {
+        return MethodUtils.getMethodsByName(target, name, numberOfParameters);
+    }
+
     /**
      * Returns the method declared by the target class and any of its super classes, which matches the supplied
      * methodFilter, if method is found null is returned. If more than one method is found the
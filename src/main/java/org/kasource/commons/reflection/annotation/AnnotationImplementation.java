@@ -0,0 +1,218 @@
+package org.kasource.commons.reflection.annotation;
+
+import java.lang.annotation.Annotation;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import net.sf.cglib.proxy.Enhancer;
+import org.kasource.commons.reflection.annotation.cglib.AnnotationClassGenerator;
+import org.kasource.commons.reflection.annotation.cglib.AnnotationMethodInterceptor;
+import org.kasource.commons.reflection.util.AnnotationUtils;
+import org.kasource.commons.reflection.util.InstanceFactory;
+
+/**
+ * Creates instances of the class generated to implement an annotation type.
+ * <p>
+ * One class is generated per annotation type, see {@link AnnotationClassGenerator}, and kept in a
+ * {@link ClassValue} together with the factory creating its instances. Creating an annotation is then a plain
+ * object allocation.
+ * <p>
+ * If no class can be generated for the annotation type (for example if the annotation type is not public
+ * and its class loader can't load {@link SyntheticAnnotation}) instances are created as cglib proxies
+ * intercepted by {@link AnnotationMethodInterceptor}.
+ * <p>
+ * Interned instances are kept in a pool of weak references keyed by the attribute values, so that equal
+ * attribute values yields the same instance as long as that instance is reachable.
+ *
+ * @param <T> The annotation type.
+ * @author rikardwi
+ **/
+final class AnnotationImplementation<T extends Annotation> {
+    private static final ClassValue<AnnotationImplementation<?>> IMPLEMENTATIONS = new ClassValue<AnnotationImplementation<?>>() {
+        @SuppressWarnings("unchecked")
+        @Override
+        protected AnnotationImplementation<?> computeValue(Class<?> type) {
+            return new AnnotationImplementation<>((Class<? extends Annotation>) type);
+        }
+    };
+
+    private final Class<T> annotationType;
+    private final Method[] attributes;
+    private final InstanceFactory<?> factory;
+    private final ConcurrentMap<AttributeValues, InternedReference<T>> interned = new ConcurrentHashMap<>();
+    private final ReferenceQueue<T> clearedReferences = new ReferenceQueue<>();
+
+    private AnnotationImplementation(final Class<T> annotationType) {
+        this.annotationType = annotationType;
+        this.attributes = AnnotationSchema.of(annotationType).getAttributes();
+        this.factory = createFactory(annotationType, attributes);
+    }
+
+    /**
+     * Returns the implementation of an annotation type.
+     *
+     * @param <T>            The annotation type.
+     * @param annotationType The annotation type.
+     *
+     * @return the implementation of annotationType.
+     **/
+    @SuppressWarnings("unchecked")
+    static <T extends Annotation> AnnotationImplementation<T> of(Class<T> annotationType) {
+        return (AnnotationImplementation<T>) IMPLEMENTATIONS.get(annotationType);
+    }
+
+    /**
+     * Creates an annotation instance.
+     *
+     * @param attributeValues The value of each attribute, in the order of the attributes of the
+     *                        {@link AnnotationSchema}.
+     *
+     * @return a new annotation instance.
+     **/
+    T newInstance(Object[] attributeValues) {
+        return create(copyOf(attributeValues));
+    }
+
+    /**
+     * Returns the canonical annotation instance for the attribute values, creating it if no reachable
+     * instance with equal attribute values exists.
+     *
+     * @param attributeValues The value of each attribute, in the order of the attributes of the
+     *                        {@link AnnotationSchema}.
+     *
+     * @return the canonical annotation instance.
+     **/
+    T intern(Object[] attributeValues) {
+        expungeClearedReferences();
+        Object[] values = copyOf(attributeValues);
+        AttributeValues key = new AttributeValues(values, SyntheticAnnotation.hashCode(attributes, values));
+        while (true) {
+            InternedReference<T> reference = interned.get(key);
+            T annotation = reference == null ? null : reference.get();
+            if (annotation != null) {
+                return annotation;
+            }
+            annotation = create(values);
+            InternedReference<T> newReference = new InternedReference<>(annotation, key, clearedReferences);
+            if (reference == null
+                    ? interned.putIfAbsent(key, newReference) == null
+                    : interned.replace(key, reference, newReference)) {
+                return annotation;
+            }
+        }
+    }
+
+    private T create(Object[] values) {
+        if (factory == null) {
+            return newProxy(values);
+        }
+        return annotationType.cast(factory.newInstance(annotationType, attributes, values));
+    }
+
+    /**
+     * Returns a copy of the attribute values where arrays are copied as well, so that the values can't be
+     * modified through the builder after the instance has been created.
+     **/
+    private static Object[] copyOf(Object[] attributeValues) {
+        Object[] values = attributeValues.clone();
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null && values[i].getClass().isArray()) {
+                values[i] = copyArray(values[i]);
+            }
+        }
+        return values;
+    }
+
+    private static Object copyArray(Object array) {
+        int length = Array.getLength(array);
+        Object copy = Array.newInstance(array.getClass().getComponentType(), length);
+        System.arraycopy(array, 0, copy, 0, length);
+        return copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void expungeClearedReferences() {
+        InternedReference<T> reference;
+        while ((reference = (InternedReference<T>) clearedReferences.poll()) != null) {
+            interned.remove(reference.key, reference);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private T newProxy(Object[] values) {
+        Map<String, Method> attributeMethods = new HashMap<>();
+        Map<String, Object> attributeData = new HashMap<>();
+        for (int i = 0; i < attributes.length; i++) {
+            attributeMethods.put(attributes[i].getName(), attributes[i]);
+            attributeData.put(attributes[i].getName(), values[i]);
+        }
+        return (T) Enhancer.create(annotationType,
+                new AnnotationMethodInterceptor(annotationType, attributeMethods, attributeData));
+    }
+
+    private static InstanceFactory<?> createFactory(Class<? extends Annotation> annotationType, Method... attributes) {
+        try {
+            Class<?> generated = AnnotationClassGenerator.generate(annotationType, SyntheticAnnotation.class, attributes);
+            return InstanceFactory.of(generated, Class.class, Method[].class, Object[].class);
+        } catch (RuntimeException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * Attribute values of an interned annotation, compared as specified by {@link Annotation#equals(Object)}.
+     **/
+    private static final class AttributeValues {
+        private final Object[] values;
+        private final int hashCode;
+
+        private AttributeValues(final Object[] values, final int hashCode) {
+            this.values = values;
+            this.hashCode = hashCode;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (!(object instanceof AttributeValues)) {
+                return false;
+            }
+            AttributeValues other = (AttributeValues) object;
+            if (hashCode != other.hashCode) {
+                return false;
+            }
+            for (int i = 0; i < values.length; i++) {
+                if (!AnnotationUtils.attributeValueEquals(values[i], other.values[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * Weak reference to an interned annotation, which knows its key so that it can be removed from the pool
+     * once cleared.
+     **/
+    private static final class InternedReference<T> extends WeakReference<T> {
+        private final AttributeValues key;
+
+        private InternedReference(final T annotation, final AttributeValues key, final ReferenceQueue<? super T> queue) {
+            super(annotation, queue);
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package org.kasource.commons.reflection.annotation;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The attributes of an annotation type: their names, types, default values and validators.
+ * <p>
+ * The schema is resolved once per annotation type and kept in a {@link ClassValue}. Attributes are ordered
+ * by name and identified by their index in that order, which is also the order of the attribute values passed
+ * to {@link AnnotationImplementation}.
+ *
+ * @author rikardwi
+ **/
+final class AnnotationSchema {
+    private static final String ERROR_MESSAGE = "Invalid attribute type: %s, attribute '%s"
+            + "' of @%s should be %s";
+    private static final Map<Class<?>, Class<?>> WRAPPERS = new HashMap<>();
+    private static final ClassValue<AnnotationSchema> SCHEMAS = new ClassValue<AnnotationSchema>() {
+        @SuppressWarnings("unchecked")
+        @Override
+        protected AnnotationSchema computeValue(Class<?> type) {
+            return new AnnotationSchema((Class<? extends Annotation>) type);
+        }
+    };
+
+    static {
+        WRAPPERS.put(boolean.class, Boolean.class);
+        WRAPPERS.put(byte.class, Byte.class);
+        WRAPPERS.put(char.class, Character.class);
+        WRAPPERS.put(short.class, Short.class);
+        WRAPPERS.put(int.class, Integer.class);
+        WRAPPERS.put(long.class, Long.class);
+        WRAPPERS.put(float.class, Float.class);
+        WRAPPERS.put(double.class, Double.class);
+    }
+
+    private final Class<? extends Annotation> annotationType;
+    private final Method[] attributes;
+    private final Map<String, Integer> indexes = new HashMap<>();
+    private final Object[] defaultValues;
+    private final AttributeValidator[] validators;
+
+    private AnnotationSchema(final Class<? extends Annotation> annotationType) {
+        this.annotationType = annotationType;
+        this.attributes = Arrays.stream(annotationType.getDeclaredMethods())
+                .filter(m -> m.getParameterCount() == 0 && !m.isSynthetic() && !Modifier.isStatic(m.getModifiers()))
+                .sorted(Comparator.comparing(Method::getName))
+                .toArray(Method[]::new);
+        this.defaultValues = new Object[attributes.length];
+        this.validators = new AttributeValidator[attributes.length];
+        for (int i = 0; i < attributes.length; i++) {
+            attributes[i].setAccessible(true);
+            indexes.put(attributes[i].getName(), i);
+            defaultValues[i] = attributes[i].getDefaultValue();
+            validators[i] = validatorFor(attributes[i].getName(), attributes[i].getReturnType());
+        }
+    }
+
+    /**
+     * Returns the schema of an annotation type.
+     *
+     * @param annotationType The annotation type.
+     *
+     * @return the schema of annotationType.
+     **/
+    static AnnotationSchema of(Class<? extends Annotation> annotationType) {
+        return SCHEMAS.get(annotationType);
+    }
+
+    /**
+     * Returns the attribute methods, ordered by name.
+     * <p>
+     * The methods are accessible and the array is shared, so it must not be modified.
+     *
+     * @return the attribute methods.
+     **/
+    Method[] getAttributes() {
+        return attributes;
+    }
+
+    /**
+     * Returns the index of an attribute.
+     *
+     * @param name Name of the attribute.
+     *
+     * @return the index of the attribute.
+     * @throws IllegalArgumentException if the annotation type has no attribute named name.
+     **/
+    int indexOf(String name) {
+        Integer index = indexes.get(name);
+        if (index == null) {
+            throw new IllegalArgumentException("Invalid attribute: @" + annotationType.getName()
+                    + " does not have any attribute named '" + name + "'");
+        }
+        return index;
+    }
+
+    /**
+     * Returns the name of an attribute.
+     *
+     * @param index Index of the attribute.
+     *
+     * @return the name of the attribute.
+     **/
+    String getName(int index) {
+        return attributes[index].getName();
+    }
+
+    /**
+     * Returns the type of an attribute.
+     *
+     * @param index Index of the attribute.
+     *
+     * @return the type of the attribute.
+     **/
+    Class<?> getType(int index) {
+        return attributes[index].getReturnType();
+    }
+
+    /**
+     * Returns a new array with the default value of each attribute, null for attributes without default value.
+     * <p>
+     * Array values are shared between the arrays returned, and must not be modified.
+     *
+     * @return the default values.
+     **/
+    Object[] newDefaultValues() {
+        return defaultValues.clone();
+    }
+
+    /**
+     * Validates that a value of the given type may be assigned to an attribute.
+     *
+     * @param index Index of the attribute.
+     * @param type  Type of the value.
+     *
+     * @throws IllegalArgumentException if a value of type can't be assigned to the attribute.
+     **/
+    void validate(int index, Class<?> type) {
+        validators[index].validate(type);
+    }
+
+    private AttributeValidator validatorFor(String name, Class<?> returnType) {
+        if (returnType.isArray()) {
+            Class<?> componentType = returnType.getComponentType();
+            return type -> {
+                if (!type.isArray() && !componentType.isAssignableFrom(type)) {
+                    throw invalidType(type.getName(), name, componentType.getName() + "[]");
+                } else if (type.isArray() && !returnType.isAssignableFrom(type)) {
+                    throw invalidType(type.getComponentType().getName() + "[]", name, componentType.getName() + "[]");
+                }
+            };
+        }
+        if (returnType.isPrimitive()) {
+            Class<?> wrapperType = WRAPPERS.get(returnType);
+            return type -> {
+                if (type != returnType && type != wrapperType) {
+                    throw invalidType(type.getName(), name, returnType.getName());
+                }
+            };
+        }
+        return type -> {
+            if (!returnType.isAssignableFrom(type)) {
+                throw invalidType(type.getName(), name, returnType.getName());
+            }
+        };
+    }
+
+    private IllegalArgumentException invalidType(String typeName, String name, String expectedTypeName) {
+        return new IllegalArgumentException(String.format(ERROR_MESSAGE, typeName, name, annotationType.getName(),
+                expectedTypeName));
+    }
+
+    /**
+     * Validates the type of a value assigned to an attribute.
+     **/
+    @FunctionalInterface
+    private interface AttributeValidator {
+        void validate(Class<?> type);
+    }
+}
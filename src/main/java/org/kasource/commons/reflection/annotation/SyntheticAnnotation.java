@@ -0,0 +1,146 @@
+package org.kasource.commons.reflection.annotation;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import org.kasource.commons.reflection.util.AnnotationUtils;
+
+/**
+ * Base class of the annotation implementations generated by {@link AnnotationBuilder}.
+ * <p>
+ * A generated class implements a single annotation type, and stores each attribute in a final field of its own
+ * which is read directly by the attribute method. This class implements annotationType, equals, hashCode and
+ * toString according to the {@link Annotation} contract, so that instances are interchangeable with annotations
+ * read from classes, for example as keys in a hash map. The hash code is computed once, when the instance is
+ * created, and is compared first when comparing two synthetic annotations.
+ * <p>
+ * Note: It's not recommended to use this class directly, instead use {@link AnnotationBuilder}.
+ *
+ * @author rikardwi
+ **/
+public abstract class SyntheticAnnotation implements Annotation {
+    private final Class<? extends Annotation> annotationType;
+    private final Method[] attributes;
+    private final Object[] values;
+    private final int hashCode;
+
+    /**
+     * Constructor.
+     *
+     * @param annotationType The annotation type implemented.
+     * @param attributes     The attribute methods of annotationType, accessible, shared and must not be modified.
+     * @param values         The value of each attribute in attributes, must not be modified.
+     **/
+    protected SyntheticAnnotation(final Class<? extends Annotation> annotationType,
+                                  final Method[] attributes,
+                                  final Object[] values) {
+        this.annotationType = annotationType;
+        this.attributes = attributes;
+        this.values = values;
+        this.hashCode = hashCode(attributes, values);
+    }
+
+    @Override
+    public Class<? extends Annotation> annotationType() {
+        return annotationType;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (!annotationType.isInstance(object)) {
+            return false;
+        }
+        if (object instanceof SyntheticAnnotation) {
+            SyntheticAnnotation other = (SyntheticAnnotation) object;
+            if (hashCode != other.hashCode) {
+                return false;
+            }
+            Object[] otherValues = other.values;
+            for (int i = 0; i < values.length; i++) {
+                if (!AnnotationUtils.attributeValueEquals(values[i], otherValues[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        for (int i = 0; i < attributes.length; i++) {
+            if (!AnnotationUtils.attributeValueEquals(values[i], invoke(attributes[i], object))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the hash code as specified by {@link Annotation#hashCode()}, computed once when created.
+     *
+     * @return the hash code of this annotation.
+     **/
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder string = new StringBuilder("@").append(annotationType.getName());
+        if (attributes.length > 0) {
+            string.append('(');
+            for (int i = 0; i < attributes.length; i++) {
+                if (i > 0) {
+                    string.append(", ");
+                }
+                string.append(attributes[i].getName()).append(" = '").append(memberValueToString(values[i])).append('\'');
+            }
+            string.append(')');
+        }
+        return string.toString();
+    }
+
+    /**
+     * Returns the hash code, as specified by {@link Annotation#hashCode()}, of an annotation with the given
+     * attribute values.
+     *
+     * @param attributes The attribute methods.
+     * @param values     The value of each attribute in attributes.
+     *
+     * @return the hash code of the annotation.
+     **/
+    static int hashCode(Method[] attributes, Object[] values) {
+        int hashCode = 0;
+        for (int i = 0; i < attributes.length; i++) {
+            hashCode += (127 * attributes[i].getName().hashCode()) ^ AnnotationUtils.attributeValueHashCode(values[i]);
+        }
+        return hashCode;
+    }
+
+    private static Object invoke(Method attribute, Object annotation) {
+        try {
+            return attribute.invoke(annotation);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Could not read attribute " + attribute.getName() + " of " + annotation, e);
+        }
+    }
+
+    private static String memberValueToString(Object value) {
+        if (value instanceof Object[]) {
+            return Arrays.toString((Object[]) value);
+        } else if (value != null && value.getClass().isArray()) {
+            StringBuilder string = new StringBuilder("[");
+            for (int i = 0; i < Array.getLength(value); i++) {
+                if (i > 0) {
+                    string.append(", ");
+                }
+                string.append(Array.get(value, i));
+            }
+            return string.append(']').toString();
+        }
+        return String.valueOf(value);
+    }
+}
@@ -0,0 +1,152 @@
+package org.kasource.commons.reflection.annotation.cglib;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.sf.cglib.core.ClassEmitter;
+import net.sf.cglib.core.CodeEmitter;
+import net.sf.cglib.core.CodeGenerationException;
+import net.sf.cglib.core.Constants;
+import net.sf.cglib.core.DebuggingClassWriter;
+import net.sf.cglib.core.ReflectUtils;
+import net.sf.cglib.core.Signature;
+import net.sf.cglib.core.TypeUtils;
+
+/**
+ * Generates a concrete class implementing an annotation type.
+ * <p>
+ * The generated class extends the supplied base class and stores each attribute in a final field, which the
+ * attribute method returns directly (arrays are cloned). The constructor of the generated class takes the
+ * annotation type, the attribute methods and the attribute values (in the order of the attribute methods),
+ * passes them on to the constructor of the base class and assigns the fields from the values.
+ * <p>
+ * Only the public API of cglib core is used, so the generator works with both cglib and cglib-nodep. Each call to
+ * {@link #generate(Class, Class, Method...)} defines a new class, callers should keep the class returned.
+ *
+ * @author rikardwi
+ **/
+public final class AnnotationClassGenerator {
+    private static final Signature CONSTRUCTOR = TypeUtils.parseConstructor("Class, java.lang.reflect.Method[], Object[]");
+    private static final Signature CLONE = TypeUtils.parseSignature("Object clone()");
+    private static final String FIELD_PREFIX = "attribute$";
+    private static final String CLASS_NAME_INFIX = "$$AnnotationClassGenerator$$";
+    private static final AtomicInteger CLASS_COUNTER = new AtomicInteger();
+    /** Value of ClassWriter.COMPUTE_FRAMES, the flags cglib itself creates class writers with. **/
+    private static final int COMPUTE_FRAMES = 2;
+
+    private final Class<? extends Annotation> annotationType;
+    private final Class<?> baseClass;
+    private final Method[] attributes;
+    private final String className;
+
+    private AnnotationClassGenerator(final Class<? extends Annotation> annotationType,
+                                     final Class<?> baseClass,
+                                     final Method[] attributes,
+                                     final String className) {
+        this.annotationType = annotationType;
+        this.baseClass = baseClass;
+        this.attributes = attributes;
+        this.className = className;
+    }
+
+    /**
+     * Generates and returns a class implementing annotationType.
+     * <p>
+     * The class is defined by the class loader of the annotation type, or by the class loader of the base class
+     * if the annotation type is loaded by the bootstrap class loader or its class loader can't load the base class.
+     *
+     * @param annotationType The annotation type to implement.
+     * @param baseClass      Public class to extend, which must have a protected or public constructor
+     *                       taking (Class, Method[], Object[]).
+     * @param attributes     The attribute methods of annotationType, in the order the values are passed to the
+     *                       constructor.
+     *
+     * @return the generated class.
+     * @throws CodeGenerationException if the class could not be generated.
+     **/
+    public static Class<?> generate(Class<? extends Annotation> annotationType, Class<?> baseClass, Method... attributes) {
+        ClassLoader classLoader = getClassLoader(annotationType, baseClass);
+        String namePrefix;
+        if (classLoader != annotationType.getClassLoader() || annotationType.getName().startsWith("java.")) {
+            namePrefix = baseClass.getPackage().getName() + "." + annotationType.getSimpleName();
+        } else {
+            namePrefix = annotationType.getName();
+        }
+        String className = namePrefix + CLASS_NAME_INFIX + Integer.toHexString(CLASS_COUNTER.incrementAndGet());
+        AnnotationClassGenerator generator = new AnnotationClassGenerator(annotationType, baseClass, attributes, className);
+        DebuggingClassWriter classWriter = new DebuggingClassWriter(COMPUTE_FRAMES);
+        generator.generateClass(new ClassEmitter(classWriter));
+        try {
+            return ReflectUtils.defineClass(className, classWriter.toByteArray(), classLoader);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CodeGenerationException(e);
+        }
+    }
+
+    private static ClassLoader getClassLoader(Class<? extends Annotation> annotationType, Class<?> baseClass) {
+        ClassLoader classLoader = annotationType.getClassLoader();
+        if (classLoader == null || !isVisible(baseClass, classLoader)) {
+            return baseClass.getClassLoader();
+        }
+        return classLoader;
+    }
+
+    private static boolean isVisible(Class<?> clazz, ClassLoader classLoader) {
+        try {
+            return Class.forName(clazz.getName(), false, classLoader) == clazz;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private void generateClass(ClassEmitter classEmitter) {
+        classEmitter.begin_class(Constants.V1_8,
+                Constants.ACC_PUBLIC | Constants.ACC_FINAL,
+                className,
+                TypeUtils.parseType(baseClass.getName()),
+                TypeUtils.getTypes(new Class<?>[]{annotationType}),
+                Constants.SOURCE_FILE);
+        for (int i = 0; i < attributes.length; i++) {
+            classEmitter.declare_field(Constants.ACC_PRIVATE | Constants.ACC_FINAL, FIELD_PREFIX + i,
+                    ReflectUtils.getSignature(attributes[i]).getReturnType(), null);
+        }
+        generateConstructor(classEmitter);
+        for (int i = 0; i < attributes.length; i++) {
+            generateAttributeMethod(classEmitter, i);
+        }
+        classEmitter.end_class();
+    }
+
+    private void generateConstructor(ClassEmitter classEmitter) {
+        CodeEmitter code = classEmitter.begin_method(Constants.ACC_PUBLIC, CONSTRUCTOR, null);
+        code.load_this();
+        code.load_args();
+        code.super_invoke_constructor(CONSTRUCTOR);
+        for (int i = 0; i < attributes.length; i++) {
+            code.load_this();
+            code.load_arg(2);
+            code.push(i);
+            code.aaload();
+            code.unbox(ReflectUtils.getSignature(attributes[i]).getReturnType());
+            code.putfield(FIELD_PREFIX + i);
+        }
+        code.return_value();
+        code.end_method();
+    }
+
+    private void generateAttributeMethod(ClassEmitter classEmitter, int index) {
+        Signature signature = ReflectUtils.getSignature(attributes[index]);
+        CodeEmitter code = classEmitter.begin_method(Constants.ACC_PUBLIC | Constants.ACC_FINAL, signature, null);
+        code.load_this();
+        code.getfield(FIELD_PREFIX + index);
+        if (TypeUtils.isArray(signature.getReturnType())) {
+            code.invoke_virtual(signature.getReturnType(), CLONE);
+            code.checkcast(signature.getReturnType());
+        }
+        code.return_value();
+        code.end_method();
+    }
+}
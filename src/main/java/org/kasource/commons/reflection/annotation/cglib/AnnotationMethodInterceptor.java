@@ -1,14 +1,15 @@
 package org.kasource.commons.reflection.annotation.cglib;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.Arrays;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 import net.sf.cglib.proxy.MethodInterceptor;
 import net.sf.cglib.proxy.MethodProxy;
+import org.kasource.commons.reflection.util.AnnotationUtils;
 
 /**
  * Annotation Method Interceptor
@@ -21,6 +22,7 @@ public class AnnotationMethodInterceptor implements MethodInterceptor {
     private Map<String, Object> attributeData;
     private Class<? extends Annotation> annotationType;
     private Map<String, Method> attributes;
+    private volatile Integer hashCode;
 
 
     public AnnotationMethodInterceptor(final Class<? extends Annotation> annotationType,
@@ -49,13 +51,50 @@ public class AnnotationMethodInterceptor implements MethodInterceptor {
         } else if (method.getName().equals("equals")) {
             return annotationEquals(args[0]);
         } else if (method.getName().equals("hashCode")) {
-            return proxy.hashCode();
+            return annotationHashCode();
         } else {
-            return attributeData.get(method.getName());
+            return attributeValue(attributeData.get(method.getName()));
         }
 
     }
 
+    /**
+     * Returns the value to return from an attribute method, arrays are cloned as the attribute values may be shared
+     * by other annotation instances (interned annotations are shared by all callers).
+     *
+     * @param value The attribute value.
+     *
+     * @return value, or a copy of value if value is an array.
+     **/
+    private static Object attributeValue(Object value) {
+        if (value == null || !value.getClass().isArray()) {
+            return value;
+        }
+        int length = Array.getLength(value);
+        Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+        System.arraycopy(value, 0, copy, 0, length);
+        return copy;
+    }
+
+    /**
+     * Returns the hash code as specified by {@link Annotation#hashCode()}, computed on first invocation.
+     *
+     * @return the hash code of the annotation.
+     **/
+    private int annotationHashCode() {
+        if (hashCode == null) {
+            int sum = 0;
+            for (Map.Entry<String, Method> entry : attributes.entrySet()) {
+                Object value = attributeData.get(entry.getKey());
+                if (value != null) {
+                    sum += (127 * entry.getKey().hashCode()) ^ AnnotationUtils.attributeValueHashCode(value);
+                }
+            }
+            hashCode = sum;
+        }
+        return hashCode;
+    }
+
     /**
      * Returns true if the specified object represents an annotation that is logically equivalent to this one.
      *
@@ -102,16 +141,7 @@ public class AnnotationMethodInterceptor implements MethodInterceptor {
      * @return true if two attributes are equal.
      */
     private boolean attributeEquals(Object value, Object otherValue) {
-        if (value == null) {
-            return false;
-        } else {
-            if (value.getClass().isArray()) {
-                return Arrays.equals((Object[]) value, (Object[]) otherValue);
-
-            } else {
-                return value.equals(otherValue);
-            }
-        }
+        return value != null && AnnotationUtils.attributeValueEquals(value, otherValue);
     }
 
     @Override
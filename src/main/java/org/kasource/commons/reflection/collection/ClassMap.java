@@ -1,10 +1,16 @@
 package org.kasource.commons.reflection.collection;
 
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 
 /**
@@ -23,13 +29,27 @@ import java.util.Objects;
  * String integerString = classMap.get(java.lang.Integer);
  * assert(numberString.equals("Integer"))
  * }
+ * <p>
+ * The value resolved for each class is cached, so that a repeated lookup of the same class does not inspect the
+ * class hierarchy again. The cache is cleared when the map is modified.
+ * <p>
+ * Note: This class is not thread-safe, see {@link ConcurrentClassMap}.
  *
  * @param <T> Content type of the map
  * @author rikardwi
  **/
 public class ClassMap<T> {
+    private static final ClassValue<Class<?>[]> LINEARIZATIONS = new ClassValue<Class<?>[]>() {
+        @Override
+        protected Class<?>[] computeValue(Class<?> type) {
+            return linearize(type);
+        }
+    };
+
+    private static final Object NOT_FOUND = new Object();
 
     private Map<Class<?>, T> map = new HashMap<>();
+    private final ConcurrentMap<Class<?>, Object> resolved = new ConcurrentHashMap<>();
 
     public ClassMap() {
     }
@@ -43,26 +63,40 @@ public class ClassMap<T> {
      * or any of its super classes or any of its interfaces.
      * <p>
      * Values are resolved using the most specific classes and interfaces first
-     * and then more general (base classes).
+     * and then more general (base classes), see {@link #getLinearization(Class)}.
      *
      * @param clazz Class to resolve value for by inspecting the class META data.
      * @return value found for the supplied class or null if no value could be resolved.
      **/
     public T get(final Class<?> clazz) {
+        return resolve(map, resolved, clazz);
+    }
 
-        Class<?> classToInspect = clazz;
-        T object = map.get(classToInspect);
-        if (object == null) {
-            object = getByInterfaces(classToInspect);
-        }
-        while (object == null && classToInspect.getSuperclass() != null) {
-            classToInspect = classToInspect.getSuperclass();
-            object = map.get(classToInspect);
-            if (object == null) {
-                object = getByInterfaces(classToInspect);
-            }
-        }
-        return object;
+    /**
+     * Associates value with clazz.
+     *
+     * @param clazz Class to add value for.
+     * @param value Value to add.
+     *
+     * @return the value previously associated with clazz or null if none.
+     **/
+    public T put(final Class<?> clazz, final T value) {
+        T previous = map.put(clazz, value);
+        resolved.clear();
+        return previous;
+    }
+
+    /**
+     * Removes the value associated with clazz.
+     *
+     * @param clazz Class to remove value for.
+     *
+     * @return the value previously associated with clazz or null if none.
+     **/
+    public T remove(final Class<?> clazz) {
+        T previous = map.remove(clazz);
+        resolved.clear();
+        return previous;
     }
 
 
@@ -84,6 +118,79 @@ public class ClassMap<T> {
                 .orElse(null);
     }
 
+    /**
+     * Returns the order in which the types of the hierarchy of a class are resolved.
+     * <p>
+     * The class itself followed by the interfaces it directly implements (in declaration order), then each
+     * super class followed by its directly implemented interfaces and lastly the interfaces extended by
+     * those interfaces, breadth first. Each type occurs once.
+     *
+     * @param clazz The class to linearize the hierarchy of.
+     *
+     * @return the types of the hierarchy of clazz in resolution order, the returned array is shared and must not
+     * be modified.
+     **/
+    static Class<?>[] getLinearization(Class<?> clazz) {
+        return LINEARIZATIONS.get(clazz);
+    }
+
+    /**
+     * Returns the value of the first type in the linearization of clazz which has a value in map.
+     *
+     * @param <T>   Content type of the map.
+     * @param map   Map to resolve value from.
+     * @param clazz Class to resolve value for.
+     *
+     * @return the value resolved or null if not found.
+     **/
+    static <T> T resolve(Map<Class<?>, T> map, Class<?> clazz) {
+        for (Class<?> type : getLinearization(clazz)) {
+            T value = map.get(type);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
 
+    /**
+     * Returns the value resolved for clazz from map, using and updating a cache of resolved values.
+     *
+     * @param <T>      Content type of the map.
+     * @param map      Map to resolve value from.
+     * @param resolved Cache of values already resolved from map, must be cleared whenever map is modified.
+     * @param clazz    Class to resolve value for.
+     *
+     * @return the value resolved or null if not found.
+     **/
+    @SuppressWarnings("unchecked")
+    static <T> T resolve(Map<Class<?>, T> map, ConcurrentMap<Class<?>, Object> resolved, Class<?> clazz) {
+        Object value = resolved.get(clazz);
+        if (value == null) {
+            T resolvedValue = resolve(map, clazz);
+            value = resolvedValue == null ? NOT_FOUND : resolvedValue;
+            resolved.putIfAbsent(clazz, value);
+        }
+        return value == NOT_FOUND ? null : (T) value;
+    }
 
+    private static Class<?>[] linearize(Class<?> clazz) {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        for (Class<?> type = clazz; type != null; type = type.getSuperclass()) {
+            types.add(type);
+            types.addAll(Arrays.asList(type.getInterfaces()));
+        }
+        List<Class<?>> queue = new ArrayList<>(types);
+        for (int i = 0; i < queue.size(); i++) {
+            Class<?> type = queue.get(i);
+            if (type.isInterface()) {
+                for (Class<?> superInterface : type.getInterfaces()) {
+                    if (types.add(superInterface)) {
+                        queue.add(superInterface);
+                    }
+                }
+            }
+        }
+        return types.toArray(new Class<?>[0]);
+    }
 }
@@ -0,0 +1,86 @@
+package org.kasource.commons.reflection.collection;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Thread-safe {@link ClassMap}.
+ * <p>
+ * Reads are lock-free: each lookup reads the current snapshot of the map and its resolution cache. Writes are
+ * copy-on-write, each modification creates a new snapshot (with an empty resolution cache) which is published
+ * atomically, retrying if a concurrent write was published in between. A value resolved from one snapshot is
+ * never visible in another, so the cache is always consistent with the entries of the map.
+ * <p>
+ * Since every write copies the map, this class is intended for maps which are read far more often than modified,
+ * like registries of handlers.
+ *
+ * @param <T> Content type of the map
+ * @author rikardwi
+ **/
+public class ConcurrentClassMap<T> extends ClassMap<T> {
+
+    private final AtomicReference<Snapshot<T>> snapshot;
+
+    public ConcurrentClassMap() {
+        this(Collections.emptyMap());
+    }
+
+    public ConcurrentClassMap(final Map<Class<?>, T> map) {
+        this.snapshot = new AtomicReference<>(new Snapshot<>(new HashMap<>(map)));
+    }
+
+    @Override
+    public T get(final Class<?> clazz) {
+        Snapshot<T> current = snapshot.get();
+        return resolve(current.map, current.resolved, clazz);
+    }
+
+    @Override
+    public T put(final Class<?> clazz, final T value) {
+        return update(clazz, m -> m.put(clazz, value));
+    }
+
+    @Override
+    public T remove(final Class<?> clazz) {
+        return update(clazz, m -> m.remove(clazz));
+    }
+
+    @Override
+    public T getByInterfaces(final Class<?> clazz) {
+        Map<Class<?>, T> map = snapshot.get().map;
+        return Arrays.stream(clazz.getInterfaces())
+                .map(i -> map.get(i)).filter(Objects::nonNull)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private T update(Class<?> clazz, Consumer<Map<Class<?>, T>> modification) {
+        while (true) {
+            Snapshot<T> current = snapshot.get();
+            Map<Class<?>, T> map = new HashMap<>(current.map);
+            modification.accept(map);
+            if (snapshot.compareAndSet(current, new Snapshot<>(map))) {
+                return current.map.get(clazz);
+            }
+        }
+    }
+
+    /**
+     * Immutable map and the values resolved from it.
+     **/
+    private static final class Snapshot<T> {
+        private final Map<Class<?>, T> map;
+        private final ConcurrentMap<Class<?>, Object> resolved = new ConcurrentHashMap<>();
+
+        Snapshot(final Map<Class<?>, T> map) {
+            this.map = map;
+        }
+    }
+}
@@ -1,42 +1,184 @@
 package org.kasource.commons.reflection.collection;
 
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Map;
-
-import org.apache.commons.lang3.StringUtils;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Wraps a map and resolves super packages of the key.
+ * <p>
+ * The packages of the map are stored in a trie of package name segments. A lookup walks the package name
+ * once, segment by segment, without creating any sub strings and resolves the value of the longest
+ * matching package. The values resolved by {@link #get(Class)} are also cached by package.
  *
  * @param <T> Content type of the map
  * @author rikardwi
  **/
 public class PackageMap<T> {
+    private static final Object NOT_FOUND = new Object();
 
-    private Map<String, T> map = new HashMap<>();
+    private final Node<T> root = new Node<>("", 0);
+    private final ConcurrentMap<String, Object> resolvedPackages = new ConcurrentHashMap<>();
 
     public PackageMap() {
     }
 
     public PackageMap(final Map<String, T> map) {
-        this.map.putAll(map);
+        for (Map.Entry<String, T> entry : map.entrySet()) {
+            add(entry.getKey(), entry.getValue());
+        }
     }
 
-
-    public T get(Class clazz) {
-        return get(clazz.getPackage().getName());
+    /**
+     * Returns the value of the package of clazz, or its closest super package which has a value.
+     * <p>
+     * Classes in the default package, and classes which package is not defined by its class loader,
+     * resolves the package name from the class name.
+     *
+     * @param clazz Class to resolve value for.
+     *
+     * @return the value resolved or null if not found.
+     **/
+    @SuppressWarnings("unchecked")
+    public T get(Class<?> clazz) {
+        Package classPackage = clazz.getPackage();
+        String packageName = classPackage != null ? classPackage.getName() : getPackageName(clazz);
+        Object value = resolvedPackages.get(packageName);
+        if (value == null) {
+            T resolved = get(packageName);
+            value = resolved == null ? NOT_FOUND : resolved;
+            resolvedPackages.putIfAbsent(packageName, value);
+        }
+        return value == NOT_FOUND ? null : (T) value;
     }
 
+    /**
+     * Returns the value of the package or its closest super package which has a value.
+     *
+     * @param packagePath Name of the package.
+     *
+     * @return the value resolved or null if not found.
+     **/
     public T get(final String packagePath) {
-        String packageName = packagePath;
-        T object = map.get(packageName);
-        String subPackageName = StringUtils.substringBeforeLast(packageName, ".");
-        while (object == null && !subPackageName.equals(packageName)) {
-            packageName = subPackageName;
-            object = map.get(packageName);
-            subPackageName = StringUtils.substringBeforeLast(packageName, ".");
+        T object = null;
+        Node<T> node = root;
+        int start = 0;
+        while (start <= packagePath.length()) {
+            int end = packagePath.indexOf('.', start);
+            if (end < 0) {
+                end = packagePath.length();
+            }
+            node = node.getChild(packagePath, start, end);
+            if (node == null) {
+                break;
+            }
+            if (node.value != null) {
+                object = node.value;
+            }
+            start = end + 1;
         }
         return object;
     }
 
+    private void add(String packageName, T value) {
+        Node<T> node = root;
+        int start = 0;
+        while (start <= packageName.length()) {
+            int end = packageName.indexOf('.', start);
+            if (end < 0) {
+                end = packageName.length();
+            }
+            Node<T> child = node.getChild(packageName, start, end);
+            if (child == null) {
+                child = node.addChild(packageName.substring(start, end));
+            }
+            node = child;
+            start = end + 1;
+        }
+        node.value = value;
+    }
+
+    private static String getPackageName(Class<?> clazz) {
+        Class<?> type = clazz;
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        int lastDot = type.getName().lastIndexOf('.');
+        return lastDot < 0 ? "" : type.getName().substring(0, lastDot);
+    }
+
+    /**
+     * Hash of the characters from start (inclusive) to end (exclusive) of name.
+     **/
+    private static int hash(String name, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + name.charAt(i);
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Package name segment, holding the value of the package ending with this segment (if any) and the
+     * child segments in an open addressing hash table.
+     **/
+    private static final class Node<T> {
+        private static final int INITIAL_CAPACITY = 4;
+
+        private final String segment;
+        private final int hash;
+        private T value;
+        private Node<T>[] children;
+        private int size;
+
+        Node(final String segment, final int hash) {
+            this.segment = segment;
+            this.hash = hash;
+        }
+
+        Node<T> getChild(String name, int start, int end) {
+            if (children == null) {
+                return null;
+            }
+            int childHash = hash(name, start, end);
+            int length = end - start;
+            int mask = children.length - 1;
+            for (int i = childHash & mask;; i = (i + 1) & mask) {
+                Node<T> child = children[i];
+                if (child == null) {
+                    return null;
+                }
+                if (child.hash == childHash
+                        && child.segment.length() == length
+                        && name.regionMatches(start, child.segment, 0, length)) {
+                    return child;
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        Node<T> addChild(String childSegment) {
+            if (children == null) {
+                children = (Node<T>[]) new Node<?>[INITIAL_CAPACITY];
+            } else if ((size + 1) * 2 > children.length) {
+                Node<T>[] previous = children;
+                children = (Node<T>[]) new Node<?>[previous.length * 2];
+                Arrays.stream(previous).filter(c -> c != null).forEach(this::insert);
+            }
+            Node<T> child = new Node<>(childSegment, hash(childSegment, 0, childSegment.length()));
+            insert(child);
+            size++;
+            return child;
+        }
+
+        private void insert(Node<T> child) {
+            int mask = children.length - 1;
+            int i = child.hash & mask;
+            while (children[i] != null) {
+                i = (i + 1) & mask;
+            }
+            children[i] = child;
+        }
+    }
 }
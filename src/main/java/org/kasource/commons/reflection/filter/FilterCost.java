@@ -0,0 +1,31 @@
+package org.kasource.commons.reflection.filter;
+
+/**
+ * Estimated cost of applying a filter.
+ * <p>
+ * Composite filters use the cost of their filters to evaluate cheap filters before expensive ones.
+ * Filters of UNKNOWN cost are never reordered, since they may rely on the filters added before them.
+ *
+ * @author rikardwi
+ **/
+public enum FilterCost {
+    /** Inspects values readily available on the element, like modifiers or the number of parameters. **/
+    LOW,
+    /** Copies arrays or matches strings, like parameter type or name filters. **/
+    MEDIUM,
+    /** Resolves annotations or traverses type hierarchies. **/
+    HIGH,
+    /** The cost is unknown, the filter is evaluated in the order it was added. **/
+    UNKNOWN;
+
+    /**
+     * Returns the highest of this cost and other, UNKNOWN is considered higher than any other cost.
+     *
+     * @param other Cost to compare to.
+     *
+     * @return the highest of this cost and other.
+     **/
+    public FilterCost max(FilterCost other) {
+        return other.compareTo(this) > 0 ? other : this;
+    }
+}
@@ -17,4 +17,27 @@ public interface MethodFilter {
     default String describe() {
         return toString();
     }
+
+    /**
+     * Returns true if the outcome of this filter depends on the filtered element only, which allows
+     * query results to be cached and reused for the same filter instance.
+     * <p>
+     * Filters that keep state which may change the outcome of apply should not be cached, which is the default.
+     *
+     * @return true if query results of this filter may be cached, else false.
+     **/
+    default boolean isCacheable() {
+        return false;
+    }
+
+    /**
+     * Returns the estimated cost of applying this filter, which is used to evaluate cheap filters first.
+     * <p>
+     * Filters of UNKNOWN cost, which is the default, are evaluated in the order they were added.
+     *
+     * @return the estimated cost of applying this filter.
+     **/
+    default FilterCost getCost() {
+        return FilterCost.UNKNOWN;
+    }
 }
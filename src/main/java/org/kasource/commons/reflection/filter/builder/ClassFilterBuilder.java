@@ -10,6 +10,7 @@ import org.kasource.commons.reflection.filter.impl.AnnotatedFilter;
 import org.kasource.commons.reflection.filter.impl.AssignableFromTypeFilter;
 import org.kasource.commons.reflection.filter.impl.AssignableToTypeFilter;
 import org.kasource.commons.reflection.filter.impl.AndClassFilter;
+import org.kasource.commons.reflection.filter.impl.CompiledClassFilter;
 import org.kasource.commons.reflection.filter.impl.IsAnnotationClassFilter;
 import org.kasource.commons.reflection.filter.impl.IsAnonymousClassFilter;
 import org.kasource.commons.reflection.filter.impl.IsArrayClassFilter;
@@ -363,4 +364,18 @@ public class ClassFilterBuilder {
         filters.toArray(classFilters);
         return new AndClassFilter(classFilters);
     }
+
+    /**
+     * Builds the filter and returns it compiled into a single flat predicate.
+     * <p>
+     * The compiled filter passes the same classes as the filter returned by build(), but folds modifier
+     * filters into bit mask tests and evaluates the remaining filters in a loop, which makes it cheaper to
+     * apply when filtering large numbers of classes.
+     *
+     * @return the ClassFilter built and compiled.
+     * @throws IllegalStateException if no filter was specified before calling compile()
+     **/
+    public ClassFilter compile() {
+        return CompiledClassFilter.compile(build());
+    }
 }
@@ -11,6 +11,7 @@ import org.kasource.commons.reflection.filter.impl.AnnotatedFilter;
 import org.kasource.commons.reflection.filter.impl.AssignableFromParameterFilter;
 import org.kasource.commons.reflection.filter.impl.AssignableToParameterFilter;
 import org.kasource.commons.reflection.filter.impl.AndConstructorFilter;
+import org.kasource.commons.reflection.filter.impl.CompiledConstructorFilter;
 import org.kasource.commons.reflection.filter.impl.MetaAnnotatedFilter;
 import org.kasource.commons.reflection.filter.impl.ModifierFilter;
 import org.kasource.commons.reflection.filter.impl.NegationConstructorFilter;
@@ -323,4 +324,18 @@ public class ConstructorFilterBuilder {
         return new AndConstructorFilter(methodFilters);
     }
 
+    /**
+     * Builds the filter and returns it compiled into a single flat predicate.
+     * <p>
+     * The compiled filter passes the same constructors as the filter returned by build(), but folds modifier
+     * filters into bit mask tests and evaluates the remaining filters in a loop, which makes it cheaper to
+     * apply when filtering large numbers of constructors.
+     *
+     * @return the ConstructorFilter built and compiled.
+     * @throws IllegalStateException if no filter was specified before calling compile()
+     **/
+    public ConstructorFilter compile() {
+        return CompiledConstructorFilter.compile(build());
+    }
+
 }
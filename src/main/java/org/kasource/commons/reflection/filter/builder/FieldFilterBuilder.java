@@ -11,6 +11,7 @@ import org.kasource.commons.reflection.filter.impl.AnnotatedFilter;
 import org.kasource.commons.reflection.filter.impl.AssignableFromTypeFilter;
 import org.kasource.commons.reflection.filter.impl.AssignableToTypeFilter;
 import org.kasource.commons.reflection.filter.impl.AndFieldFilter;
+import org.kasource.commons.reflection.filter.impl.CompiledFieldFilter;
 import org.kasource.commons.reflection.filter.impl.IsEnumConstantFieldFilter;
 import org.kasource.commons.reflection.filter.impl.MetaAnnotatedFilter;
 import org.kasource.commons.reflection.filter.impl.ModifierFilter;
@@ -301,4 +302,18 @@ public class FieldFilterBuilder {
         filters.toArray(fieldFilters);
         return new AndFieldFilter(fieldFilters);
     }
+
+    /**
+     * Builds the filter and returns it compiled into a single flat predicate.
+     * <p>
+     * The compiled filter passes the same fields as the filter returned by build(), but folds modifier
+     * filters into bit mask tests and evaluates the remaining filters in a loop, which makes it cheaper to
+     * apply when filtering large numbers of fields.
+     *
+     * @return the FieldFilter built and compiled.
+     * @throws IllegalStateException if no filter was specified before calling compile()
+     **/
+    public FieldFilter compile() {
+        return CompiledFieldFilter.compile(build());
+    }
 }
@@ -7,6 +7,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import org.kasource.commons.reflection.filter.ClassFilter;
+import org.kasource.commons.reflection.filter.FilterCost;
 
 
 
@@ -15,12 +16,18 @@ import org.kasource.commons.reflection.filter.ClassFilter;
  * <p>
  * Use this class to combine filters.
  * <p>
+ * The filters are evaluated in order of their estimated cost, cheapest first, and filters of equal cost
+ * are reordered by how many elements they reject. Filters of UNKNOWN cost are evaluated in the order added.
+ * <p>
  * Note: It's not recommended to use this class directly, instead use builders from the se.hiq.oss.commons.reflection.filter.builder package
  * @author rikard
  **/
 public class AndClassFilter implements ClassFilter {
 
+    private static final ClassFilter[] NO_FILTERS = new ClassFilter[0];
+
     private List<ClassFilter> filters = new ArrayList<>();
+    private volatile FilterOrder<ClassFilter> order;
 
     public AndClassFilter(final ClassFilter... filters) {
         if (filters != null) {
@@ -30,7 +37,51 @@ public class AndClassFilter implements ClassFilter {
 
     @Override
     public boolean apply(Class<?> clazz) {
-        return !filters.stream().filter(f -> !f.apply(clazz)).findFirst().isPresent();
+        FilterOrder<ClassFilter> current = getOrder();
+        ClassFilter[] ordered = current.getFilters();
+        for (int i = 0; i < ordered.length; i++) {
+            if (!ordered[i].apply(clazz)) {
+                current.rejected(i);
+                return false;
+            }
+        }
+        current.passed();
+        return true;
+    }
+
+    private FilterOrder<ClassFilter> getOrder() {
+        FilterOrder<ClassFilter> current = order;
+        if (current == null || !current.isOrderOf(filters)) {
+            current = new FilterOrder<>(filters, NO_FILTERS, ClassFilter::getCost);
+            order = current;
+        }
+        return current;
+    }
+
+    /**
+     * @return the filters evaluated.
+     **/
+    List<ClassFilter> getFilters() {
+        return filters;
+    }
+
+    @Override
+    public boolean isCacheable() {
+        for (ClassFilter filter : filters) {
+            if (!filter.isCacheable()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public FilterCost getCost() {
+        FilterCost cost = FilterCost.LOW;
+        for (ClassFilter filter : filters) {
+            cost = cost.max(filter.getCost());
+        }
+        return cost;
     }
 
     @Override
@@ -7,6 +7,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import org.kasource.commons.reflection.filter.ConstructorFilter;
+import org.kasource.commons.reflection.filter.FilterCost;
 
 
 /**
@@ -14,11 +15,17 @@ import org.kasource.commons.reflection.filter.ConstructorFilter;
  * <p>
  * Evaluates the filters in an AND manner.
  * <p>
+ * The filters are evaluated in order of their estimated cost, cheapest first, and filters of equal cost
+ * are reordered by how many elements they reject. Filters of UNKNOWN cost are evaluated in the order added.
+ * <p>
  * Note: It's not recommended to use this class directly, instead use builders from the se.hiq.oss.commons.reflection.filter.builder package
  * @author rikardwi
  **/
 public class AndConstructorFilter implements ConstructorFilter {
+    private static final ConstructorFilter[] NO_FILTERS = new ConstructorFilter[0];
+
     private List<ConstructorFilter> filters = new ArrayList<>();
+    private volatile FilterOrder<ConstructorFilter> order;
 
     public AndConstructorFilter(final ConstructorFilter... filters) {
         if (filters != null) {
@@ -29,7 +36,51 @@ public class AndConstructorFilter implements ConstructorFilter {
     @SuppressWarnings("rawtypes")
     @Override
     public boolean apply(Constructor constructor) {
-        return !filters.stream().filter(f -> !f.apply(constructor)).findFirst().isPresent();
+        FilterOrder<ConstructorFilter> current = getOrder();
+        ConstructorFilter[] ordered = current.getFilters();
+        for (int i = 0; i < ordered.length; i++) {
+            if (!ordered[i].apply(constructor)) {
+                current.rejected(i);
+                return false;
+            }
+        }
+        current.passed();
+        return true;
+    }
+
+    private FilterOrder<ConstructorFilter> getOrder() {
+        FilterOrder<ConstructorFilter> current = order;
+        if (current == null || !current.isOrderOf(filters)) {
+            current = new FilterOrder<>(filters, NO_FILTERS, ConstructorFilter::getCost);
+            order = current;
+        }
+        return current;
+    }
+
+    /**
+     * @return the filters evaluated.
+     **/
+    List<ConstructorFilter> getFilters() {
+        return filters;
+    }
+
+    @Override
+    public boolean isCacheable() {
+        for (ConstructorFilter filter : filters) {
+            if (!filter.isCacheable()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public FilterCost getCost() {
+        FilterCost cost = FilterCost.LOW;
+        for (ConstructorFilter filter : filters) {
+            cost = cost.max(filter.getCost());
+        }
+        return cost;
     }
 
     @Override
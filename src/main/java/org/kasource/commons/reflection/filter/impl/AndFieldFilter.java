@@ -7,6 +7,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import org.kasource.commons.reflection.filter.FieldFilter;
+import org.kasource.commons.reflection.filter.FilterCost;
 
 
 
@@ -15,13 +16,19 @@ import org.kasource.commons.reflection.filter.FieldFilter;
  * <p>
  * Evaluates the filters in an AND manner.
  * <p>
+ * The filters are evaluated in order of their estimated cost, cheapest first, and filters of equal cost
+ * are reordered by how many elements they reject. Filters of UNKNOWN cost are evaluated in the order added.
+ * <p>
  * Note: It's not recommended to use this class directly, instead use builders from the se.hiq.oss.commons.reflection.filter.builder package
  *
  * @author rikardwi
  **/
 public class AndFieldFilter implements FieldFilter {
 
+    private static final FieldFilter[] NO_FILTERS = new FieldFilter[0];
+
     private List<FieldFilter> filters = new ArrayList<>();
+    private volatile FilterOrder<FieldFilter> order;
 
 
     public AndFieldFilter(final FieldFilter... filters) {
@@ -33,7 +40,51 @@ public class AndFieldFilter implements FieldFilter {
 
     @Override
     public boolean apply(Field field) {
-        return !filters.stream().filter(f -> !f.apply(field)).findFirst().isPresent();
+        FilterOrder<FieldFilter> current = getOrder();
+        FieldFilter[] ordered = current.getFilters();
+        for (int i = 0; i < ordered.length; i++) {
+            if (!ordered[i].apply(field)) {
+                current.rejected(i);
+                return false;
+            }
+        }
+        current.passed();
+        return true;
+    }
+
+    private FilterOrder<FieldFilter> getOrder() {
+        FilterOrder<FieldFilter> current = order;
+        if (current == null || !current.isOrderOf(filters)) {
+            current = new FilterOrder<>(filters, NO_FILTERS, FieldFilter::getCost);
+            order = current;
+        }
+        return current;
+    }
+
+    /**
+     * @return the filters evaluated.
+     **/
+    List<FieldFilter> getFilters() {
+        return filters;
+    }
+
+    @Override
+    public boolean isCacheable() {
+        for (FieldFilter filter : filters) {
+            if (!filter.isCacheable()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public FilterCost getCost() {
+        FilterCost cost = FilterCost.LOW;
+        for (FieldFilter filter : filters) {
+            cost = cost.max(filter.getCost());
+        }
+        return cost;
     }
 
     @Override
@@ -6,6 +6,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.kasource.commons.reflection.filter.FilterCost;
 import org.kasource.commons.reflection.filter.MethodFilter;
 
 /**
@@ -13,12 +14,18 @@ import org.kasource.commons.reflection.filter.MethodFilter;
  * <p>
  * Evaluates the filters in an AND manner.
  * <p>
+ * The filters are evaluated in order of their estimated cost, cheapest first, and filters of equal cost
+ * are reordered by how many elements they reject. Filters of UNKNOWN cost are evaluated in the order added.
+ * <p>
  * Note: It's not recommended to use this class directly, instead use builders from the se.hiq.oss.commons.reflection.filter.builder package
  *
  * @author rikardwi
  **/
 public class AndMethodFilter implements MethodFilter {
+    private static final MethodFilter[] NO_FILTERS = new MethodFilter[0];
+
     private List<MethodFilter> filters = new ArrayList<>();
+    private volatile FilterOrder<MethodFilter> order;
 
     public AndMethodFilter(final MethodFilter... filters) {
         if (filters != null) {
@@ -28,11 +35,51 @@ public class AndMethodFilter implements MethodFilter {
 
     @Override
     public boolean apply(Method method) {
-        return !filters.stream()
-                .filter(f -> !f.apply(method))
-                .findFirst()
-                .isPresent();
+        FilterOrder<MethodFilter> current = getOrder();
+        MethodFilter[] ordered = current.getFilters();
+        for (int i = 0; i < ordered.length; i++) {
+            if (!ordered[i].apply(method)) {
+                current.rejected(i);
+                return false;
+            }
+        }
+        current.passed();
+        return true;
+    }
 
+    private FilterOrder<MethodFilter> getOrder() {
+        FilterOrder<MethodFilter> current = order;
+        if (current == null || !current.isOrderOf(filters)) {
+            current = new FilterOrder<>(filters, NO_FILTERS, MethodFilter::getCost);
+            order = current;
+        }
+        return current;
+    }
+
+    /**
+     * @return the filters evaluated.
+     **/
+    List<MethodFilter> getFilters() {
+        return filters;
+    }
+
+    @Override
+    public boolean isCacheable() {
+        for (MethodFilter filter : filters) {
+            if (!filter.isCacheable()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public FilterCost getCost() {
+        FilterCost cost = FilterCost.LOW;
+        for (MethodFilter filter : filters) {
+            cost = cost.max(filter.getCost());
+        }
+        return cost;
     }
 
     @Override
@@ -8,7 +8,9 @@ import java.lang.reflect.Method;
 import org.kasource.commons.reflection.filter.ClassFilter;
 import org.kasource.commons.reflection.filter.ConstructorFilter;
 import org.kasource.commons.reflection.filter.FieldFilter;
+import org.kasource.commons.reflection.filter.FilterCost;
 import org.kasource.commons.reflection.filter.MethodFilter;
+import org.kasource.commons.reflection.util.AnnotationUtils;
 
 
 public class AnnotatedFilter implements ClassFilter, MethodFilter, FieldFilter, ConstructorFilter {
@@ -22,25 +24,41 @@ public class AnnotatedFilter implements ClassFilter, MethodFilter, FieldFilter,
 
     @Override
     public boolean apply(Class<?> clazz) {
-        return clazz.isAnnotationPresent(annotation);
+        return AnnotationUtils.isAnnotated(clazz, annotation);
     }
 
     @Override
     public boolean apply(Method method) {
-        return method.isAnnotationPresent(annotation);
+        return AnnotationUtils.isAnnotated(method, annotation);
     }
 
     @Override
     public boolean apply(Field field) {
-        return field.isAnnotationPresent(annotation);
+        return AnnotationUtils.isAnnotated(field, annotation);
     }
 
     @SuppressWarnings("rawtypes")
     @Override
     public boolean apply(Constructor constructor) {
-        return constructor.isAnnotationPresent(annotation);
+        return AnnotationUtils.isAnnotated(constructor, annotation);
     }
 
+    /**
+     * @return the annotation which must be present.
+     **/
+    Class<? extends Annotation> getAnnotation() {
+        return annotation;
+    }
+
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
+
+    @Override
+    public FilterCost getCost() {
+        return FilterCost.MEDIUM;
+    }
 
     @Override
     public String describe() {
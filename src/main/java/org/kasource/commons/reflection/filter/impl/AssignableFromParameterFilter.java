@@ -9,6 +9,7 @@ import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.kasource.commons.reflection.filter.ConstructorFilter;
+import org.kasource.commons.reflection.filter.FilterCost;
 import org.kasource.commons.reflection.filter.MethodFilter;
 
 
@@ -73,6 +74,16 @@ public class AssignableFromParameterFilter implements MethodFilter, ConstructorF
         return false;
     }
 
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
+
+    @Override
+    public FilterCost getCost() {
+        return FilterCost.MEDIUM;
+    }
+
     @Override
     public String describe() {
         if (assignableFromClass != null) {
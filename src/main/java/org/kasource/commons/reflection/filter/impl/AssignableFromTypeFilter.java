@@ -5,6 +5,7 @@ import java.lang.reflect.Field;
 
 import org.kasource.commons.reflection.filter.ClassFilter;
 import org.kasource.commons.reflection.filter.FieldFilter;
+import org.kasource.commons.reflection.filter.FilterCost;
 
 
 /**
@@ -37,6 +38,16 @@ public class AssignableFromTypeFilter implements ClassFilter, FieldFilter {
         return assignable.isAssignableFrom(field.getType());
     }
 
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
+
+    @Override
+    public FilterCost getCost() {
+        return FilterCost.LOW;
+    }
+
     @Override
     public String describe() {
         return "extends " + assignable.getName();
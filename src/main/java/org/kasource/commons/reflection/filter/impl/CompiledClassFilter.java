@@ -0,0 +1,215 @@
+package org.kasource.commons.reflection.filter.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.kasource.commons.reflection.filter.ClassFilter;
+import org.kasource.commons.reflection.filter.FilterCost;
+
+/**
+ * Class filter compiled from a tree of class filters into a flat predicate.
+ * <p>
+ * Nested AND filters are flattened into a single array of filters evaluated in a loop, modifier filters
+ * (and negated modifier filters) are folded into bit mask tests which are evaluated first and nested OR
+ * filters are flattened into arrays of alternatives. An OR filter which only has modifier filters as
+ * alternatives is folded into a single bit mask test. The remaining filters are evaluated in order of their
+ * estimated cost, see {@link AndClassFilter}.
+ * <p>
+ * Note: It's not recommended to use this class directly, instead use builders from the se.hiq.oss.commons.reflection.filter.builder package
+ *
+ * @author rikardwi
+ **/
+public final class CompiledClassFilter implements ClassFilter {
+    private static final ClassFilter[] NO_FILTERS = new ClassFilter[0];
+
+    private final ClassFilter source;
+    private final int requiredModifiers;
+    private final int forbiddenModifiers;
+    private final int[] anyModifiers;
+    private final FilterOrder<ClassFilter> order;
+
+    private CompiledClassFilter(final ClassFilter source, final Compiler compiler) {
+        this.source = source;
+        this.requiredModifiers = compiler.requiredModifiers;
+        this.forbiddenModifiers = compiler.forbiddenModifiers;
+        this.anyModifiers = new int[compiler.anyModifiers.size()];
+        for (int i = 0; i < anyModifiers.length; i++) {
+            anyModifiers[i] = compiler.anyModifiers.get(i);
+        }
+        this.order = new FilterOrder<>(compiler.filters, NO_FILTERS, ClassFilter::getCost);
+    }
+
+    /**
+     * Compiles filter into a flat predicate.
+     *
+     * @param filter The filter to compile.
+     *
+     * @return the compiled filter.
+     **/
+    public static ClassFilter compile(ClassFilter filter) {
+        if (filter instanceof CompiledClassFilter) {
+            return filter;
+        }
+        Compiler compiler = new Compiler();
+        compiler.add(filter);
+        return new CompiledClassFilter(filter, compiler);
+    }
+
+    @Override
+    public boolean apply(Class<?> clazz) {
+        int modifiers = clazz.getModifiers();
+        if ((modifiers & requiredModifiers) != requiredModifiers || (modifiers & forbiddenModifiers) != 0) {
+            return false;
+        }
+        for (int mask : anyModifiers) {
+            if ((modifiers & mask) == 0) {
+                return false;
+            }
+        }
+        ClassFilter[] filters = order.getFilters();
+        for (int i = 0; i < filters.length; i++) {
+            if (!filters[i].apply(clazz)) {
+                order.rejected(i);
+                return false;
+            }
+        }
+        order.passed();
+        return true;
+    }
+
+    @Override
+    public boolean isCacheable() {
+        return source.isCacheable();
+    }
+
+    @Override
+    public FilterCost getCost() {
+        return source.getCost();
+    }
+
+    @Override
+    public String describe() {
+        return source.describe();
+    }
+
+    /**
+     * Sub classes of the library filters may override apply, so only the library classes themselves are folded.
+     **/
+    private static boolean isExactly(Object filter, Class<?> type) {
+        return filter.getClass() == type;
+    }
+
+    private static ClassFilter compileNested(ClassFilter filter) {
+        if (isExactly(filter, AndClassFilter.class)
+                || isExactly(filter, OrClassFilter.class)
+                || isExactly(filter, NegationClassFilter.class)) {
+            return compile(filter);
+        }
+        return filter;
+    }
+
+    /**
+     * Collects the modifier masks and filters of a filter tree.
+     **/
+    private static final class Compiler {
+        private int requiredModifiers;
+        private int forbiddenModifiers;
+        private final List<Integer> anyModifiers = new ArrayList<>();
+        private final List<ClassFilter> filters = new ArrayList<>();
+
+        private void add(ClassFilter filter) {
+            if (isExactly(filter, AndClassFilter.class)) {
+                for (ClassFilter child : ((AndClassFilter) filter).getFilters()) {
+                    add(child);
+                }
+            } else if (isExactly(filter, ModifierFilter.class)) {
+                addModifier(((ModifierFilter) filter).getModifier());
+            } else if (isExactly(filter, NegationClassFilter.class)) {
+                ClassFilter negated = ((NegationClassFilter) filter).getFilter();
+                if (isExactly(negated, ModifierFilter.class)) {
+                    forbiddenModifiers |= ((ModifierFilter) negated).getModifier();
+                } else {
+                    filters.add(new NegationClassFilter(compileNested(negated)));
+                }
+            } else if (isExactly(filter, OrClassFilter.class)) {
+                addAlternatives(filter);
+            } else {
+                filters.add(filter);
+            }
+        }
+
+        private void addModifier(int modifier) {
+            if (Integer.bitCount(modifier) == 1) {
+                requiredModifiers |= modifier;
+            } else {
+                anyModifiers.add(modifier);
+            }
+        }
+
+        private void addAlternatives(ClassFilter or) {
+            List<ClassFilter> alternatives = new ArrayList<>();
+            flatten(or, alternatives);
+            int modifiers = 0;
+            for (ClassFilter alternative : alternatives) {
+                if (!isExactly(alternative, ModifierFilter.class)) {
+                    ClassFilter[] compiled = new ClassFilter[alternatives.size()];
+                    for (int i = 0; i < compiled.length; i++) {
+                        compiled[i] = compileNested(alternatives.get(i));
+                    }
+                    filters.add(new AnyOf(or, compiled));
+                    return;
+                }
+                modifiers |= ((ModifierFilter) alternative).getModifier();
+            }
+            addModifier(modifiers);
+        }
+
+        private void flatten(ClassFilter filter, List<ClassFilter> alternatives) {
+            if (isExactly(filter, OrClassFilter.class)) {
+                OrClassFilter or = (OrClassFilter) filter;
+                flatten(or.getLeft(), alternatives);
+                flatten(or.getRight(), alternatives);
+            } else {
+                alternatives.add(filter);
+            }
+        }
+    }
+
+    /**
+     * Passes classes which passes any of the alternatives.
+     **/
+    private static final class AnyOf implements ClassFilter {
+        private final ClassFilter source;
+        private final ClassFilter[] alternatives;
+
+        AnyOf(final ClassFilter source, final ClassFilter... alternatives) {
+            this.source = source;
+            this.alternatives = alternatives;
+        }
+
+        @Override
+        public boolean apply(Class<?> clazz) {
+            for (ClassFilter alternative : alternatives) {
+                if (alternative.apply(clazz)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean isCacheable() {
+            return source.isCacheable();
+        }
+
+        @Override
+        public FilterCost getCost() {
+            return source.getCost();
+        }
+
+        @Override
+        public String describe() {
+            return source.describe();
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package org.kasource.commons.reflection.filter.impl;
+
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.kasource.commons.reflection.filter.ConstructorFilter;
+import org.kasource.commons.reflection.filter.FilterCost;
+
+/**
+ * Constructor filter compiled from a tree of constructor filters into a flat predicate.
+ * <p>
+ * Nested AND filters are flattened into a single array of filters evaluated in a loop, modifier filters
+ * (and negated modifier filters) are folded into bit mask tests which are evaluated first and nested OR
+ * filters are flattened into arrays of alternatives. An OR filter which only has modifier filters as
+ * alternatives is folded into a single bit mask test. The remaining filters are evaluated in order of their
+ * estimated cost, see {@link AndConstructorFilter}.
+ * <p>
+ * Note: It's not recommended to use this class directly, instead use builders from the se.hiq.oss.commons.reflection.filter.builder package
+ *
+ * @author rikardwi
+ **/
+public final class CompiledConstructorFilter implements ConstructorFilter {
+    private static final ConstructorFilter[] NO_FILTERS = new ConstructorFilter[0];
+
+    private final ConstructorFilter source;
+    private final int requiredModifiers;
+    private final int forbiddenModifiers;
+    private final int[] anyModifiers;
+    private final FilterOrder<ConstructorFilter> order;
+
+    private CompiledConstructorFilter(final ConstructorFilter source, final Compiler compiler) {
+        this.source = source;
+        this.requiredModifiers = compiler.requiredModifiers;
+        this.forbiddenModifiers = compiler.forbiddenModifiers;
+        this.anyModifiers = new int[compiler.anyModifiers.size()];
+        for (int i = 0; i < anyModifiers.length; i++) {
+            anyModifiers[i] = compiler.anyModifiers.get(i);
+        }
+        this.order = new FilterOrder<>(compiler.filters, NO_FILTERS, ConstructorFilter::getCost);
+    }
+
+    /**
+     * Compiles filter into a flat predicate.
+     *
+     * @param filter The filter to compile.
+     *
+     * @return the compiled filter.
+     **/
+    public static ConstructorFilter compile(ConstructorFilter filter) {
+        if (filter instanceof CompiledConstructorFilter) {
+            return filter;
+        }
+        Compiler compiler = new Compiler();
+        compiler.add(filter);
+        return new CompiledConstructorFilter(filter, compiler);
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Override
+    public boolean apply(Constructor constructor) {
+        int modifiers = constructor.getModifiers();
+        if ((modifiers & requiredModifiers) != requiredModifiers || (modifiers & forbiddenModifiers) != 0) {
+            return false;
+        }
+        for (int mask : anyModifiers) {
+            if ((modifiers & mask) == 0) {
+                return false;
+            }
+        }
+        ConstructorFilter[] filters = order.getFilters();
+        for (int i = 0; i < filters.length; i++) {
+            if (!filters[i].apply(constructor)) {
+                order.rejected(i);
+                return false;
+            }
+        }
+        order.passed();
+        return true;
+    }
+
+    @Override
+    public boolean isCacheable() {
+        return source.isCacheable();
+    }
+
+    @Override
+    public FilterCost getCost() {
+        return source.getCost();
+    }
+
+    @Override
+    public String describe() {
+        return source.describe();
+    }
+
+    /**
+     * Sub classes of the library filters may override apply, so only the library classes themselves are folded.
+     **/
+    private static boolean isExactly(Object filter, Class<?> type) {
+        return filter.getClass() == type;
+    }
+
+    private static ConstructorFilter compileNested(ConstructorFilter filter) {
+        if (isExactly(filter, AndConstructorFilter.class)
+                || isExactly(filter, OrConstructorFilter.class)
+                || isExactly(filter, NegationConstructorFilter.class)) {
+            return compile(filter);
+        }
+        return filter;
+    }
+
+    /**
+     * Collects the modifier masks and filters of a filter tree.
+     **/
+    private static final class Compiler {
+        private int requiredModifiers;
+        private int forbiddenModifiers;
+        private final List<Integer> anyModifiers = new ArrayList<>();
+        private final List<ConstructorFilter> filters = new ArrayList<>();
+
+        private void add(ConstructorFilter filter) {
+            if (isExactly(filter, AndConstructorFilter.class)) {
+                for (ConstructorFilter child : ((AndConstructorFilter) filter).getFilters()) {
+                    add(child);
+                }
+            } else if (isExactly(filter, ModifierFilter.class)) {
+                addModifier(((ModifierFilter) filter).getModifier());
+            } else if (isExactly(filter, NegationConstructorFilter.class)) {
+                ConstructorFilter negated = ((NegationConstructorFilter) filter).getFilter();
+                if (isExactly(negated, ModifierFilter.class)) {
+                    forbiddenModifiers |= ((ModifierFilter) negated).getModifier();
+                } else {
+                    filters.add(new NegationConstructorFilter(compileNested(negated)));
+                }
+            } else if (isExactly(filter, OrConstructorFilter.class)) {
+                addAlternatives(filter);
+            } else {
+                filters.add(filter);
+            }
+        }
+
+        private void addModifier(int modifier) {
+            if (Integer.bitCount(modifier) == 1) {
+                requiredModifiers |= modifier;
+            } else {
+                anyModifiers.add(modifier);
+            }
+        }
+
+        private void addAlternatives(ConstructorFilter or) {
+            List<ConstructorFilter> alternatives = new ArrayList<>();
+            flatten(or, alternatives);
+            int modifiers = 0;
+            for (ConstructorFilter alternative : alternatives) {
+                if (!isExactly(alternative, ModifierFilter.class)) {
+                    ConstructorFilter[] compiled = new ConstructorFilter[alternatives.size()];
+                    for (int i = 0; i < compiled.length; i++) {
+                        compiled[i] = compileNested(alternatives.get(i));
+                    }
+                    filters.add(new AnyOf(or, compiled));
+                    return;
+                }
+                modifiers |= ((ModifierFilter) alternative).getModifier();
+            }
+            addModifier(modifiers);
+        }
+
+        private void flatten(ConstructorFilter filter, List<ConstructorFilter> alternatives) {
+            if (isExactly(filter, OrConstructorFilter.class)) {
+                OrConstructorFilter or = (OrConstructorFilter) filter;
+                flatten(or.getLeft(), alternatives);
+                flatten(or.getRight(), alternatives);
+            } else {
+                alternatives.add(filter);
+            }
+        }
+    }
+
+    /**
+     * Passes constructors which passes any of the alternatives.
+     **/
+    private static final class AnyOf implements ConstructorFilter {
+        private final ConstructorFilter source;
+        private final ConstructorFilter[] alternatives;
+
+        AnyOf(final ConstructorFilter source, final ConstructorFilter... alternatives) {
+            this.source = source;
+            this.alternatives = alternatives;
+        }
+
+        @SuppressWarnings("rawtypes")
+        @Override
+        public boolean apply(Constructor constructor) {
+            for (ConstructorFilter alternative : alternatives) {
+                if (alternative.apply(constructor)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean isCacheable() {
+            return source.isCacheable();
+        }
+
+        @Override
+        public FilterCost getCost() {
+            return source.getCost();
+        }
+
+        @Override
+        public String describe() {
+            return source.describe();
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package org.kasource.commons.reflection.filter.impl;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.kasource.commons.reflection.filter.FieldFilter;
+import org.kasource.commons.reflection.filter.FilterCost;
+
+/**
+ * Field filter compiled from a tree of field filters into a flat predicate.
+ * <p>
+ * Nested AND filters are flattened into a single array of filters evaluated in a loop, modifier filters
+ * (and negated modifier filters) are folded into bit mask tests which are evaluated first and nested OR
+ * filters are flattened into arrays of alternatives. An OR filter which only has modifier filters as
+ * alternatives is folded into a single bit mask test. The remaining filters are evaluated in order of their
+ * estimated cost, see {@link AndFieldFilter}.
+ * <p>
+ * Note: It's not recommended to use this class directly, instead use builders from the se.hiq.oss.commons.reflection.filter.builder package
+ *
+ * @author rikardwi
+ **/
+public final class CompiledFieldFilter implements FieldFilter {
+    private static final FieldFilter[] NO_FILTERS = new FieldFilter[0];
+
+    private final FieldFilter source;
+    private final int requiredModifiers;
+    private final int forbiddenModifiers;
+    private final int[] anyModifiers;
+    private final FilterOrder<FieldFilter> order;
+    private volatile FilterPlan plan;
+
+    private CompiledFieldFilter(final FieldFilter source, final Compiler compiler) {
+        this.source = source;
+        this.requiredModifiers = compiler.requiredModifiers;
+        this.forbiddenModifiers = compiler.forbiddenModifiers;
+        this.anyModifiers = new int[compiler.anyModifiers.size()];
+        for (int i = 0; i < anyModifiers.length; i++) {
+            anyModifiers[i] = compiler.anyModifiers.get(i);
+        }
+        this.order = new FilterOrder<>(compiler.filters, NO_FILTERS, FieldFilter::getCost);
+    }
+
+    /**
+     * Compiles filter into a flat predicate.
+     *
+     * @param filter The filter to compile.
+     *
+     * @return the compiled filter.
+     **/
+    public static FieldFilter compile(FieldFilter filter) {
+        if (filter instanceof CompiledFieldFilter) {
+            return filter;
+        }
+        Compiler compiler = new Compiler();
+        compiler.add(filter);
+        return new CompiledFieldFilter(filter, compiler);
+    }
+
+    @Override
+    public boolean apply(Field field) {
+        int modifiers = field.getModifiers();
+        if ((modifiers & requiredModifiers) != requiredModifiers || (modifiers & forbiddenModifiers) != 0) {
+            return false;
+        }
+        for (int mask : anyModifiers) {
+            if ((modifiers & mask) == 0) {
+                return false;
+            }
+        }
+        FieldFilter[] filters = order.getFilters();
+        for (int i = 0; i < filters.length; i++) {
+            if (!filters[i].apply(field)) {
+                order.rejected(i);
+                return false;
+            }
+        }
+        order.passed();
+        return true;
+    }
+
+    /**
+     * @return the index plan of the filter, created once.
+     **/
+    FilterPlan getPlan() {
+        FilterPlan result = plan;
+        if (result == null) {
+            result = FilterPlan.ofFieldFilter(source);
+            plan = result;
+        }
+        return result;
+    }
+
+    @Override
+    public boolean isCacheable() {
+        return source.isCacheable();
+    }
+
+    @Override
+    public FilterCost getCost() {
+        return source.getCost();
+    }
+
+    @Override
+    public String describe() {
+        return source.describe();
+    }
+
+    /**
+     * Sub classes of the library filters may override apply, so only the library classes themselves are folded.
+     **/
+    private static boolean isExactly(Object filter, Class<?> type) {
+        return filter.getClass() == type;
+    }
+
+    private static FieldFilter compileNested(FieldFilter filter) {
+        if (isExactly(filter, AndFieldFilter.class)
+                || isExactly(filter, OrFieldFilter.class)
+                || isExactly(filter, NegationFieldFilter.class)) {
+            return compile(filter);
+        }
+        return filter;
+    }
+
+    /**
+     * Collects the modifier masks and filters of a filter tree.
+     **/
+    private static final class Compiler {
+        private int requiredModifiers;
+        private int forbiddenModifiers;
+        private final List<Integer> anyModifiers = new ArrayList<>();
+        private final List<FieldFilter> filters = new ArrayList<>();
+
+        private void add(FieldFilter filter) {
+            if (isExactly(filter, AndFieldFilter.class)) {
+                for (FieldFilter child : ((AndFieldFilter) filter).getFilters()) {
+                    add(child);
+                }
+            } else if (isExactly(filter, ModifierFilter.class)) {
+                addModifier(((ModifierFilter) filter).getModifier());
+            } else if (isExactly(filter, NegationFieldFilter.class)) {
+                FieldFilter negated = ((NegationFieldFilter) filter).getFilter();
+                if (isExactly(negated, ModifierFilter.class)) {
+                    forbiddenModifiers |= ((ModifierFilter) negated).getModifier();
+                } else {
+                    filters.add(new NegationFieldFilter(compileNested(negated)));
+                }
+            } else if (isExactly(filter, OrFieldFilter.class)) {
+                addAlternatives(filter);
+            } else {
+                filters.add(filter);
+            }
+        }
+
+        private void addModifier(int modifier) {
+            if (Integer.bitCount(modifier) == 1) {
+                requiredModifiers |= modifier;
+            } else {
+                anyModifiers.add(modifier);
+            }
+        }
+
+        private void addAlternatives(FieldFilter or) {
+            List<FieldFilter> alternatives = new ArrayList<>();
+            flatten(or, alternatives);
+            int modifiers = 0;
+            for (FieldFilter alternative : alternatives) {
+                if (!isExactly(alternative, ModifierFilter.class)) {
+                    FieldFilter[] compiled = new FieldFilter[alternatives.size()];
+                    for (int i = 0; i < compiled.length; i++) {
+                        compiled[i] = compileNested(alternatives.get(i));
+                    }
+                    filters.add(new AnyOf(or, compiled));
+                    return;
+                }
+                modifiers |= ((ModifierFilter) alternative).getModifier();
+            }
+            addModifier(modifiers);
+        }
+
+        private void flatten(FieldFilter filter, List<FieldFilter> alternatives) {
+            if (isExactly(filter, OrFieldFilter.class)) {
+                OrFieldFilter or = (OrFieldFilter) filter;
+                flatten(or.getLeft(), alternatives);
+                flatten(or.getRight(), alternatives);
+            } else {
+                alternatives.add(filter);
+            }
+        }
+    }
+
+    /**
+     * Passes fields which passes any of the alternatives.
+     **/
+    private static final class AnyOf implements FieldFilter {
+        private final FieldFilter source;
+        private final FieldFilter[] alternatives;
+
+        AnyOf(final FieldFilter source, final FieldFilter... alternatives) {
+            this.source = source;
+            this.alternatives = alternatives;
+        }
+
+        @Override
+        public boolean apply(Field field) {
+            for (FieldFilter alternative : alternatives) {
+                if (alternative.apply(field)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean isCacheable() {
+            return source.isCacheable();
+        }
+
+        @Override
+        public FilterCost getCost() {
+            return source.getCost();
+        }
+
+        @Override
+        public String describe() {
+            return source.describe();
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package org.kasource.commons.reflection.filter.impl;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.kasource.commons.reflection.filter.FilterCost;
+import org.kasource.commons.reflection.filter.MethodFilter;
+
+/**
+ * Method filter compiled from a tree of method filters into a flat predicate.
+ * <p>
+ * Nested AND filters are flattened into a single array of filters evaluated in a loop, modifier filters
+ * (and negated modifier filters) are folded into bit mask tests which are evaluated first and nested OR
+ * filters are flattened into arrays of alternatives. An OR filter which only has modifier filters as
+ * alternatives is folded into a single bit mask test. The remaining filters are evaluated in order of their
+ * estimated cost, see {@link AndMethodFilter}.
+ * <p>
+ * Note: It's not recommended to use this class directly, instead use builders from the se.hiq.oss.commons.reflection.filter.builder package
+ *
+ * @author rikardwi
+ **/
+public final class CompiledMethodFilter implements MethodFilter {
+    private static final MethodFilter[] NO_FILTERS = new MethodFilter[0];
+
+    private final MethodFilter source;
+    private final int requiredModifiers;
+    private final int forbiddenModifiers;
+    private final int[] anyModifiers;
+    private final FilterOrder<MethodFilter> order;
+    private volatile FilterPlan plan;
+
+    private CompiledMethodFilter(final MethodFilter source, final Compiler compiler) {
+        this.source = source;
+        this.requiredModifiers = compiler.requiredModifiers;
+        this.forbiddenModifiers = compiler.forbiddenModifiers;
+        this.anyModifiers = new int[compiler.anyModifiers.size()];
+        for (int i = 0; i < anyModifiers.length; i++) {
+            anyModifiers[i] = compiler.anyModifiers.get(i);
+        }
+        this.order = new FilterOrder<>(compiler.filters, NO_FILTERS, MethodFilter::getCost);
+    }
+
+    /**
+     * Compiles filter into a flat predicate.
+     *
+     * @param filter The filter to compile.
+     *
+     * @return the compiled filter.
+     **/
+    public static MethodFilter compile(MethodFilter filter) {
+        if (filter instanceof CompiledMethodFilter) {
+            return filter;
+        }
+        Compiler compiler = new Compiler();
+        compiler.add(filter);
+        return new CompiledMethodFilter(filter, compiler);
+    }
+
+    @Override
+    public boolean apply(Method method) {
+        int modifiers = method.getModifiers();
+        if ((modifiers & requiredModifiers) != requiredModifiers || (modifiers & forbiddenModifiers) != 0) {
+            return false;
+        }
+        for (int mask : anyModifiers) {
+            if ((modifiers & mask) == 0) {
+                return false;
+            }
+        }
+        MethodFilter[] filters = order.getFilters();
+        for (int i = 0; i < filters.length; i++) {
+            if (!filters[i].apply(method)) {
+                order.rejected(i);
+                return false;
+            }
+        }
+        order.passed();
+        return true;
+    }
+
+    /**
+     * @return the index plan of the filter, created once.
+     **/
+    FilterPlan getPlan() {
+        FilterPlan result = plan;
+        if (result == null) {
+            result = FilterPlan.ofMethodFilter(source);
+            plan = result;
+        }
+        return result;
+    }
+
+    @Override
+    public boolean isCacheable() {
+        return source.isCacheable();
+    }
+
+    @Override
+    public FilterCost getCost() {
+        return source.getCost();
+    }
+
+    @Override
+    public String describe() {
+        return source.describe();
+    }
+
+    /**
+     * Sub classes of the library filters may override apply, so only the library classes themselves are folded.
+     **/
+    private static boolean isExactly(Object filter, Class<?> type) {
+        return filter.getClass() == type;
+    }
+
+    private static MethodFilter compileNested(MethodFilter filter) {
+        if (isExactly(filter, AndMethodFilter.class)
+                || isExactly(filter, OrMethodFilter.class)
+                || isExactly(filter, NegationMethodFilter.class)) {
+            return compile(filter);
+        }
+        return filter;
+    }
+
+    /**
+     * Collects the modifier masks and filters of a filter tree.
+     **/
+    private static final class Compiler {
+        private int requiredModifiers;
+        private int forbiddenModifiers;
+        private final List<Integer> anyModifiers = new ArrayList<>();
+        private final List<MethodFilter> filters = new ArrayList<>();
+
+        private void add(MethodFilter filter) {
+            if (isExactly(filter, AndMethodFilter.class)) {
+                for (MethodFilter child : ((AndMethodFilter) filter).getFilters()) {
+                    add(child);
+                }
+            } else if (isExactly(filter, ModifierFilter.class)) {
+                addModifier(((ModifierFilter) filter).getModifier());
+            } else if (isExactly(filter, NegationMethodFilter.class)) {
+                MethodFilter negated = ((NegationMethodFilter) filter).getFilter();
+                if (isExactly(negated, ModifierFilter.class)) {
+                    forbiddenModifiers |= ((ModifierFilter) negated).getModifier();
+                } else {
+                    filters.add(new NegationMethodFilter(compileNested(negated)));
+                }
+            } else if (isExactly(filter, OrMethodFilter.class)) {
+                addAlternatives(filter);
+            } else {
+                filters.add(filter);
+            }
+        }
+
+        private void addModifier(int modifier) {
+            if (Integer.bitCount(modifier) == 1) {
+                requiredModifiers |= modifier;
+            } else {
+                anyModifiers.add(modifier);
+            }
+        }
+
+        private void addAlternatives(MethodFilter or) {
+            List<MethodFilter> alternatives = new ArrayList<>();
+            flatten(or, alternatives);
+            int modifiers = 0;
+            for (MethodFilter alternative : alternatives) {
+                if (!isExactly(alternative, ModifierFilter.class)) {
+                    MethodFilter[] compiled = new MethodFilter[alternatives.size()];
+                    for (int i = 0; i < compiled.length; i++) {
+                        compiled[i] = compileNested(alternatives.get(i));
+                    }
+                    filters.add(new AnyOf(or, compiled));
+                    return;
+                }
+                modifiers |= ((ModifierFilter) alternative).getModifier();
+            }
+            addModifier(modifiers);
+        }
+
+        private void flatten(MethodFilter filter, List<MethodFilter> alternatives) {
+            if (isExactly(filter, OrMethodFilter.class)) {
+                OrMethodFilter or = (OrMethodFilter) filter;
+                flatten(or.getLeft(), alternatives);
+                flatten(or.getRight(), alternatives);
+                for (MethodFilter rest : or.getRest()) {
+                    flatten(rest, alternatives);
+                }
+            } else {
+                alternatives.add(filter);
+            }
+        }
+    }
+
+    /**
+     * Passes methods which passes any of the alternatives.
+     **/
+    private static final class AnyOf implements MethodFilter {
+        private final MethodFilter source;
+        private final MethodFilter[] alternatives;
+
+        AnyOf(final MethodFilter source, final MethodFilter... alternatives) {
+            this.source = source;
+            this.alternatives = alternatives;
+        }
+
+        @Override
+        public boolean apply(Method method) {
+            for (MethodFilter alternative : alternatives) {
+                if (alternative.apply(method)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean isCacheable() {
+            return source.isCacheable();
+        }
+
+        @Override
+        public FilterCost getCost() {
+            return source.getCost();
+        }
+
+        @Override
+        public String describe() {
+            return source.describe();
+        }
+    }
+}
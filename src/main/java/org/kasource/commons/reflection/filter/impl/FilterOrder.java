@@ -0,0 +1,152 @@
+package org.kasource.commons.reflection.filter.impl;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Function;
+
+import org.kasource.commons.reflection.filter.FilterCost;
+
+/**
+ * Evaluation order of filters combined by AND.
+ * <p>
+ * The filters are ordered by their estimated cost, cheapest first. Filters of UNKNOWN cost are kept in
+ * place and no filter is moved across them, since such a filter may rely on the filters added before it.
+ * <p>
+ * Filters of equal cost are first evaluated in the order added while the number of elements each filter
+ * rejects is sampled, after {@link #SAMPLE_SIZE} evaluations the filters are reordered once so that the
+ * most selective filter of each cost is evaluated first.
+ *
+ * @param <F> Filter type
+ * @author rikardwi
+ **/
+final class FilterOrder<F> {
+    static final int SAMPLE_SIZE = 1024;
+
+    private final List<F> source;
+    private final FilterCost[] costs;
+    private final AtomicInteger evaluations = new AtomicInteger();
+    private final AtomicIntegerArray rejections;
+    private volatile F[] filters;
+    private volatile boolean sampling;
+
+    /**
+     * Constructor.
+     *
+     * @param source  The filters to order.
+     * @param empty   Empty array of the filter type.
+     * @param cost    Function returning the cost of a filter.
+     **/
+    FilterOrder(final List<F> source, final F[] empty, final Function<F, FilterCost> cost) {
+        this.source = source;
+        F[] added = source.toArray(empty);
+        FilterCost[] addedCosts = new FilterCost[added.length];
+        for (int i = 0; i < added.length; i++) {
+            FilterCost filterCost = cost.apply(added[i]);
+            addedCosts[i] = filterCost == null ? FilterCost.UNKNOWN : filterCost;
+        }
+        Integer[] order = sort(addedCosts, (a, b) -> addedCosts[a].compareTo(addedCosts[b]));
+        F[] sorted = Arrays.copyOf(added, added.length);
+        this.costs = new FilterCost[added.length];
+        for (int i = 0; i < order.length; i++) {
+            sorted[i] = added[order[i]];
+            costs[i] = addedCosts[order[i]];
+        }
+        this.filters = sorted;
+        this.rejections = new AtomicIntegerArray(sorted.length);
+        this.sampling = hasEqualCosts(costs);
+    }
+
+    /**
+     * Returns true if this order was created from filters.
+     *
+     * @param filterList Filter list to check.
+     *
+     * @return true if this order was created from filterList.
+     **/
+    boolean isOrderOf(List<F> filterList) {
+        return source == filterList;
+    }
+
+    /**
+     * @return the filters in evaluation order.
+     **/
+    F[] getFilters() {
+        return filters;
+    }
+
+    /**
+     * Records that an element passed all filters.
+     **/
+    void passed() {
+        if (sampling) {
+            sample();
+        }
+    }
+
+    /**
+     * Records that an element was rejected by a filter.
+     *
+     * @param index Index of the rejecting filter, in the array returned by {@link #getFilters()}.
+     **/
+    void rejected(int index) {
+        if (sampling) {
+            rejections.incrementAndGet(index);
+            sample();
+        }
+    }
+
+    private void sample() {
+        if (evaluations.incrementAndGet() == SAMPLE_SIZE) {
+            reorder();
+        }
+    }
+
+    private void reorder() {
+        F[] current = filters;
+        double[] rejectionRates = new double[current.length];
+        int reached = SAMPLE_SIZE;
+        for (int i = 0; i < current.length; i++) {
+            int rejected = rejections.get(i);
+            rejectionRates[i] = reached > 0 ? (double) rejected / reached : 0;
+            reached -= rejected;
+        }
+        Comparator<Integer> byCost = (a, b) -> costs[a].compareTo(costs[b]);
+        Integer[] order = sort(costs, byCost.thenComparing((a, b) -> Double.compare(rejectionRates[b], rejectionRates[a])));
+        F[] reordered = Arrays.copyOf(current, current.length);
+        for (int i = 0; i < order.length; i++) {
+            reordered[i] = current[order[i]];
+        }
+        sampling = false;
+        filters = reordered;
+    }
+
+    /**
+     * Sorts the indexes of costs, without moving any index across an UNKNOWN cost.
+     **/
+    private static Integer[] sort(FilterCost[] costs, Comparator<Integer> comparator) {
+        Integer[] order = new Integer[costs.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        int start = 0;
+        for (int i = 0; i <= costs.length; i++) {
+            if (i == costs.length || costs[i] == FilterCost.UNKNOWN) {
+                Arrays.sort(order, start, i, comparator);
+                start = i + 1;
+            }
+        }
+        return order;
+    }
+
+    private static boolean hasEqualCosts(FilterCost[] sortedCosts) {
+        for (int i = 1; i < sortedCosts.length; i++) {
+            if (sortedCosts[i] != FilterCost.UNKNOWN && sortedCosts[i] == sortedCosts[i - 1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
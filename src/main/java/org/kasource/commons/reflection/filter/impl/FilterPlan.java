@@ -0,0 +1,191 @@
+package org.kasource.commons.reflection.filter.impl;
+
+import java.lang.annotation.Annotation;
+
+import org.kasource.commons.reflection.filter.FieldFilter;
+import org.kasource.commons.reflection.filter.MethodFilter;
+
+/**
+ * The conditions of a filter which can be answered by an index of the members of a class.
+ * <p>
+ * The plan is extracted from the AND filters at the top of a filter tree, as built by
+ * {@link org.kasource.commons.reflection.filter.builder.MethodFilterBuilder} and
+ * {@link org.kasource.commons.reflection.filter.builder.FieldFilterBuilder}: a name filter matching a single
+ * literal name, a filter on the number of parameters, modifier filters of a single modifier and annotation
+ * filters. Every member passing the filter fulfills all conditions of the plan, so the members looked up by
+ * the plan are candidates which the filter is then applied to. Conditions below an OR or a negation are not
+ * part of the plan.
+ * <p>
+ * Note: It's not recommended to use this class directly, it's used by the introspection utilities to select
+ * candidate members.
+ *
+ * @author rikardwi
+ **/
+public final class FilterPlan {
+    /**
+     * Plan without any conditions.
+     **/
+    public static final FilterPlan NONE = new FilterPlan(null, -1, 0, null);
+
+    private final String name;
+    private final int numberOfParameters;
+    private final int requiredModifiers;
+    private final Class<? extends Annotation> annotation;
+
+    private FilterPlan(final String name,
+                       final int numberOfParameters,
+                       final int requiredModifiers,
+                       final Class<? extends Annotation> annotation) {
+        this.name = name;
+        this.numberOfParameters = numberOfParameters;
+        this.requiredModifiers = requiredModifiers;
+        this.annotation = annotation;
+    }
+
+    /**
+     * Returns the plan of a method filter.
+     *
+     * @param filter The filter to return the plan for.
+     *
+     * @return the plan of filter.
+     **/
+    public static FilterPlan ofMethodFilter(MethodFilter filter) {
+        if (filter instanceof CompiledMethodFilter) {
+            return ((CompiledMethodFilter) filter).getPlan();
+        }
+        Collector collector = new Collector();
+        collector.addMethod(filter);
+        return collector.toPlan();
+    }
+
+    /**
+     * Returns the plan of a field filter.
+     *
+     * @param filter The filter to return the plan for.
+     *
+     * @return the plan of filter.
+     **/
+    public static FilterPlan ofFieldFilter(FieldFilter filter) {
+        if (filter instanceof CompiledFieldFilter) {
+            return ((CompiledFieldFilter) filter).getPlan();
+        }
+        Collector collector = new Collector();
+        collector.addField(filter);
+        return collector.toPlan();
+    }
+
+    /**
+     * @return the literal name of the members passed, or null if not known.
+     **/
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the number of parameters of the methods passed, or -1 if not known.
+     **/
+    public int getNumberOfParameters() {
+        return numberOfParameters;
+    }
+
+    /**
+     * @return the modifiers all members passed has, as a bit mask.
+     **/
+    public int getRequiredModifiers() {
+        return requiredModifiers;
+    }
+
+    /**
+     * @return an annotation present on all members passed, or null if not known.
+     **/
+    public Class<? extends Annotation> getAnnotation() {
+        return annotation;
+    }
+
+    /**
+     * @return true if the plan has no conditions, and thus all members are candidates.
+     **/
+    public boolean isEmpty() {
+        return name == null && numberOfParameters < 0 && requiredModifiers == 0 && annotation == null;
+    }
+
+    /**
+     * Collects the conditions of a filter tree.
+     **/
+    private static final class Collector {
+        private String name;
+        private int numberOfParameters = -1;
+        private int requiredModifiers;
+        private Class<? extends Annotation> annotation;
+
+        private void addMethod(MethodFilter filter) {
+            if (filter instanceof CompiledMethodFilter) {
+                merge(((CompiledMethodFilter) filter).getPlan());
+            } else if (isExactly(filter, AndMethodFilter.class)) {
+                for (MethodFilter child : ((AndMethodFilter) filter).getFilters()) {
+                    addMethod(child);
+                }
+            } else if (isExactly(filter, NumberOfParametersFilter.class)) {
+                numberOfParameters = ((NumberOfParametersFilter) filter).getNumberOfParameters();
+            } else {
+                addLeaf(filter);
+            }
+        }
+
+        private void addField(FieldFilter filter) {
+            if (filter instanceof CompiledFieldFilter) {
+                merge(((CompiledFieldFilter) filter).getPlan());
+            } else if (isExactly(filter, AndFieldFilter.class)) {
+                for (FieldFilter child : ((AndFieldFilter) filter).getFilters()) {
+                    addField(child);
+                }
+            } else {
+                addLeaf(filter);
+            }
+        }
+
+        private void addLeaf(Object filter) {
+            if (isExactly(filter, NameFilter.class)) {
+                String literal = ((NameFilter) filter).getLiteral();
+                if (literal != null) {
+                    name = literal;
+                }
+            } else if (isExactly(filter, ModifierFilter.class)) {
+                int modifier = ((ModifierFilter) filter).getModifier();
+                if (Integer.bitCount(modifier) == 1) {
+                    requiredModifiers |= modifier;
+                }
+            } else if (isExactly(filter, AnnotatedFilter.class) && annotation == null) {
+                annotation = ((AnnotatedFilter) filter).getAnnotation();
+            }
+        }
+
+        /**
+         * Sub classes of the library filters may override apply, so only the library classes themselves
+         * are known to apply the conditions read from them.
+         **/
+        private static boolean isExactly(Object filter, Class<?> type) {
+            return filter.getClass() == type;
+        }
+
+        private void merge(FilterPlan plan) {
+            if (plan.name != null) {
+                name = plan.name;
+            }
+            if (plan.numberOfParameters >= 0) {
+                numberOfParameters = plan.numberOfParameters;
+            }
+            requiredModifiers |= plan.requiredModifiers;
+            if (annotation == null) {
+                annotation = plan.annotation;
+            }
+        }
+
+        private FilterPlan toPlan() {
+            if (name == null && numberOfParameters < 0 && requiredModifiers == 0 && annotation == null) {
+                return NONE;
+            }
+            return new FilterPlan(name, numberOfParameters, requiredModifiers, annotation);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package org.kasource.commons.reflection.filter.impl;
 
 
 import org.kasource.commons.reflection.filter.ClassFilter;
+import org.kasource.commons.reflection.filter.FilterCost;
 
 
 
@@ -18,6 +19,16 @@ public class IsAnnotationClassFilter implements ClassFilter {
         return clazz.isAnnotation();
     }
 
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
+
+    @Override
+    public FilterCost getCost() {
+        return FilterCost.LOW;
+    }
+
     @Override
     public String describe() {
         return "is an annotation class";
@@ -2,6 +2,7 @@ package org.kasource.commons.reflection.filter.impl;
 
 
 import org.kasource.commons.reflection.filter.ClassFilter;
+import org.kasource.commons.reflection.filter.FilterCost;
 
 
 /**
@@ -17,6 +18,16 @@ public class IsAnonymousClassFilter implements ClassFilter {
         return clazz.isAnonymousClass();
     }
 
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
+
+    @Override
+    public FilterCost getCost() {
+        return FilterCost.MEDIUM;
+    }
+
     @Override
     public String describe() {
         return "is an anonymous class";
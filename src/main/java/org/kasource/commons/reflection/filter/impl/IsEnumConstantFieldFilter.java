@@ -3,6 +3,7 @@ package org.kasource.commons.reflection.filter.impl;
 import java.lang.reflect.Field;
 
 import org.kasource.commons.reflection.filter.FieldFilter;
+import org.kasource.commons.reflection.filter.FilterCost;
 
 
 /**
@@ -19,6 +20,16 @@ public class IsEnumConstantFieldFilter implements FieldFilter {
         return field.isEnumConstant();
     }
 
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
+
+    @Override
+    public FilterCost getCost() {
+        return FilterCost.LOW;
+    }
+
     @Override
     public String describe() {
         return "is enum constant";
@@ -2,6 +2,7 @@ package org.kasource.commons.reflection.filter.impl;
 
 
 import org.kasource.commons.reflection.filter.ClassFilter;
+import org.kasource.commons.reflection.filter.FilterCost;
 
 /**
  * Filter that keeps only interface classes.
@@ -16,6 +17,16 @@ public class IsInterfaceClassFilter implements ClassFilter {
         return clazz.isInterface();
     }
 
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
+
+    @Override
+    public FilterCost getCost() {
+        return FilterCost.LOW;
+    }
+
     @Override
     public String describe() {
         return "is an interface class";
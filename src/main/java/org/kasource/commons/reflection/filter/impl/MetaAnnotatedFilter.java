@@ -8,12 +8,17 @@ import java.lang.reflect.Method;
 import org.kasource.commons.reflection.filter.ClassFilter;
 import org.kasource.commons.reflection.filter.ConstructorFilter;
 import org.kasource.commons.reflection.filter.FieldFilter;
+import org.kasource.commons.reflection.filter.FilterCost;
 import org.kasource.commons.reflection.filter.MethodFilter;
+import org.kasource.commons.reflection.util.AnnotationUtils;
 
 
 /**
  * Filters all classes which is annotated with an annotation which is annotated with a specific meta annotation.
  * <p>
+ * The meta annotation is resolved transitively, so an annotation annotated with another annotation which in turn is
+ * annotated with the meta annotation also passes the filter.
+ * <p>
  * Note: It's not recommended to use this class directly, instead use builders from the se.hiq.oss.commons.reflection.filter.builder package
  *
  * @author rikardwi
@@ -28,33 +33,33 @@ public class MetaAnnotatedFilter implements ClassFilter, MethodFilter, FieldFilt
 
     @Override
     public boolean apply(Class<?> clazz) {
-        return passFilter(clazz.getDeclaredAnnotations());
+        return AnnotationUtils.isMetaAnnotated(clazz, inheritedAnnotation);
     }
 
     @Override
     public boolean apply(Method method) {
-        return passFilter(method.getDeclaredAnnotations());
+        return AnnotationUtils.isMetaAnnotated(method, inheritedAnnotation);
     }
 
     @Override
     public boolean apply(Field field) {
-        return passFilter(field.getDeclaredAnnotations());
+        return AnnotationUtils.isMetaAnnotated(field, inheritedAnnotation);
     }
 
     @SuppressWarnings("rawtypes")
     @Override
     public boolean apply(Constructor constructor) {
-        return passFilter(constructor.getDeclaredAnnotations());
+        return AnnotationUtils.isMetaAnnotated(constructor, inheritedAnnotation);
+    }
 
+    @Override
+    public boolean isCacheable() {
+        return true;
     }
 
-    private boolean passFilter(Annotation... annotations) {
-        for (Annotation annotation : annotations) {
-            if (annotation.annotationType().isAnnotationPresent(inheritedAnnotation)) {
-                return true;
-            }
-        }
-        return false;
+    @Override
+    public FilterCost getCost() {
+        return FilterCost.MEDIUM;
     }
 
     @Override
@@ -9,6 +9,7 @@ import org.kasource.commons.reflection.Modifier;
 import org.kasource.commons.reflection.filter.ClassFilter;
 import org.kasource.commons.reflection.filter.ConstructorFilter;
 import org.kasource.commons.reflection.filter.FieldFilter;
+import org.kasource.commons.reflection.filter.FilterCost;
 import org.kasource.commons.reflection.filter.MethodFilter;
 import org.kasource.commons.reflection.util.ModifierUtils;
 
@@ -58,6 +59,23 @@ public class ModifierFilter implements ClassFilter, MethodFilter, FieldFilter, C
         return (method.getModifiers() & modifier) > 0;
     }
 
+    /**
+     * @return the modifier bit mask, of which any bit must be set.
+     **/
+    int getModifier() {
+        return modifier;
+    }
+
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
+
+    @Override
+    public FilterCost getCost() {
+        return FilterCost.LOW;
+    }
+
     @Override
     public String describe() {
         return "is " + ModifierUtils.toString(modifier);
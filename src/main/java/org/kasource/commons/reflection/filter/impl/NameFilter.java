@@ -5,11 +5,14 @@ import java.lang.reflect.Method;
 
 import org.kasource.commons.reflection.filter.ClassFilter;
 import org.kasource.commons.reflection.filter.FieldFilter;
+import org.kasource.commons.reflection.filter.FilterCost;
 import org.kasource.commons.reflection.filter.MethodFilter;
 
 /**
  * Filters classes which name matches a Regular Expression.
  * <p>
+ * The regular expression is compiled once, when the filter is created.
+ * <p>
  * Note: It's not recommended to use this class directly, instead use builders from the se.hiq.oss.commons.reflection.filter.builder package
  *
  * @author rikardwi
@@ -17,24 +20,50 @@ import org.kasource.commons.reflection.filter.MethodFilter;
 public class NameFilter implements ClassFilter, MethodFilter, FieldFilter {
 
     private String nameRegExp;
+    private NameMatcher matcher;
 
+    /**
+     * Constructor.
+     *
+     * @param nameRegExp Regular expression to match names with.
+     *
+     * @throws java.util.regex.PatternSyntaxException if nameRegExp is not a valid regular expression.
+     **/
     public NameFilter(final String nameRegExp) {
         this.nameRegExp = nameRegExp;
+        this.matcher = NameMatcher.compile(nameRegExp);
     }
 
     @Override
     public boolean apply(Class<?> clazz) {
-        return clazz.getName().matches(nameRegExp);
+        return matcher.matches(clazz.getName());
     }
 
     @Override
     public boolean apply(Field field) {
-        return field.getName().matches(nameRegExp);
+        return matcher.matches(field.getName());
     }
 
     @Override
     public boolean apply(Method method) {
-        return method.getName().matches(nameRegExp);
+        return matcher.matches(method.getName());
+    }
+
+    /**
+     * @return the name matched if the regular expression matches a single literal name only, else null.
+     **/
+    String getLiteral() {
+        return matcher.getLiteral();
+    }
+
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
+
+    @Override
+    public FilterCost getCost() {
+        return FilterCost.MEDIUM;
     }
 
     @Override
@@ -0,0 +1,250 @@
+package org.kasource.commons.reflection.filter.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Matches names against a regular expression compiled once.
+ * <p>
+ * Regular expressions which are a literal name, or an alternation of literal prefixes optionally followed by
+ * a single character range and a trailing .* or \w* (like <i>get[A-Z].*|is[A-Z].*|has[A-Z].*</i>), are evaluated
+ * by a specialized matcher which does not allocate. Any other regular expression is evaluated with a
+ * pre-compiled {@link Pattern}.
+ *
+ * @author rikardwi
+ **/
+abstract class NameMatcher {
+    private static final String METACHARACTERS = "\\.[]{}()<>*+-=!?^$|";
+
+    /**
+     * Returns true if the whole name matches.
+     *
+     * @param name Name to match.
+     *
+     * @return true if the whole name matches, else false.
+     **/
+    abstract boolean matches(String name);
+
+    /**
+     * Returns the name matched if this matcher matches a single literal name only.
+     *
+     * @return the literal name matched, or null if more than one name may match.
+     **/
+    String getLiteral() {
+        return null;
+    }
+
+    /**
+     * Compiles and returns a matcher for the supplied regular expression.
+     *
+     * @param regExp Regular expression to compile.
+     *
+     * @return matcher for regExp.
+     * @throws java.util.regex.PatternSyntaxException if regExp is not a valid regular expression.
+     **/
+    static NameMatcher compile(String regExp) {
+        Pattern pattern = Pattern.compile(regExp);
+        List<String> alternatives = splitAlternatives(regExp);
+        if (alternatives == null) {
+            return new RegExpMatcher(pattern);
+        }
+        PrefixMatcher[] matchers = new PrefixMatcher[alternatives.size()];
+        for (int i = 0; i < matchers.length; i++) {
+            matchers[i] = PrefixMatcher.parse(alternatives.get(i));
+            if (matchers[i] == null) {
+                return new RegExpMatcher(pattern);
+            }
+        }
+        return matchers.length == 1 ? matchers[0] : new AlternativesMatcher(matchers);
+    }
+
+    /**
+     * Splits regExp on top level alternation, returns null if regExp contains groups.
+     **/
+    private static List<String> splitAlternatives(String regExp) {
+        List<String> alternatives = new ArrayList<>();
+        boolean inClass = false;
+        int start = 0;
+        for (int i = 0; i < regExp.length(); i++) {
+            char c = regExp.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '(' || c == ')') {
+                return null;
+            } else if (c == '[') {
+                inClass = true;
+            } else if (c == ']') {
+                inClass = false;
+            } else if (c == '|' && !inClass) {
+                alternatives.add(regExp.substring(start, i));
+                start = i + 1;
+            }
+        }
+        alternatives.add(regExp.substring(start));
+        return alternatives;
+    }
+
+    /**
+     * Matches names using a pre-compiled regular expression.
+     **/
+    private static final class RegExpMatcher extends NameMatcher {
+        private final Pattern pattern;
+
+        RegExpMatcher(final Pattern pattern) {
+            this.pattern = pattern;
+        }
+
+        @Override
+        boolean matches(String name) {
+            return pattern.matcher(name).matches();
+        }
+    }
+
+    /**
+     * Matches names which matches any of a set of prefix matchers.
+     **/
+    private static final class AlternativesMatcher extends NameMatcher {
+        private final PrefixMatcher[] alternatives;
+
+        AlternativesMatcher(final PrefixMatcher... alternatives) {
+            this.alternatives = alternatives;
+        }
+
+        @Override
+        boolean matches(String name) {
+            for (PrefixMatcher alternative : alternatives) {
+                if (alternative.matches(name)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Matches names starting with a literal prefix, optionally followed by a character in a range and
+     * a tail of any characters (.*) or word characters (\w*).
+     **/
+    private static final class PrefixMatcher extends NameMatcher {
+        private enum Tail { NONE, ANY, WORD }
+
+        private final String prefix;
+        private final boolean hasRange;
+        private final char rangeStart;
+        private final char rangeEnd;
+        private final Tail tail;
+
+        private PrefixMatcher(final String prefix, final boolean hasRange, final char rangeStart,
+                              final char rangeEnd, final Tail tail) {
+            this.prefix = prefix;
+            this.hasRange = hasRange;
+            this.rangeStart = rangeStart;
+            this.rangeEnd = rangeEnd;
+            this.tail = tail;
+        }
+
+        /**
+         * Parses a single alternative, returns null if the alternative is not supported.
+         **/
+        @SuppressWarnings("checkstyle:cyclomaticcomplexity")
+        static PrefixMatcher parse(String alternative) {
+            StringBuilder prefix = new StringBuilder();
+            int i = 0;
+            while (i < alternative.length()) {
+                char c = alternative.charAt(i);
+                if (c == '\\') {
+                    if (i + 1 < alternative.length() && METACHARACTERS.indexOf(alternative.charAt(i + 1)) >= 0) {
+                        prefix.append(alternative.charAt(i + 1));
+                        i += 2;
+                    } else {
+                        break;
+                    }
+                } else if (METACHARACTERS.indexOf(c) >= 0) {
+                    break;
+                } else {
+                    prefix.append(c);
+                    i++;
+                }
+            }
+            String rest = alternative.substring(i);
+            boolean hasRange = isRange(rest);
+            if (hasRange) {
+                Tail tail = parseTail(rest.substring(5));
+                return tail == null ? null : new PrefixMatcher(prefix.toString(), true, rest.charAt(1), rest.charAt(3), tail);
+            }
+            Tail tail = parseTail(rest);
+            return tail == null ? null : new PrefixMatcher(prefix.toString(), false, ' ', ' ', tail);
+        }
+
+        private static boolean isRange(String rest) {
+            return rest.length() >= 5
+                    && rest.charAt(0) == '['
+                    && rest.charAt(2) == '-'
+                    && rest.charAt(4) == ']'
+                    && Character.isLetterOrDigit(rest.charAt(1))
+                    && Character.isLetterOrDigit(rest.charAt(3));
+        }
+
+        private static Tail parseTail(String tail) {
+            switch (tail) {
+                case "":
+                    return Tail.NONE;
+                case ".*":
+                    return Tail.ANY;
+                case "\\w*":
+                    return Tail.WORD;
+                default:
+                    return null;
+            }
+        }
+
+        @Override
+        String getLiteral() {
+            return !hasRange && tail == Tail.NONE ? prefix : null;
+        }
+
+        @Override
+        boolean matches(String name) {
+            if (!name.startsWith(prefix)) {
+                return false;
+            }
+            int index = prefix.length();
+            if (hasRange) {
+                if (index >= name.length()) {
+                    return false;
+                }
+                char c = name.charAt(index++);
+                if (c < rangeStart || c > rangeEnd) {
+                    return false;
+                }
+            }
+            switch (tail) {
+                case NONE:
+                    return index == name.length();
+                case WORD:
+                    return allMatch(name, index, true);
+                default:
+                    return allMatch(name, index, false);
+            }
+        }
+
+        private boolean allMatch(String name, int fromIndex, boolean wordCharacters) {
+            for (int i = fromIndex; i < name.length(); i++) {
+                char c = name.charAt(i);
+                if (wordCharacters ? !isWordCharacter(c) : isLineTerminator(c)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean isWordCharacter(char c) {
+            return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_';
+        }
+
+        private static boolean isLineTerminator(char c) {
+            return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+        }
+    }
+}
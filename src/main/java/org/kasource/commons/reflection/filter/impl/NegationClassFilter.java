@@ -1,6 +1,7 @@
 package org.kasource.commons.reflection.filter.impl;
 
 import org.kasource.commons.reflection.filter.ClassFilter;
+import org.kasource.commons.reflection.filter.FilterCost;
 
 
 /**
@@ -23,6 +24,23 @@ public class NegationClassFilter implements ClassFilter {
         return !filter.apply(clazz);
     }
 
+    /**
+     * @return the filter negated.
+     **/
+    ClassFilter getFilter() {
+        return filter;
+    }
+
+    @Override
+    public boolean isCacheable() {
+        return filter.isCacheable();
+    }
+
+    @Override
+    public FilterCost getCost() {
+        return filter.getCost();
+    }
+
     @Override
     public String describe() {
         return "not " + filter.describe();
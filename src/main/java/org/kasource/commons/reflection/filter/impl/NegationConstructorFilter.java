@@ -3,6 +3,7 @@ package org.kasource.commons.reflection.filter.impl;
 import java.lang.reflect.Constructor;
 
 import org.kasource.commons.reflection.filter.ConstructorFilter;
+import org.kasource.commons.reflection.filter.FilterCost;
 
 
 /**
@@ -26,6 +27,23 @@ public class NegationConstructorFilter implements ConstructorFilter {
         return !filter.apply(constructor);
     }
 
+    /**
+     * @return the filter negated.
+     **/
+    ConstructorFilter getFilter() {
+        return filter;
+    }
+
+    @Override
+    public boolean isCacheable() {
+        return filter.isCacheable();
+    }
+
+    @Override
+    public FilterCost getCost() {
+        return filter.getCost();
+    }
+
     @Override
     public String describe() {
         return "not " + filter.describe();
@@ -3,6 +3,7 @@ package org.kasource.commons.reflection.filter.impl;
 import java.lang.reflect.Field;
 
 import org.kasource.commons.reflection.filter.FieldFilter;
+import org.kasource.commons.reflection.filter.FilterCost;
 
 
 /**
@@ -25,6 +26,23 @@ public class NegationFieldFilter implements FieldFilter {
         return !filter.apply(field);
     }
 
+    /**
+     * @return the filter negated.
+     **/
+    FieldFilter getFilter() {
+        return filter;
+    }
+
+    @Override
+    public boolean isCacheable() {
+        return filter.isCacheable();
+    }
+
+    @Override
+    public FilterCost getCost() {
+        return filter.getCost();
+    }
+
     @Override
     public String describe() {
         return "not " + filter.describe();
@@ -2,6 +2,7 @@ package org.kasource.commons.reflection.filter.impl;
 
 import java.lang.reflect.Method;
 
+import org.kasource.commons.reflection.filter.FilterCost;
 import org.kasource.commons.reflection.filter.MethodFilter;
 
 
@@ -25,6 +26,23 @@ public class NegationMethodFilter implements MethodFilter {
         return !filter.apply(method);
     }
 
+    /**
+     * @return the filter negated.
+     **/
+    MethodFilter getFilter() {
+        return filter;
+    }
+
+    @Override
+    public boolean isCacheable() {
+        return filter.isCacheable();
+    }
+
+    @Override
+    public FilterCost getCost() {
+        return filter.getCost();
+    }
+
     @Override
     public String describe() {
         return "not " + filter.describe();
@@ -4,6 +4,7 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 
 import org.kasource.commons.reflection.filter.ConstructorFilter;
+import org.kasource.commons.reflection.filter.FilterCost;
 import org.kasource.commons.reflection.filter.MethodFilter;
 
 
@@ -25,14 +26,30 @@ public class NumberOfParametersFilter implements MethodFilter, ConstructorFilter
     @SuppressWarnings("rawtypes")
     @Override
     public boolean apply(Constructor constructor) {
-        return constructor.getParameterTypes().length == numberOfParameters;
+        return constructor.getParameterCount() == numberOfParameters;
     }
 
     @Override
     public boolean apply(Method method) {
-        return method.getParameterTypes().length == numberOfParameters;
+        return method.getParameterCount() == numberOfParameters;
     }
 
+    /**
+     * @return the number of parameters required.
+     **/
+    int getNumberOfParameters() {
+        return numberOfParameters;
+    }
+
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
+
+    @Override
+    public FilterCost getCost() {
+        return FilterCost.LOW;
+    }
 
     @Override
     public String describe() {
@@ -1,6 +1,7 @@
 package org.kasource.commons.reflection.filter.impl;
 
 import org.kasource.commons.reflection.filter.ClassFilter;
+import org.kasource.commons.reflection.filter.FilterCost;
 
 /**
  * Class filter that evaluates two other class filters (left and right) and
@@ -26,6 +27,30 @@ public class OrClassFilter implements ClassFilter {
         return left.apply(clazz) || right.apply(clazz);
     }
 
+    /**
+     * @return the left side filter.
+     **/
+    ClassFilter getLeft() {
+        return left;
+    }
+
+    /**
+     * @return the right side filter.
+     **/
+    ClassFilter getRight() {
+        return right;
+    }
+
+    @Override
+    public boolean isCacheable() {
+        return left.isCacheable() && right.isCacheable();
+    }
+
+    @Override
+    public FilterCost getCost() {
+        return left.getCost().max(right.getCost());
+    }
+
     @Override
     public String describe() {
         return left.describe() + " or " + right.describe();
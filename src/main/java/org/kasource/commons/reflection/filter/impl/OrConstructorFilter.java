@@ -3,6 +3,7 @@ package org.kasource.commons.reflection.filter.impl;
 import java.lang.reflect.Constructor;
 
 import org.kasource.commons.reflection.filter.ConstructorFilter;
+import org.kasource.commons.reflection.filter.FilterCost;
 
 /**
  * Filters constructors by evaluating two other constructor filters by OR:ing their result.
@@ -27,6 +28,30 @@ public class OrConstructorFilter implements ConstructorFilter {
         return left.apply(constructor) || right.apply(constructor);
     }
 
+    /**
+     * @return the left side filter.
+     **/
+    ConstructorFilter getLeft() {
+        return left;
+    }
+
+    /**
+     * @return the right side filter.
+     **/
+    ConstructorFilter getRight() {
+        return right;
+    }
+
+    @Override
+    public boolean isCacheable() {
+        return left.isCacheable() && right.isCacheable();
+    }
+
+    @Override
+    public FilterCost getCost() {
+        return left.getCost().max(right.getCost());
+    }
+
     @Override
     public String describe() {
         return left.describe() + " or " + right.describe();
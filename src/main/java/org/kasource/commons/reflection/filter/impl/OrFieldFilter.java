@@ -3,6 +3,7 @@ package org.kasource.commons.reflection.filter.impl;
 import java.lang.reflect.Field;
 
 import org.kasource.commons.reflection.filter.FieldFilter;
+import org.kasource.commons.reflection.filter.FilterCost;
 
 /**
  * Filters fields by evaluating two other field filters and OR:ing their result.
@@ -26,6 +27,30 @@ public class OrFieldFilter implements FieldFilter {
         return left.apply(field) || right.apply(field);
     }
 
+    /**
+     * @return the left side filter.
+     **/
+    FieldFilter getLeft() {
+        return left;
+    }
+
+    /**
+     * @return the right side filter.
+     **/
+    FieldFilter getRight() {
+        return right;
+    }
+
+    @Override
+    public boolean isCacheable() {
+        return left.isCacheable() && right.isCacheable();
+    }
+
+    @Override
+    public FilterCost getCost() {
+        return left.getCost().max(right.getCost());
+    }
+
     @Override
     public String describe() {
         return left.describe() + " or " + right.describe();
@@ -2,6 +2,7 @@ package org.kasource.commons.reflection.filter.impl;
 
 import java.lang.reflect.Method;
 
+import org.kasource.commons.reflection.filter.FilterCost;
 import org.kasource.commons.reflection.filter.MethodFilter;
 
 /**
@@ -34,11 +35,58 @@ public class OrMethodFilter implements MethodFilter {
 
     @Override
     public boolean apply(Method method) {
-        boolean result = left.apply(method) || right.apply(method);
+        if (left.apply(method) || right.apply(method)) {
+            return true;
+        }
+        for (MethodFilter filter : rest) {
+            if (filter.apply(method)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the left side filter.
+     **/
+    MethodFilter getLeft() {
+        return left;
+    }
+
+    /**
+     * @return the right side filter.
+     **/
+    MethodFilter getRight() {
+        return right;
+    }
+
+    /**
+     * @return the additional filters, may be empty.
+     **/
+    MethodFilter[] getRest() {
+        return rest;
+    }
+
+    @Override
+    public boolean isCacheable() {
+        if (!left.isCacheable() || !right.isCacheable()) {
+            return false;
+        }
+        for (MethodFilter filter : rest) {
+            if (!filter.isCacheable()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public FilterCost getCost() {
+        FilterCost cost = left.getCost().max(right.getCost());
         for (MethodFilter filter : rest) {
-            result |= filter.apply(method);
+            cost = cost.max(filter.getCost());
         }
-        return result;
+        return cost;
     }
 
     @Override
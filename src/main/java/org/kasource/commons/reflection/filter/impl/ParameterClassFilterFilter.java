@@ -8,6 +8,7 @@ import java.util.List;
 import org.apache.commons.lang3.StringUtils;
 import org.kasource.commons.reflection.filter.ClassFilter;
 import org.kasource.commons.reflection.filter.ConstructorFilter;
+import org.kasource.commons.reflection.filter.FilterCost;
 import org.kasource.commons.reflection.filter.MethodFilter;
 
 
@@ -66,6 +67,31 @@ public class ParameterClassFilterFilter implements MethodFilter, ConstructorFilt
         return true;
     }
 
+    @Override
+    public boolean isCacheable() {
+        if (classFilter != null) {
+            return classFilter.isCacheable();
+        }
+        for (ClassFilter filter : classFilters) {
+            if (!filter.isCacheable()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public FilterCost getCost() {
+        if (classFilter != null) {
+            return FilterCost.MEDIUM.max(classFilter.getCost());
+        }
+        FilterCost cost = FilterCost.MEDIUM;
+        for (ClassFilter filter : classFilters) {
+            cost = cost.max(filter.getCost());
+        }
+        return cost;
+    }
+
     @Override
     public String describe() {
         if (classFilter != null) {
@@ -2,6 +2,7 @@ package org.kasource.commons.reflection.filter.impl;
 
 import java.lang.reflect.Method;
 
+import org.kasource.commons.reflection.filter.FilterCost;
 import org.kasource.commons.reflection.filter.MethodFilter;
 
 
@@ -25,6 +26,16 @@ public class ReturnTypeMethodFilter implements MethodFilter {
         return method.getReturnType().equals(returnType);
     }
 
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
+
+    @Override
+    public FilterCost getCost() {
+        return FilterCost.LOW;
+    }
+
     @Override
     public String describe() {
         return "return type is " + returnType.getName();
@@ -6,6 +6,7 @@ import java.util.Arrays;
 
 import org.apache.commons.lang3.StringUtils;
 import org.kasource.commons.reflection.filter.ConstructorFilter;
+import org.kasource.commons.reflection.filter.FilterCost;
 import org.kasource.commons.reflection.filter.MethodFilter;
 
 
@@ -26,6 +27,12 @@ public class SignatureFilter implements MethodFilter, ConstructorFilter {
         System.arraycopy(params, 0, this.params, 0, params.length);
     }
 
+    /**
+     * Sets the return type to match, should be set before the filter is used since
+     * query results of this filter may be cached.
+     *
+     * @param returnType The return type to match.
+     **/
     public void setReturnType(Class<?> returnType) {
         this.returnType = returnType;
     }
@@ -47,6 +54,16 @@ public class SignatureFilter implements MethodFilter, ConstructorFilter {
     }
 
 
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
+
+    @Override
+    public FilterCost getCost() {
+        return FilterCost.MEDIUM;
+    }
+
     @Override
     public String describe() {
         return "with the parameters of type(s) (" + StringUtils.join(params, ", ") + ")";
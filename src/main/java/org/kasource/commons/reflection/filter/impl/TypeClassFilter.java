@@ -4,6 +4,7 @@ import java.lang.reflect.Field;
 
 import org.kasource.commons.reflection.filter.ClassFilter;
 import org.kasource.commons.reflection.filter.FieldFilter;
+import org.kasource.commons.reflection.filter.FilterCost;
 
 
 /**
@@ -31,6 +32,16 @@ public class TypeClassFilter implements ClassFilter, FieldFilter {
         return classFilter.apply(clazz);
     }
 
+    @Override
+    public boolean isCacheable() {
+        return classFilter.isCacheable();
+    }
+
+    @Override
+    public FilterCost getCost() {
+        return FilterCost.LOW.max(classFilter.getCost());
+    }
+
     @Override
     public String describe() {
         return "type matches class filter: " + classFilter.describe();
@@ -0,0 +1,165 @@
+package org.kasource.commons.reflection.processor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Annotation processor writing an index of the classes compiled to {@link #INDEX_RESOURCE}.
+ * <p>
+ * The index holds the super class, the directly implemented interfaces and the class annotations (of CLASS or
+ * RUNTIME retention) of every named class compiled. The {@link org.kasource.commons.reflection.util.AnnotationScanner}
+ * reads the index of an archive instead of scanning the byte code of its classes.
+ * <p>
+ * The processor is not registered as a service, it's only run when enabled explicitly, either with the javac
+ * option <code>-processor org.kasource.commons.reflection.processor.ClassIndexProcessor</code> or by listing it
+ * in the <code>annotationProcessors</code> (or <code>annotationProcessorPaths</code>) of the maven-compiler-plugin.
+ * Anonymous and local classes are not indexed.
+ * <p>
+ * The scanner only trusts the index of an archive if it holds every class of the archive, so an index left
+ * incomplete by an incremental compilation, or by classes not compiled by javac, makes the scanner fall back to
+ * scanning the archive.
+ * <p>
+ * The index is a UTF-8 text file with one line per class: the binary name of the class, its super class,
+ * its interfaces and its annotations separated by space. Names in a list are separated by comma and a missing
+ * value is written as -.
+ *
+ * @author rikardwi
+ **/
+@SupportedAnnotationTypes("*")
+public class ClassIndexProcessor extends AbstractProcessor {
+    /**
+     * Resource name of the class index.
+     **/
+    public static final String INDEX_RESOURCE = "META-INF/ka-commons-reflection/class.index";
+    /**
+     * Value written for a missing super class, interface list or annotation list.
+     **/
+    public static final String NONE = "-";
+
+    private final Map<String, String> entries = new TreeMap<>();
+    private boolean existingIndexRead;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (!existingIndexRead) {
+            readExistingIndex();
+            existingIndexRead = true;
+        }
+        for (Element element : roundEnv.getRootElements()) {
+            addType(element);
+        }
+        if (roundEnv.processingOver()) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    /**
+     * Keeps the entries of an index written by an earlier (incremental) compilation, for the classes which
+     * still exists.
+     **/
+    private void readExistingIndex() {
+        try {
+            FileObject resource = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", INDEX_RESOURCE);
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(resource.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String className = line.split(" ", 2)[0];
+                    if (!line.isEmpty() && processingEnv.getElementUtils().getTypeElement(className.replace('$', '.')) != null) {
+                        entries.put(className, line);
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            entries.clear();
+        }
+    }
+
+    private void addType(Element element) {
+        if (!element.getKind().isClass() && !element.getKind().isInterface()) {
+            return;
+        }
+        TypeElement type = (TypeElement) element;
+        String className = binaryName(type);
+        String superClass = element.getKind().isInterface() ? null : binaryName(type.getSuperclass());
+        String interfaces = join(type.getInterfaces().stream().map(this::binaryName).collect(Collectors.toList()));
+        String classAnnotations = join(type.getAnnotationMirrors().stream()
+                .filter(this::isRetained)
+                .map(a -> binaryName(a.getAnnotationType()))
+                .collect(Collectors.toList()));
+        entries.put(className, className + ' ' + (superClass == null ? NONE : superClass) + ' ' + interfaces + ' ' + classAnnotations);
+        for (Element enclosed : type.getEnclosedElements()) {
+            addType(enclosed);
+        }
+    }
+
+    private boolean isRetained(AnnotationMirror annotation) {
+        Retention retention = annotation.getAnnotationType().asElement().getAnnotation(Retention.class);
+        return retention == null || retention.value() != RetentionPolicy.SOURCE;
+    }
+
+    private String binaryName(TypeElement type) {
+        return processingEnv.getElementUtils().getBinaryName(type).toString();
+    }
+
+    private String binaryName(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        return binaryName((TypeElement) ((DeclaredType) type).asElement());
+    }
+
+    private String join(List<String> names) {
+        names.removeIf(n -> n == null);
+        return names.isEmpty() ? NONE : String.join(",", names);
+    }
+
+    private void writeIndex() {
+        if (entries.isEmpty()) {
+            return;
+        }
+        try {
+            FileObject resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_RESOURCE);
+            try (Writer writer = new OutputStreamWriter(resource.openOutputStream(), StandardCharsets.UTF_8)) {
+                for (String entry : entries.values()) {
+                    writer.write(entry);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Could not write " + INDEX_RESOURCE + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package org.kasource.commons.reflection.util;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Member;
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Index of the annotations present on a class and its members, as bit sets of annotation ids.
+ * <p>
+ * Each annotation type is assigned a small integer id the first time it's seen. The index holds, for the
+ * class and for each method, field and constructor declared by the class, one bit set of the annotations
+ * present and one bit set of the meta annotations of the annotations declared. Meta annotations are resolved
+ * transitively: the closure of each annotation type is computed once and cached, so a deep hierarchy of
+ * stereotype annotations costs no more to test than a single level. The annotations present on the
+ * class or any of its super classes are only resolved on the first call to {@link #isPresentInHierarchy(int)},
+ * so looking up the annotations of a member does not index the super classes. Testing for an annotation is then
+ * a bit test, instead of a call to the JDK annotation API which synchronizes and copies arrays.
+ * <p>
+ * The index is created once per class, see {@link ClassMetadata#getAnnotationIndex()}, and is immutable once
+ * the hierarchy annotations are resolved.
+ *
+ * @author rikardwi
+ **/
+final class AnnotationIndex {
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+    private static final ClassValue<Integer> IDS = new ClassValue<Integer>() {
+        @Override
+        protected Integer computeValue(Class<?> type) {
+            return NEXT_ID.getAndIncrement();
+        }
+    };
+    private static final ClassValue<BitSet> META_ANNOTATIONS = new ClassValue<BitSet>() {
+        @Override
+        protected BitSet computeValue(Class<?> type) {
+            return closureOf(type);
+        }
+    };
+    private static final Bits NO_ANNOTATIONS = new Bits(new BitSet(), new BitSet());
+
+    private final ClassMetadata metadata;
+    private final Bits classAnnotations;
+    private volatile BitSet hierarchyAnnotations;
+    private final Map<Member, Bits> memberAnnotations = new HashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param metadata The meta data of the class to index.
+     **/
+    AnnotationIndex(final ClassMetadata metadata) {
+        this.metadata = metadata;
+        Class<?> type = metadata.getType();
+        this.classAnnotations = bitsOf(type.getAnnotations(), type.getDeclaredAnnotations());
+        index(metadata.getDeclaredMethods());
+        index(metadata.getDeclaredFields());
+        index(metadata.getDeclaredConstructors());
+    }
+
+    /**
+     * Returns the id of an annotation type.
+     *
+     * @param annotation The annotation type.
+     *
+     * @return the id of annotation.
+     **/
+    static int idOf(Class<? extends Annotation> annotation) {
+        return IDS.get(annotation);
+    }
+
+    /**
+     * Returns the annotation bits of a class, method, field or constructor.
+     *
+     * @param element The element to return the annotation bits of.
+     *
+     * @return the annotation bits of element, or null if element is of any other kind or not indexed.
+     **/
+    static Bits bitsOf(AnnotatedElement element) {
+        if (element instanceof Class) {
+            return ClassMetadata.of((Class<?>) element).getAnnotationIndex().classAnnotations;
+        }
+        if (element instanceof Member && ((Member) element).getDeclaringClass() != null) {
+            Member member = (Member) element;
+            return ClassMetadata.of(member.getDeclaringClass()).getAnnotationIndex().memberAnnotations.get(member);
+        }
+        return null;
+    }
+
+    /**
+     * Returns true if an annotation type is annotated with a meta annotation, either directly or through
+     * any of its annotations, at any depth.
+     *
+     * @param annotationType The annotation type.
+     * @param id             Id of the meta annotation.
+     *
+     * @return true if annotationType is transitively annotated with the meta annotation.
+     **/
+    static boolean isMetaAnnotation(Class<? extends Annotation> annotationType, int id) {
+        return META_ANNOTATIONS.get(annotationType).get(id);
+    }
+
+    /**
+     * Returns true if the annotation is present on the class or any of its super classes.
+     *
+     * @param id Id of the annotation.
+     *
+     * @return true if the annotation is present on the class or any of its super classes.
+     **/
+    boolean isPresentInHierarchy(int id) {
+        return getHierarchyAnnotations().get(id);
+    }
+
+    /**
+     * Returns the annotations present on the class or any of its super classes, resolving them on first use.
+     * Concurrent callers may resolve the bits more than once, which is harmless as the result is the same.
+     **/
+    private BitSet getHierarchyAnnotations() {
+        BitSet result = hierarchyAnnotations;
+        if (result == null) {
+            ClassMetadata superClass = metadata.getSuperClass();
+            BitSet superAnnotations = superClass == null
+                    ? null : superClass.getAnnotationIndex().getHierarchyAnnotations();
+            if (superAnnotations == null || superAnnotations.isEmpty()) {
+                result = classAnnotations.annotations;
+            } else {
+                result = (BitSet) classAnnotations.annotations.clone();
+                result.or(superAnnotations);
+            }
+            hierarchyAnnotations = result;
+        }
+        return result;
+    }
+
+    private <M extends AnnotatedElement & Member> void index(M[] members) {
+        for (M member : members) {
+            Annotation[] annotations = member.getDeclaredAnnotations();
+            memberAnnotations.put(member, annotations.length == 0 ? NO_ANNOTATIONS : bitsOf(annotations, annotations));
+        }
+    }
+
+    private static Bits bitsOf(Annotation[] annotations, Annotation... declaredAnnotations) {
+        if (annotations.length == 0) {
+            return NO_ANNOTATIONS;
+        }
+        BitSet metaAnnotations = new BitSet();
+        for (Annotation annotation : declaredAnnotations) {
+            metaAnnotations.or(META_ANNOTATIONS.get(annotation.annotationType()));
+        }
+        return new Bits(idsOf(annotations), metaAnnotations);
+    }
+
+    private static BitSet idsOf(Annotation... annotations) {
+        BitSet ids = new BitSet();
+        for (Annotation annotation : annotations) {
+            ids.set(idOf(annotation.annotationType()));
+        }
+        return ids;
+    }
+
+    /**
+     * Returns the ids of all annotations reachable from the annotations of type, following the annotations
+     * of each annotation type found. Each annotation type is visited once, which protects against cycles
+     * such as {@link java.lang.annotation.Documented} and {@link java.lang.annotation.Retention} which
+     * annotates themselves.
+     **/
+    private static BitSet closureOf(Class<?> type) {
+        BitSet ids = new BitSet();
+        Set<Class<?>> visited = new HashSet<>();
+        Deque<Class<?>> queue = new ArrayDeque<>();
+        queue.add(type);
+        visited.add(type);
+        while (!queue.isEmpty()) {
+            for (Annotation annotation : queue.poll().getDeclaredAnnotations()) {
+                Class<? extends Annotation> annotationType = annotation.annotationType();
+                ids.set(idOf(annotationType));
+                if (visited.add(annotationType)) {
+                    queue.add(annotationType);
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * The annotations of a single element.
+     **/
+    static final class Bits {
+        private final BitSet annotations;
+        private final BitSet metaAnnotations;
+
+        Bits(final BitSet annotations, final BitSet metaAnnotations) {
+            this.annotations = annotations;
+            this.metaAnnotations = metaAnnotations;
+        }
+
+        /**
+         * @param id Id of the annotation.
+         * @return true if the annotation is present on the element.
+         **/
+        boolean isPresent(int id) {
+            return annotations.get(id);
+        }
+
+        /**
+         * @param id Id of the meta annotation.
+         * @return true if any annotation declared on the element is annotated with the meta annotation, at any depth.
+         **/
+        boolean isMetaPresent(int id) {
+            return metaAnnotations.get(id);
+        }
+    }
+}
@@ -1,29 +1,81 @@
 package org.kasource.commons.reflection.util;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.annotation.Annotation;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
-import org.scannotation.AnnotationDB;
 import org.scannotation.ClasspathUrlFinder;
 
 
 /**
  * Class for scanning classpath after annotated classes.
+ * <p>
+ * Use {@link #scan(String)} to read each archive once and run any number of annotation and super type queries
+ * on the resulting {@link ClassPathIndex}. Archives are scanned in parallel using the executor supplied, or the
+ * common fork join pool by default.
+ * <p>
+ * If an index file is supplied the index of each jar file scanned is stored in that file, and reused by later
+ * scans as long as the jar file is unchanged. Only jar files which are new or has changed since the index
+ * file was written are scanned, directories are always scanned.
+ * <p>
+ * Archives which contains an index generated at build time by the
+ * {@link org.kasource.commons.reflection.processor.ClassIndexProcessor} are not scanned if the generated index
+ * holds every class of the archive, the generated index is read instead. Archives with an incomplete index are
+ * scanned as any other archive.
  *
  * @author rikardwi
  **/
 public class AnnotationScanner {
+    private final Executor executor;
+    private final Path indexFile;
 
+    /**
+     * Constructor, scans archives using the common fork join pool.
+     **/
+    public AnnotationScanner() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param executor Executor to scan archives with, each archive is scanned in a task of its own.
+     **/
+    public AnnotationScanner(final Executor executor) {
+        this(executor, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param executor  Executor to scan archives with, each archive is scanned in a task of its own.
+     * @param indexFile File to store the index of scanned jar files in, created if missing.
+     **/
+    public AnnotationScanner(final Executor executor, final Path indexFile) {
+        this.executor = executor;
+        this.indexFile = indexFile;
+    }
 
     /**
      * Scan classpath for packages matching scanPath for classes annotated with the supplied annotationClass that
      * extends or implements the supplied ofType.
+     * <p>
+     * Scans the class path on every invocation, use {@link #scan(String)} to run several queries on the same scan.
      *
      * @param <T>             Type of class to find
      * @param scanPath        Comma separated list of packages to scan for classes.
@@ -37,107 +89,118 @@ public class AnnotationScanner {
     public <T> Set<Class<? extends T>> findAnnotatedClasses(String scanPath,
                                                             Class<? extends Annotation> annotationClass,
                                                             Class<T> ofType) throws IOException {
-        Set<Class<? extends T>> classes = new HashSet<>();
-        String packagesToScan = scanPath;
-        if (packagesToScan.contains(".")) {
-            packagesToScan = packagesToScan.replace('.', '/');
-        }
-        String[] scanPaths = packagesToScan.split(",");
-
-        String includeRegExp = buildIncludeRegExp(scanPaths);
-        URL[] urls = resolverUrls(scanPaths);
-
-        Map<String, Set<String>> annotationIndex = scanForAnnotatedClasses(urls);
-        Set<String> classNames = annotationIndex.get(annotationClass.getName());
-        if (classNames != null) {
-            for (String className : classNames) {
-                addClass(classes, includeRegExp, className, ofType, annotationClass);
-            }
-        }
-
-        return classes;
-
+        return scan(scanPath).findAnnotatedClasses(annotationClass, ofType);
     }
 
-
     /**
-     * Adds matching classes to the resulting set of classes.
+     * Scans the archives containing the packages in scanPath and returns an index of the classes found.
+     * <p>
+     * Each archive is read once, in parallel. Jar files which are unchanged since stored in the index
+     * file (if any) are not read.
      *
-     * @param classes          The resulting set of classes
-     * @param includeRegExp    Regular Expression of classes to include
-     * @param className        Name of the class to evaluate
-     * @param ofType           The type the class should extend
-     * @param annotationClass  The annotation to scan for
-     * @param <T>   The base type of classes to scan for.
-     */
-    @SuppressWarnings("unchecked")
-    private <T> void addClass(Set<Class<? extends T>> classes,
-                              String includeRegExp,
-                              String className,
-                              Class<T> ofType,
-                              Class<? extends Annotation> annotationClass) {
-        if (className.matches(includeRegExp)) {
-            try {
-                Class<?> matchingClass = Class.forName(className);
-                matchingClass.asSubclass(ofType);
-
-                classes.add((Class<T>) matchingClass);
-            } catch (ClassNotFoundException cnfe) {
-                throw new IllegalStateException("Scannotation found a class that does not exist " + className + " !", cnfe);
-            } catch (ClassCastException cce) {
-                throw new IllegalStateException("Class " + className
-                        + " is annoted with @" + annotationClass + " but does not extend or implement  "
-                        + ofType, cce);
-            }
+     * @param scanPath Comma separated list of packages to scan for classes.
+     * @return index of the classes found in the packages of scanPath.
+     * @throws IOException If exception occurred while accessing class path or writing the index file.
+     **/
+    public ClassPathIndex scan(String scanPath) throws IOException {
+        String[] packages = Arrays.stream(scanPath.split(","))
+                .map(p -> p.trim().replace('/', '.'))
+                .toArray(String[]::new);
+        ArchiveIndexFile archiveIndexFile = indexFile == null ? null : ArchiveIndexFile.load(indexFile);
+        List<ArchiveIndex> archives = scanArchives(archiveIndexFile, resolverUrls(packages));
+        if (archiveIndexFile != null) {
+            archiveIndexFile.save();
         }
+        return new ClassPathIndex(archives, packages);
     }
 
-
     /**
-     * Returns the URLs which has classes from scanPaths.
+     * Returns the URLs which has classes from packages, without duplicates.
      *
-     * @param scanPaths Comma separated list of package names.
-     * @return URLs matching classes in scanPaths.
+     * @param packages Package names.
+     * @return URLs matching classes in packages.
      **/
-    private URL[] resolverUrls(String... scanPaths) {
-        return Arrays.stream(scanPaths)
-                .map(s -> ClasspathUrlFinder.findResourceBases(s.trim()))
+    private URL[] resolverUrls(String... packages) {
+        Map<String, URL> urls = new LinkedHashMap<>();
+        Arrays.stream(packages)
+                .map(p -> ClasspathUrlFinder.findResourceBases(p.replace('.', '/')))
                 .flatMap(a -> Arrays.stream(a))
-                .toArray(URL[]::new);
+                .forEach(u -> urls.putIfAbsent(u.toExternalForm(), u));
+        return urls.values().toArray(new URL[0]);
     }
 
     /**
-     * Returns a regular expression of acceptable package names.
+     * Scans archives in parallel.
      *
-     * @param scanPaths Comma separated list of package names.
-     * @return a regular expression of acceptable package names.
+     * @param archiveIndexFile Stored jar file indexes, or null.
+     * @param urls             URLs of the archives to scan.
+     * @return Index of each archive.
+     * @throws IOException If exception occurs.
      **/
-    private String buildIncludeRegExp(String... scanPaths) {
-        return Arrays.stream(scanPaths)
-                .map(p -> p.trim()
-                        .replace("/", "\\.") + ".*|")
-                .collect(Collectors.joining(","));
+    private List<ArchiveIndex> scanArchives(ArchiveIndexFile archiveIndexFile, URL... urls) throws IOException {
+        List<CompletableFuture<ArchiveIndex>> scans = new ArrayList<>();
+        for (URL url : urls) {
+            scans.add(CompletableFuture.supplyAsync(() -> scanArchive(archiveIndexFile, url), executor));
+        }
+        List<ArchiveIndex> archives = new ArrayList<>();
+        try {
+            for (CompletableFuture<ArchiveIndex> scan : scans) {
+                archives.add(scan.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            } else if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        return archives;
+    }
 
+    private ArchiveIndex scanArchive(ArchiveIndexFile archiveIndexFile, URL url) {
+        try {
+            ArchiveIndex generated = ArchiveIndex.readGenerated(url);
+            if (generated != null) {
+                return generated;
+            }
+            File jarFile = archiveIndexFile == null ? null : toJarFile(url);
+            if (jarFile == null) {
+                return ArchiveIndex.scan(url);
+            }
+            ArchiveIndexFile.Key key = ArchiveIndexFile.Key.of(jarFile);
+            ArchiveIndex index = archiveIndexFile.get(key);
+            if (index == null) {
+                index = ArchiveIndex.scan(url);
+                archiveIndexFile.put(key, index);
+            }
+            return index;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     /**
-     * Scans for classes in URLs.
-     *
-     * @param urls URLs to scan for annotated classes.
-     * @return Map of annotated classes found.
-     * @throws IOException If exception occurs.
+     * Returns the local jar file of url, or null if url is not a local jar file.
      **/
-    private Map<String, Set<String>> scanForAnnotatedClasses(URL... urls) throws IOException {
-        AnnotationDB db = new AnnotationDB();
-        db.setScanClassAnnotations(true);
-        db.setScanFieldAnnotations(false);
-        db.setScanMethodAnnotations(false);
-        db.setScanParameterAnnotations(false);
-
-        db.scanArchives(urls);
-        return db.getAnnotationIndex();
-
+    private File toJarFile(URL url) {
+        try {
+            URL fileUrl = url;
+            if ("jar".equals(url.getProtocol())) {
+                String path = url.getPath();
+                int separator = path.indexOf("!/");
+                if (separator < 0 || separator + 2 != path.length()) {
+                    return null;
+                }
+                fileUrl = new URL(path.substring(0, separator));
+            }
+            if (!"file".equals(fileUrl.getProtocol())) {
+                return null;
+            }
+            File file = new File(fileUrl.toURI());
+            return file.isFile() ? file : null;
+        } catch (MalformedURLException | URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
     }
-
-
 }
@@ -1,6 +1,7 @@
 package org.kasource.commons.reflection.util;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 
@@ -23,18 +24,53 @@ public final class AnnotationUtils {
      * @return true if the supplied annotation is present on the target class
      * or any of its super classes.
      **/
-    @SuppressWarnings("PMD.AssignmentInOperand")
     public static boolean isAnnotationPresent(Class<?> target, Class<? extends Annotation> annotation) {
-        Class<?> clazz = target;
-        if (clazz.isAnnotationPresent(annotation)) {
-            return true;
+        return ClassMetadata.of(target).getAnnotationIndex().isPresentInHierarchy(AnnotationIndex.idOf(annotation));
+    }
+
+    /**
+     * Returns true if annotation is present on element, as {@link AnnotatedElement#isAnnotationPresent(Class)}.
+     * <p>
+     * The annotations of classes, methods, fields and constructors are looked up in an index which is
+     * created once per class.
+     *
+     * @param element    The element to inspect.
+     * @param annotation The annotation to look for.
+     *
+     * @return true if annotation is present on element.
+     **/
+    public static boolean isAnnotated(AnnotatedElement element, Class<? extends Annotation> annotation) {
+        AnnotationIndex.Bits bits = AnnotationIndex.bitsOf(element);
+        if (bits == null) {
+            return element.isAnnotationPresent(annotation);
         }
-        while ((clazz = clazz.getSuperclass()) != null) {
-            if (clazz.isAnnotationPresent(annotation)) {
-                return true;
+        return bits.isPresent(AnnotationIndex.idOf(annotation));
+    }
+
+    /**
+     * Returns true if any annotation declared on element is annotated with metaAnnotation, either directly
+     * or through a chain of annotations such as stereotypes annotated with other stereotypes.
+     * <p>
+     * The annotations of classes, methods, fields and constructors are looked up in an index which is
+     * created once per class, and the meta annotations of each annotation type are resolved once.
+     *
+     * @param element        The element to inspect.
+     * @param metaAnnotation The meta annotation to look for.
+     *
+     * @return true if any annotation declared on element is annotated with metaAnnotation, at any depth.
+     **/
+    public static boolean isMetaAnnotated(AnnotatedElement element, Class<? extends Annotation> metaAnnotation) {
+        AnnotationIndex.Bits bits = AnnotationIndex.bitsOf(element);
+        int id = AnnotationIndex.idOf(metaAnnotation);
+        if (bits == null) {
+            for (Annotation annotation : element.getDeclaredAnnotations()) {
+                if (AnnotationIndex.isMetaAnnotation(annotation.annotationType(), id)) {
+                    return true;
+                }
             }
+            return false;
         }
-        return false;
+        return bits.isMetaPresent(id);
     }
 
     /**
@@ -114,5 +150,78 @@ public final class AnnotationUtils {
                 .isPresent();
     }
 
+    /**
+     * Returns true if two annotation attribute values are equal, as specified by {@link Annotation#equals(Object)}.
+     * <p>
+     * Arrays are equal if their elements are equal, arrays of primitives are compared by their primitive type.
+     *
+     * @param value      Attribute value.
+     * @param otherValue Other attribute value.
+     *
+     * @return true if value and otherValue are equal.
+     **/
+    @SuppressWarnings("checkstyle:cyclomaticcomplexity")
+    public static boolean attributeValueEquals(Object value, Object otherValue) {
+        if (value == null || otherValue == null) {
+            return value == otherValue;
+        }
+        Class<?> type = value.getClass();
+        if (!type.isArray()) {
+            return value.equals(otherValue);
+        }
+        if (value instanceof Object[] && otherValue instanceof Object[]) {
+            return Arrays.equals((Object[]) value, (Object[]) otherValue);
+        }
+        if (otherValue.getClass() != type) {
+            return false;
+        }
+        if (type == byte[].class) {
+            return Arrays.equals((byte[]) value, (byte[]) otherValue);
+        } else if (type == char[].class) {
+            return Arrays.equals((char[]) value, (char[]) otherValue);
+        } else if (type == double[].class) {
+            return Arrays.equals((double[]) value, (double[]) otherValue);
+        } else if (type == float[].class) {
+            return Arrays.equals((float[]) value, (float[]) otherValue);
+        } else if (type == int[].class) {
+            return Arrays.equals((int[]) value, (int[]) otherValue);
+        } else if (type == long[].class) {
+            return Arrays.equals((long[]) value, (long[]) otherValue);
+        } else if (type == short[].class) {
+            return Arrays.equals((short[]) value, (short[]) otherValue);
+        }
+        return Arrays.equals((boolean[]) value, (boolean[]) otherValue);
+    }
 
+    /**
+     * Returns the hash code of an annotation attribute value, as specified by {@link Annotation#hashCode()}.
+     *
+     * @param value Attribute value.
+     *
+     * @return the hash code of value.
+     **/
+    @SuppressWarnings("checkstyle:cyclomaticcomplexity")
+    public static int attributeValueHashCode(Object value) {
+        Class<?> type = value.getClass();
+        if (!type.isArray()) {
+            return value.hashCode();
+        } else if (value instanceof Object[]) {
+            return Arrays.hashCode((Object[]) value);
+        } else if (type == byte[].class) {
+            return Arrays.hashCode((byte[]) value);
+        } else if (type == char[].class) {
+            return Arrays.hashCode((char[]) value);
+        } else if (type == double[].class) {
+            return Arrays.hashCode((double[]) value);
+        } else if (type == float[].class) {
+            return Arrays.hashCode((float[]) value);
+        } else if (type == int[].class) {
+            return Arrays.hashCode((int[]) value);
+        } else if (type == long[].class) {
+            return Arrays.hashCode((long[]) value);
+        } else if (type == short[].class) {
+            return Arrays.hashCode((short[]) value);
+        }
+        return Arrays.hashCode((boolean[]) value);
+    }
 }
@@ -0,0 +1,371 @@
+package org.kasource.commons.reflection.util;
+
+import java.io.BufferedReader;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+import javassist.bytecode.ClassFile;
+import org.kasource.commons.reflection.processor.ClassIndexProcessor;
+import org.scannotation.AnnotationDB;
+
+/**
+ * Index of the classes in a single archive (jar file or directory).
+ * <p>
+ * Holds the class annotations, super class and directly implemented interfaces of each class, by name,
+ * without loading any class. The index can be written to and read from a compact binary form, where each
+ * class name is written once to a table of names and referred to by its position in the table.
+ * <p>
+ * Archives compiled with the {@link ClassIndexProcessor} contains a generated index, which is read instead of
+ * scanning the archive when it holds every class of the archive, see {@link #readGenerated(URL)}.
+ *
+ * @author rikardwi
+ **/
+final class ArchiveIndex {
+    private static final String CLASS_FILE_SUFFIX = ".class";
+
+    private final Map<String, Set<String>> annotatedClasses;
+    private final Map<String, String> superClasses;
+    private final Map<String, Set<String>> interfaces;
+
+    /**
+     * Constructor.
+     *
+     * @param annotatedClasses Annotation name to names of classes annotated.
+     * @param superClasses     Class name to name of its super class.
+     * @param interfaces       Class name to names of the interfaces it directly implements.
+     **/
+    ArchiveIndex(final Map<String, Set<String>> annotatedClasses,
+                 final Map<String, String> superClasses,
+                 final Map<String, Set<String>> interfaces) {
+        this.annotatedClasses = annotatedClasses;
+        this.superClasses = superClasses;
+        this.interfaces = interfaces;
+    }
+
+    /**
+     * Scans an archive and returns its index.
+     *
+     * @param archive URL of the jar file or directory to scan.
+     *
+     * @return the index of archive.
+     * @throws IOException if the archive could not be read.
+     **/
+    static ArchiveIndex scan(URL archive) throws IOException {
+        ArchiveScanner scanner = new ArchiveScanner();
+        scanner.scanArchives(archive);
+        return new ArchiveIndex(scanner.getAnnotationIndex(), scanner.superClasses, scanner.interfaces);
+    }
+
+    /**
+     * Reads the index generated by the {@link ClassIndexProcessor} at build time from an archive.
+     *
+     * @param archive URL of the jar file or directory.
+     *
+     * @return the index read or null if archive does not contain a generated index, or if the generated index
+     * does not hold every class of archive.
+     * @throws IOException if the index could not be read.
+     **/
+    static ArchiveIndex readGenerated(URL archive) throws IOException {
+        URL resource = getGeneratedIndexUrl(archive);
+        try {
+            URLConnection connection = resource.openConnection();
+            connection.setUseCaches(false);
+            ArchiveIndex index;
+            try (Reader reader = new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8)) {
+                index = parse(reader);
+            }
+            return index.isCompleteFor(archive) ? index : null;
+        } catch (FileNotFoundException | NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns true if this index holds every class of archive.
+     * <p>
+     * A generated index may be incomplete: an incremental compilation may not have seen all sources, and classes
+     * compiled from other JVM languages or generated from byte code are never seen by the processor. The class
+     * file names of the archive are therefore listed, which is cheap compared to scanning the classes, and the
+     * index is only trusted if each class is indexed. Anonymous and local classes, which the processor cannot
+     * see, are not required to be indexed.
+     *
+     * @param archive URL of the jar file or directory.
+     *
+     * @return true if this index holds every class of archive, false if any class is missing or if archive
+     * could not be listed.
+     * @throws IOException if the archive could not be read.
+     **/
+    boolean isCompleteFor(URL archive) throws IOException {
+        if (!"file".equals(archive.getProtocol())) {
+            return false;
+        }
+        File file;
+        try {
+            file = new File(archive.toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return false;
+        }
+        if (file.isFile()) {
+            try (JarFile jarFile = new JarFile(file)) {
+                return jarFile.stream().allMatch(e -> isIndexed(e.getName()));
+            }
+        }
+        Path directory = file.toPath();
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files.filter(Files::isRegularFile)
+                    .allMatch(f -> isIndexed(directory.relativize(f).toString().replace(File.separatorChar, '/')));
+        }
+    }
+
+    private boolean isIndexed(String resourceName) {
+        if (!resourceName.endsWith(CLASS_FILE_SUFFIX) || resourceName.startsWith("META-INF/")) {
+            return true;
+        }
+        String className = resourceName.substring(0, resourceName.length() - CLASS_FILE_SUFFIX.length()).replace('/', '.');
+        if (className.endsWith("package-info") || className.endsWith("module-info") || isAnonymousOrLocal(className)) {
+            return true;
+        }
+        return interfaces.containsKey(className);
+    }
+
+    private static boolean isAnonymousOrLocal(String className) {
+        int dollar = className.indexOf('$');
+        while (dollar >= 0 && dollar < className.length() - 1) {
+            if (Character.isDigit(className.charAt(dollar + 1))) {
+                return true;
+            }
+            dollar = className.indexOf('$', dollar + 1);
+        }
+        return false;
+    }
+
+    private static URL getGeneratedIndexUrl(URL archive) throws IOException {
+        String base = archive.toExternalForm();
+        if ("file".equals(archive.getProtocol()) && isFile(archive)) {
+            base = "jar:" + base + "!/";
+        } else if (!base.endsWith("/")) {
+            base = base + "/";
+        }
+        return new URL(base + ClassIndexProcessor.INDEX_RESOURCE);
+    }
+
+    private static boolean isFile(URL url) {
+        try {
+            return new File(url.toURI()).isFile();
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Parses an index in the text format written by the {@link ClassIndexProcessor}.
+     *
+     * @param reader Reader to parse the index from.
+     *
+     * @return the index parsed.
+     * @throws IOException if the index could not be read or is malformed.
+     **/
+    static ArchiveIndex parse(Reader reader) throws IOException {
+        Map<String, Set<String>> annotatedClasses = new HashMap<>();
+        Map<String, String> superClasses = new HashMap<>();
+        Map<String, Set<String>> interfaces = new HashMap<>();
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        while ((line = lines.readLine()) != null) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            String[] fields = line.split(" ");
+            if (fields.length != 4) {
+                throw new IOException("Malformed class index entry: " + line);
+            }
+            String className = fields[0];
+            if (!ClassIndexProcessor.NONE.equals(fields[1])) {
+                superClasses.put(className, fields[1]);
+            }
+            interfaces.put(className, parseNames(fields[2]));
+            for (String annotation : parseNames(fields[3])) {
+                annotatedClasses.computeIfAbsent(annotation, a -> new HashSet<>()).add(className);
+            }
+        }
+        return new ArchiveIndex(annotatedClasses, superClasses, interfaces);
+    }
+
+    private static Set<String> parseNames(String names) {
+        if (ClassIndexProcessor.NONE.equals(names)) {
+            return Collections.emptySet();
+        }
+        return new HashSet<>(Arrays.asList(names.split(",")));
+    }
+
+    /**
+     * Reads an index written by {@link #write(DataOutput)}.
+     *
+     * @param in Input to read from.
+     *
+     * @return the index read.
+     * @throws IOException if the index could not be read.
+     **/
+    static ArchiveIndex read(DataInput in) throws IOException {
+        String[] names = new String[in.readInt()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = in.readUTF();
+        }
+        Map<String, Set<String>> annotatedClasses = readSets(in, names);
+        int numberOfSuperClasses = in.readInt();
+        Map<String, String> superClasses = new HashMap<>(numberOfSuperClasses * 2);
+        for (int i = 0; i < numberOfSuperClasses; i++) {
+            superClasses.put(names[in.readInt()], names[in.readInt()]);
+        }
+        Map<String, Set<String>> interfaces = readSets(in, names);
+        return new ArchiveIndex(annotatedClasses, superClasses, interfaces);
+    }
+
+    /**
+     * Writes this index in binary form.
+     *
+     * @param out Output to write to.
+     *
+     * @throws IOException if the index could not be written.
+     **/
+    void write(DataOutput out) throws IOException {
+        Map<String, Integer> names = new LinkedHashMap<>();
+        addNames(names, annotatedClasses);
+        for (Map.Entry<String, String> superClass : superClasses.entrySet()) {
+            addName(names, superClass.getKey());
+            addName(names, superClass.getValue());
+        }
+        addNames(names, interfaces);
+        out.writeInt(names.size());
+        for (String name : names.keySet()) {
+            out.writeUTF(name);
+        }
+        writeSets(out, names, annotatedClasses);
+        out.writeInt(superClasses.size());
+        for (Map.Entry<String, String> superClass : superClasses.entrySet()) {
+            out.writeInt(names.get(superClass.getKey()));
+            out.writeInt(names.get(superClass.getValue()));
+        }
+        writeSets(out, names, interfaces);
+    }
+
+    private static void addNames(Map<String, Integer> names, Map<String, Set<String>> sets) {
+        for (Map.Entry<String, Set<String>> entry : sets.entrySet()) {
+            addName(names, entry.getKey());
+            for (String name : entry.getValue()) {
+                addName(names, name);
+            }
+        }
+    }
+
+    private static void addName(Map<String, Integer> names, String name) {
+        names.putIfAbsent(name, names.size());
+    }
+
+    private static void writeSets(DataOutput out, Map<String, Integer> names, Map<String, Set<String>> sets)
+            throws IOException {
+        out.writeInt(sets.size());
+        for (Map.Entry<String, Set<String>> entry : sets.entrySet()) {
+            out.writeInt(names.get(entry.getKey()));
+            out.writeInt(entry.getValue().size());
+            for (String name : entry.getValue()) {
+                out.writeInt(names.get(name));
+            }
+        }
+    }
+
+    private static Map<String, Set<String>> readSets(DataInput in, String[] names) throws IOException {
+        int numberOfSets = in.readInt();
+        Map<String, Set<String>> sets = new HashMap<>(numberOfSets * 2);
+        for (int i = 0; i < numberOfSets; i++) {
+            String key = names[in.readInt()];
+            int size = in.readInt();
+            if (size == 0) {
+                sets.put(key, Collections.emptySet());
+            } else {
+                List<String> values = new ArrayList<>(size);
+                for (int j = 0; j < size; j++) {
+                    values.add(names[in.readInt()]);
+                }
+                sets.put(key, new HashSet<>(values));
+            }
+        }
+        return sets;
+    }
+
+    /**
+     * @return annotation name to names of classes annotated.
+     **/
+    Map<String, Set<String>> getAnnotatedClasses() {
+        return annotatedClasses;
+    }
+
+    /**
+     * @return class name to name of its super class, interfaces and java.lang.Object has no super class.
+     **/
+    Map<String, String> getSuperClasses() {
+        return superClasses;
+    }
+
+    /**
+     * @return class name to names of the interfaces directly implemented (or extended) by the class.
+     **/
+    Map<String, Set<String>> getInterfaces() {
+        return interfaces;
+    }
+
+    /**
+     * Scans class annotations, and records the super types of each class scanned.
+     **/
+    private static final class ArchiveScanner extends AnnotationDB {
+        private static final long serialVersionUID = 1L;
+
+        private final Map<String, String> superClasses = new HashMap<>();
+        private final Map<String, Set<String>> interfaces = new HashMap<>();
+
+        ArchiveScanner() {
+            setScanClassAnnotations(true);
+            setScanFieldAnnotations(false);
+            setScanMethodAnnotations(false);
+            setScanParameterAnnotations(false);
+        }
+
+        @Override
+        protected void scanClass(ClassFile classFile) {
+            super.scanClass(classFile);
+            String className = classFile.getName();
+            if (!classFile.isInterface() && classFile.getSuperclass() != null && !className.equals(Object.class.getName())) {
+                superClasses.put(className, classFile.getSuperclass());
+            }
+            String[] implemented = classFile.getInterfaces();
+            if (implemented != null && implemented.length > 0) {
+                interfaces.put(className, new HashSet<>(Arrays.asList(implemented)));
+            } else {
+                interfaces.put(className, Collections.emptySet());
+            }
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package org.kasource.commons.reflection.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * File storing the {@link ArchiveIndex} of jar files, used to avoid scanning jar files which has not changed
+ * since the index was written.
+ * <p>
+ * Each jar file is keyed by its path, size, last modified time and a content hash. The content hash is a
+ * SHA-256 digest of the central directory of the jar file, which holds the name, size and CRC-32 of every
+ * entry, so only the tail of each jar file is read to validate an index.
+ * <p>
+ * The file is a cache: a file which is missing, corrupt or written by another version is ignored and the jar
+ * files are scanned again.
+ *
+ * @author rikardwi
+ **/
+final class ArchiveIndexFile {
+    private static final int MAGIC = 0x4B414958;
+    private static final int VERSION = 1;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054B50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+    private static final int MAX_COMMENT_SIZE = 0xFFFF;
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Path file;
+    private final ConcurrentMap<String, Entry> entries;
+    private volatile boolean modified;
+
+    private ArchiveIndexFile(final Path file, final ConcurrentMap<String, Entry> entries) {
+        this.file = file;
+        this.entries = entries;
+    }
+
+    /**
+     * Loads an index file, returns an empty index file if file does not exist or could not be read.
+     *
+     * @param file The index file.
+     *
+     * @return the index file loaded.
+     **/
+    static ArchiveIndexFile load(Path file) {
+        ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() == MAGIC && in.readInt() == VERSION) {
+                int numberOfEntries = in.readInt();
+                for (int i = 0; i < numberOfEntries; i++) {
+                    Key key = Key.read(in);
+                    entries.put(key.path, new Entry(key, ArchiveIndex.read(in)));
+                }
+                return new ArchiveIndexFile(file, entries);
+            }
+        } catch (NoSuchFileException e) {
+            return new ArchiveIndexFile(file, entries);
+        } catch (IOException | RuntimeException e) {
+            entries.clear();
+        }
+        ArchiveIndexFile indexFile = new ArchiveIndexFile(file, entries);
+        indexFile.modified = true;
+        return indexFile;
+    }
+
+    /**
+     * Returns the stored index of an archive.
+     *
+     * @param key Key of the archive.
+     *
+     * @return the stored index of the archive or null if no index is stored or the archive has changed.
+     **/
+    ArchiveIndex get(Key key) {
+        Entry entry = entries.get(key.path);
+        return entry != null && entry.key.equals(key) ? entry.index : null;
+    }
+
+    /**
+     * Stores the index of an archive.
+     *
+     * @param key   Key of the archive.
+     * @param index Index of the archive.
+     **/
+    void put(Key key, ArchiveIndex index) {
+        entries.put(key.path, new Entry(key, index));
+        modified = true;
+    }
+
+    /**
+     * Writes the index file if any index has been stored since loaded.
+     * <p>
+     * Indexes of archives which no longer exists are removed. The file is written to a temporary file which
+     * is then moved in place, so that a concurrent reader never reads a partially written file.
+     *
+     * @throws IOException if the file could not be written.
+     **/
+    void save() throws IOException {
+        if (entries.values().removeIf(e -> !new File(e.key.path).isFile())) {
+            modified = true;
+        }
+        if (!modified) {
+            return;
+        }
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporaryFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                Entry[] toWrite = entries.values().toArray(new Entry[0]);
+                out.writeInt(toWrite.length);
+                for (Entry entry : toWrite) {
+                    entry.key.write(out);
+                    entry.index.write(out);
+                }
+            }
+            try {
+                Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            modified = false;
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    /**
+     * Stored index of an archive.
+     **/
+    static final class Entry {
+        private final Key key;
+        private final ArchiveIndex index;
+
+        Entry(final Key key, final ArchiveIndex index) {
+            this.key = key;
+            this.index = index;
+        }
+    }
+
+    /**
+     * Identifies the content of a jar file by its path, size, last modified time and content hash.
+     **/
+    static final class Key {
+        private final String path;
+        private final long size;
+        private final long lastModified;
+        private final byte[] hash;
+
+        private Key(final String path, final long size, final long lastModified, final byte[] hash) {
+            this.path = path;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.hash = hash;
+        }
+
+        /**
+         * Returns the key of a jar file.
+         *
+         * @param jarFile The jar file.
+         *
+         * @return the key of jarFile.
+         * @throws IOException if jarFile could not be read.
+         **/
+        static Key of(File jarFile) throws IOException {
+            File file = jarFile.getAbsoluteFile();
+            long lastModified = file.lastModified();
+            try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+                long size = in.length();
+                return new Key(file.getPath(), size, lastModified, hash(file, in, size));
+            }
+        }
+
+        /**
+         * Returns the SHA-256 digest of the central directory of a jar file, or of the whole file if the
+         * central directory can't be located.
+         **/
+        private static byte[] hash(File file, RandomAccessFile in, long size) throws IOException {
+            MessageDigest digest = newDigest();
+            int tailSize = (int) Math.min(size, END_OF_CENTRAL_DIRECTORY_SIZE + MAX_COMMENT_SIZE);
+            byte[] tail = new byte[tailSize];
+            in.seek(size - tailSize);
+            in.readFully(tail);
+            for (int i = tailSize - END_OF_CENTRAL_DIRECTORY_SIZE; i >= 0; i--) {
+                if (readInt(tail, i) == END_OF_CENTRAL_DIRECTORY_SIGNATURE) {
+                    long directorySize = readInt(tail, i + 12) & 0xFFFFFFFFL;
+                    long directoryOffset = readInt(tail, i + 16) & 0xFFFFFFFFL;
+                    if (directoryOffset + directorySize <= size - tailSize + i) {
+                        byte[] directory = new byte[(int) directorySize];
+                        in.seek(directoryOffset);
+                        in.readFully(directory);
+                        return digest.digest(directory);
+                    }
+                    break;
+                }
+            }
+            try (InputStream content = new DigestInputStream(Files.newInputStream(file.toPath()), digest)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                while (content.read(buffer) >= 0) {
+                    continue;
+                }
+            }
+            return digest.digest();
+        }
+
+        private static int readInt(byte[] bytes, int offset) {
+            return (bytes[offset] & 0xFF)
+                    | (bytes[offset + 1] & 0xFF) << 8
+                    | (bytes[offset + 2] & 0xFF) << 16
+                    | (bytes[offset + 3] & 0xFF) << 24;
+        }
+
+        private static MessageDigest newDigest() {
+            try {
+                return MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not supported", e);
+            }
+        }
+
+        private static Key read(DataInputStream in) throws IOException {
+            String path = in.readUTF();
+            long size = in.readLong();
+            long lastModified = in.readLong();
+            byte[] hash = new byte[in.readUnsignedShort()];
+            in.readFully(hash);
+            return new Key(path, size, lastModified, hash);
+        }
+
+        private void write(DataOutputStream out) throws IOException {
+            out.writeUTF(path);
+            out.writeLong(size);
+            out.writeLong(lastModified);
+            out.writeShort(hash.length);
+            out.write(hash);
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (!(object instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) object;
+            return size == other.size
+                    && lastModified == other.lastModified
+                    && path.equals(other.path)
+                    && Arrays.equals(hash, other.hash);
+        }
+
+        @Override
+        public int hashCode() {
+            return path.hashCode() * 31 + Long.hashCode(size);
+        }
+    }
+}
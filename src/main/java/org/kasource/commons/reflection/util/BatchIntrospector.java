@@ -0,0 +1,246 @@
+package org.kasource.commons.reflection.util;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Predicate;
+
+import org.kasource.commons.reflection.filter.ConstructorFilter;
+import org.kasource.commons.reflection.filter.FieldFilter;
+import org.kasource.commons.reflection.filter.MethodFilter;
+
+/**
+ * Introspects many classes at once with the same method, field and constructor filters.
+ * <p>
+ * The methods and fields matched are, as for {@link MethodUtils#getMethods(Class, MethodFilter)} and
+ * {@link FieldUtils#getFields(Class, FieldFilter)}, the members declared by a class and all its super classes.
+ * The matches of each class are resolved once per batch and shared by all its sub classes, so the members of
+ * a common super class (for example Object) are filtered only once no matter how many classes extend it.
+ * The constructors matched are the constructors declared by each class.
+ * <p>
+ * Each filter is applied once to each member during a batch (when run in parallel two threads may race to
+ * resolve the same super class), filters passed must therefore not depend on the class being introspected.
+ * <p>
+ * Example:
+ * <pre>
+ * BatchIntrospector introspector = new BatchIntrospector(
+ *         new MethodFilterBuilder().annotated(PostConstruct.class).build(),
+ *         new FieldFilterBuilder().annotated(Inject.class).build(),
+ *         null);
+ * Map&lt;Class&lt;?&gt;, BatchIntrospector.Result&gt; results = introspector.introspect(scannedClasses, ForkJoinPool.commonPool());
+ * </pre>
+ *
+ * @author rikardwi
+ **/
+public class BatchIntrospector {
+    private static final Method[] NO_METHODS = new Method[0];
+    private static final Field[] NO_FIELDS = new Field[0];
+    private static final Members NO_MEMBERS = new Members(NO_METHODS, NO_FIELDS);
+
+    private final MethodFilter methodFilter;
+    private final FieldFilter fieldFilter;
+    private final ConstructorFilter constructorFilter;
+
+    /**
+     * Constructor.
+     *
+     * @param methodFilter      Filter for methods, null to not introspect methods.
+     * @param fieldFilter       Filter for fields, null to not introspect fields.
+     * @param constructorFilter Filter for constructors, null to not introspect constructors.
+     **/
+    public BatchIntrospector(final MethodFilter methodFilter,
+                             final FieldFilter fieldFilter,
+                             final ConstructorFilter constructorFilter) {
+        this.methodFilter = methodFilter;
+        this.fieldFilter = fieldFilter;
+        this.constructorFilter = constructorFilter;
+    }
+
+    /**
+     * Introspects classes in the calling thread.
+     *
+     * @param classes The classes to introspect.
+     *
+     * @return the result of each class in classes.
+     **/
+    public Map<Class<?>, Result> introspect(Collection<? extends Class<?>> classes) {
+        Batch batch = new Batch();
+        Map<Class<?>, Result> results = new HashMap<>();
+        for (Class<?> clazz : classes) {
+            results.computeIfAbsent(clazz, batch::resultOf);
+        }
+        return results;
+    }
+
+    /**
+     * Introspects classes in parallel, using the threads of pool.
+     * <p>
+     * The classes are split into ranges introspected by tasks forked in pool, so the filters must be
+     * thread-safe.
+     *
+     * @param classes The classes to introspect.
+     * @param pool    The pool to run the introspection in.
+     *
+     * @return the result of each class in classes.
+     **/
+    public Map<Class<?>, Result> introspect(Collection<? extends Class<?>> classes, ForkJoinPool pool) {
+        Class<?>[] types = classes.toArray(new Class<?>[classes.size()]);
+        ConcurrentMap<Class<?>, Result> results = new ConcurrentHashMap<>();
+        pool.invoke(new IntrospectTask(types, 0, types.length, new Batch(), results));
+        return results;
+    }
+
+    /**
+     * The members of a class matched by the filters of a {@link BatchIntrospector}.
+     * <p>
+     * The sets are unmodifiable and the members they hold are shared with other callers, as for
+     * {@link MethodUtils}, so the accessible flag of a member must not be changed.
+     **/
+    public static final class Result {
+        private final Set<Method> methods;
+        private final Set<Field> fields;
+        private final Set<Constructor<?>> constructors;
+
+        private Result(final Set<Method> methods, final Set<Field> fields, final Set<Constructor<?>> constructors) {
+            this.methods = methods;
+            this.fields = fields;
+            this.constructors = constructors;
+        }
+
+        /**
+         * @return the methods of the class and its super classes that matched the method filter.
+         **/
+        public Set<Method> getMethods() {
+            return methods;
+        }
+
+        /**
+         * @return the fields of the class and its super classes that matched the field filter.
+         **/
+        public Set<Field> getFields() {
+            return fields;
+        }
+
+        /**
+         * @return the constructors of the class that matched the constructor filter.
+         **/
+        public Set<Constructor<?>> getConstructors() {
+            return constructors;
+        }
+    }
+
+    /**
+     * State of a single invocation of introspect: the matched members of every class resolved so far.
+     **/
+    private final class Batch {
+        private final ConcurrentMap<Class<?>, Members> members = new ConcurrentHashMap<>();
+
+        private Result resultOf(Class<?> clazz) {
+            ClassMetadata metadata = ClassMetadata.of(clazz);
+            Members matched = membersOf(metadata);
+            Set<Constructor<?>> constructors = constructorFilter == null
+                    ? Collections.emptySet()
+                    : toSet(filter(metadata.getDeclaredConstructors(), constructorFilter::apply));
+            return new Result(toSet(matched.methods), toSet(matched.fields), constructors);
+        }
+
+        private Members membersOf(ClassMetadata metadata) {
+            if (metadata == null) {
+                return NO_MEMBERS;
+            }
+            Members matched = members.get(metadata.getType());
+            if (matched == null) {
+                Members inherited = membersOf(metadata.getSuperClass());
+                Method[] methods = methodFilter == null
+                        ? NO_METHODS
+                        : MemberFilterTask.concat(filter(metadata.getDeclaredMethods(), methodFilter::apply), inherited.methods);
+                Field[] fields = fieldFilter == null
+                        ? NO_FIELDS
+                        : MemberFilterTask.concat(filter(metadata.getDeclaredFields(), fieldFilter::apply), inherited.fields);
+                matched = new Members(methods, fields);
+                Members existing = members.putIfAbsent(metadata.getType(), matched);
+                if (existing != null) {
+                    matched = existing;
+                }
+            }
+            return matched;
+        }
+    }
+
+    /**
+     * Introspects a range of classes, splitting the range into sub tasks until each task holds at most
+     * {@link #SEGMENT_SIZE} classes, see {@link MemberFilterTask}.
+     **/
+    private static final class IntrospectTask extends RecursiveAction {
+        private static final int SEGMENT_SIZE = 8;
+        private static final long serialVersionUID = 1L;
+
+        private final Class<?>[] classes;
+        private final int from;
+        private final int to;
+        private final transient Batch batch;
+        private final transient ConcurrentMap<Class<?>, Result> results;
+
+        private IntrospectTask(final Class<?>[] classes,
+                               final int from,
+                               final int to,
+                               final Batch batch,
+                               final ConcurrentMap<Class<?>, Result> results) {
+            this.classes = classes;
+            this.from = from;
+            this.to = to;
+            this.batch = batch;
+            this.results = results;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEGMENT_SIZE) {
+                for (int i = from; i < to; i++) {
+                    if (!results.containsKey(classes[i])) {
+                        results.putIfAbsent(classes[i], batch.resultOf(classes[i]));
+                    }
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new IntrospectTask(classes, from, middle, batch, results),
+                      new IntrospectTask(classes, middle, to, batch, results));
+        }
+    }
+
+    /**
+     * The matched members of a class and all its super classes.
+     **/
+    private static final class Members {
+        private final Method[] methods;
+        private final Field[] fields;
+
+        private Members(final Method[] methods, final Field[] fields) {
+            this.methods = methods;
+            this.fields = fields;
+        }
+    }
+
+    private static <M> M[] filter(M[] members, Predicate<? super M> filter) {
+        return MemberFilterTask.filterSegment(members, 0, members.length, filter);
+    }
+
+    private static <M> Set<M> toSet(M[] members) {
+        if (members.length == 0) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(new HashSet<>(Arrays.asList(members)));
+    }
+}
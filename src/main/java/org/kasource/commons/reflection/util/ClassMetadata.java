@@ -0,0 +1,470 @@
+package org.kasource.commons.reflection.util;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.kasource.commons.reflection.filter.ConstructorFilter;
+import org.kasource.commons.reflection.filter.FieldFilter;
+import org.kasource.commons.reflection.filter.MethodFilter;
+import org.kasource.commons.reflection.filter.impl.FilterPlan;
+
+/**
+ * Cached class meta data.
+ * <p>
+ * Holds the members declared by a class and the members flattened from the class and all its super classes,
+ * so that introspection can scan arrays instead of calling getDeclaredMethods() and getDeclaredFields() (which
+ * copies the member arrays on each invocation) for every class in the hierarchy on each query.
+ * <p>
+ * Instances are stored in a {@link ClassValue}, which ties the life cycle of the meta data to the class itself
+ * and will not prevent class loaders from being garbage collected.
+ * <p>
+ * The arrays are resolved lazily, one member kind at a time, and are shared: they must never be modified
+ * or handed out to callers. The members they hold are returned to callers as is, which is why the utility
+ * classes document that the accessible flag of returned members must not be changed.
+ * <p>
+ * The meta data also keeps the results of queries run with cacheable filters, see {@link FilterResultCache}, and
+ * the accessors created for the members of the class, see {@link InvokerFactory} and {@link InstanceFactory}.
+ *
+ * @author rikardwi
+ **/
+final class ClassMetadata {
+    private static final Method[] NO_METHODS = new Method[0];
+    private static final Field[] NO_FIELDS = new Field[0];
+    private static final Class<?>[] NO_CLASSES = new Class<?>[0];
+
+    private static final ClassValue<ClassMetadata> CACHE = new ClassValue<ClassMetadata>() {
+        @Override
+        protected ClassMetadata computeValue(Class<?> type) {
+            return new ClassMetadata(type);
+        }
+    };
+
+    private final Class<?> type;
+    private final ClassMetadata superClass;
+
+    private volatile Method[] declaredMethods;
+    private volatile Method[] methods;
+    private volatile Method[] effectiveMethods;
+    private volatile MethodIndex declaredMethodIndex;
+    private volatile MethodIndex methodIndex;
+    private volatile MemberIndex<Method> declaredMethodMembers;
+    private volatile MemberIndex<Method> methodMembers;
+    private volatile MemberIndex<Field> declaredFieldMembers;
+    private volatile MemberIndex<Field> fieldMembers;
+    private volatile Field[] declaredFields;
+    private volatile Field[] fields;
+    private volatile Class<?>[] declaredInterfaces;
+    private volatile Class<?>[] interfaces;
+    private volatile Constructor<?>[] declaredConstructors;
+    private volatile AnnotationIndex annotationIndex;
+
+    private final FilterResultCache<MethodFilter, Method> methodResults = new FilterResultCache<>();
+    private final FilterResultCache<MethodFilter, Method> effectiveMethodResults = new FilterResultCache<>();
+    private final FilterResultCache<FieldFilter, Field> fieldResults = new FilterResultCache<>();
+    private final FilterResultCache<ConstructorFilter, Constructor<?>> constructorResults = new FilterResultCache<>();
+    private final ConcurrentMap<InvokerFactory.AccessorKey, Object> accessors = new ConcurrentHashMap<>();
+    private final ConcurrentMap<List<Class<?>>, InstanceFactory<?>> instanceFactories = new ConcurrentHashMap<>();
+
+    private ClassMetadata(final Class<?> type) {
+        this.type = type;
+        Class<?> superType = type.getSuperclass();
+        this.superClass = superType == null ? null : CACHE.get(superType);
+    }
+
+    /**
+     * Returns the meta data of clazz.
+     *
+     * @param clazz The class to return meta data for.
+     *
+     * @return the meta data of clazz.
+     **/
+    static ClassMetadata of(Class<?> clazz) {
+        return CACHE.get(clazz);
+    }
+
+    /**
+     * @return the class described by this meta data.
+     **/
+    Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * @return the meta data of the super class, null if the class has no super class.
+     **/
+    ClassMetadata getSuperClass() {
+        return superClass;
+    }
+
+    /**
+     * @return the methods declared by the class.
+     **/
+    Method[] getDeclaredMethods() {
+        Method[] result = declaredMethods;
+        if (result == null) {
+            result = type.getDeclaredMethods();
+            declaredMethods = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return the methods declared by the class and all its super classes.
+     **/
+    Method[] getMethods() {
+        Method[] result = methods;
+        if (result == null) {
+            result = concat(getDeclaredMethods(), superClass == null ? NO_METHODS : superClass.getMethods());
+            methods = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return the index of the methods declared by the class, by name and number of parameters.
+     **/
+    MethodIndex getDeclaredMethodIndex() {
+        MethodIndex result = declaredMethodIndex;
+        if (result == null) {
+            result = MethodIndex.of(getDeclaredMethods());
+            declaredMethodIndex = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return the index of the methods declared by the class and all its super classes, by name and number
+     * of parameters.
+     **/
+    MethodIndex getMethodIndex() {
+        MethodIndex result = methodIndex;
+        if (result == null) {
+            result = MethodIndex.of(getMethods());
+            methodIndex = result;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the methods declared by the class which may pass a filter with the supplied plan.
+     *
+     * @param plan The plan of the filter, see {@link FilterPlan}.
+     *
+     * @return the candidate methods declared by the class.
+     **/
+    Method[] getDeclaredMethodCandidates(FilterPlan plan) {
+        if (plan.isEmpty()) {
+            return getDeclaredMethods();
+        }
+        if (plan.getName() != null) {
+            return candidatesByName(getDeclaredMethodIndex(), plan);
+        }
+        MemberIndex<Method> index = declaredMethodMembers;
+        if (index == null) {
+            index = new MemberIndex<>(getDeclaredMethods());
+            declaredMethodMembers = index;
+        }
+        return index.candidates(plan);
+    }
+
+    /**
+     * Returns the methods declared by the class and all its super classes which may pass a filter with the
+     * supplied plan.
+     *
+     * @param plan The plan of the filter, see {@link FilterPlan}.
+     *
+     * @return the candidate methods of the class and all its super classes.
+     **/
+    Method[] getMethodCandidates(FilterPlan plan) {
+        if (plan.isEmpty()) {
+            return getMethods();
+        }
+        if (plan.getName() != null) {
+            return candidatesByName(getMethodIndex(), plan);
+        }
+        MemberIndex<Method> index = methodMembers;
+        if (index == null) {
+            index = new MemberIndex<>(getMethods());
+            methodMembers = index;
+        }
+        return index.candidates(plan);
+    }
+
+    private static Method[] candidatesByName(MethodIndex index, FilterPlan plan) {
+        if (plan.getNumberOfParameters() >= 0) {
+            return index.get(plan.getName(), plan.getNumberOfParameters());
+        }
+        return index.get(plan.getName());
+    }
+
+    /**
+     * Returns the effective methods of the class: the methods declared by the class, the methods of its super
+     * classes not overridden (or hidden) by a method with the same name and parameter types, and the default
+     * methods of its interfaces not overridden by any of those.
+     * <p>
+     * If more than one interface declares a default method with the same signature the method of the most
+     * specific interface is used. Bridge methods are not included.
+     * <p>
+     * The effective methods are resolved from the effective methods of the super class, which are resolved
+     * only once.
+     *
+     * @return the effective methods of the class.
+     **/
+    Method[] getEffectiveMethods() {
+        Method[] result = effectiveMethods;
+        if (result == null) {
+            Map<MethodSignature, Method> effective = new LinkedHashMap<>();
+            if (superClass != null) {
+                for (Method method : superClass.getEffectiveMethods()) {
+                    effective.put(new MethodSignature(method), method);
+                }
+            }
+            for (Method method : getDeclaredMethods()) {
+                if (!method.isBridge()) {
+                    effective.put(new MethodSignature(method), method);
+                }
+            }
+            addDefaultMethods(effective);
+            result = effective.values().toArray(NO_METHODS);
+            effectiveMethods = result;
+        }
+        return result;
+    }
+
+    private void addDefaultMethods(Map<MethodSignature, Method> effective) {
+        Set<Class<?>> visited = new LinkedHashSet<>();
+        Deque<Class<?>> toVisit = new ArrayDeque<>(Arrays.asList(getDeclaredInterfaces()));
+        while (!toVisit.isEmpty()) {
+            Class<?> interfaceClass = toVisit.poll();
+            if (visited.add(interfaceClass)) {
+                for (Method method : of(interfaceClass).getDeclaredMethods()) {
+                    if (method.isDefault()) {
+                        effective.merge(new MethodSignature(method), method, ClassMetadata::mostSpecific);
+                    }
+                }
+                toVisit.addAll(Arrays.asList(of(interfaceClass).getDeclaredInterfaces()));
+            }
+        }
+    }
+
+    /**
+     * Returns the method which overrides the other, a default method only overrides a default method
+     * declared by one of its super interfaces.
+     **/
+    private static Method mostSpecific(Method existing, Method defaultMethod) {
+        Class<?> existingDeclarer = existing.getDeclaringClass();
+        if (existingDeclarer.isInterface()
+                && existingDeclarer != defaultMethod.getDeclaringClass()
+                && existingDeclarer.isAssignableFrom(defaultMethod.getDeclaringClass())) {
+            return defaultMethod;
+        }
+        return existing;
+    }
+
+    /**
+     * @return the fields declared by the class.
+     **/
+    Field[] getDeclaredFields() {
+        Field[] result = declaredFields;
+        if (result == null) {
+            result = type.getDeclaredFields();
+            declaredFields = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return the fields declared by the class and all its super classes.
+     **/
+    Field[] getFields() {
+        Field[] result = fields;
+        if (result == null) {
+            result = concat(getDeclaredFields(), superClass == null ? NO_FIELDS : superClass.getFields());
+            fields = result;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the fields declared by the class which may pass a filter with the supplied plan.
+     *
+     * @param plan The plan of the filter, see {@link FilterPlan}.
+     *
+     * @return the candidate fields declared by the class.
+     **/
+    Field[] getDeclaredFieldCandidates(FilterPlan plan) {
+        if (plan.isEmpty()) {
+            return getDeclaredFields();
+        }
+        MemberIndex<Field> index = declaredFieldMembers;
+        if (index == null) {
+            index = new MemberIndex<>(getDeclaredFields());
+            declaredFieldMembers = index;
+        }
+        return index.candidates(plan);
+    }
+
+    /**
+     * Returns the fields declared by the class and all its super classes which may pass a filter with the
+     * supplied plan.
+     *
+     * @param plan The plan of the filter, see {@link FilterPlan}.
+     *
+     * @return the candidate fields of the class and all its super classes.
+     **/
+    Field[] getFieldCandidates(FilterPlan plan) {
+        if (plan.isEmpty()) {
+            return getFields();
+        }
+        MemberIndex<Field> index = fieldMembers;
+        if (index == null) {
+            index = new MemberIndex<>(getFields());
+            fieldMembers = index;
+        }
+        return index.candidates(plan);
+    }
+
+    /**
+     * @return the interfaces directly implemented by the class.
+     **/
+    Class<?>[] getDeclaredInterfaces() {
+        Class<?>[] result = declaredInterfaces;
+        if (result == null) {
+            result = type.getInterfaces();
+            declaredInterfaces = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return the interfaces directly implemented by the class or any of its super classes, without duplicates.
+     **/
+    Class<?>[] getInterfaces() {
+        Class<?>[] result = interfaces;
+        if (result == null) {
+            Set<Class<?>> found = new LinkedHashSet<>(Arrays.asList(getDeclaredInterfaces()));
+            found.addAll(Arrays.asList(superClass == null ? NO_CLASSES : superClass.getInterfaces()));
+            result = found.toArray(NO_CLASSES);
+            interfaces = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return the constructors declared by the class.
+     **/
+    Constructor<?>[] getDeclaredConstructors() {
+        Constructor<?>[] result = declaredConstructors;
+        if (result == null) {
+            result = type.getDeclaredConstructors();
+            declaredConstructors = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return the index of the annotations of the class and the members it declares.
+     **/
+    AnnotationIndex getAnnotationIndex() {
+        AnnotationIndex result = annotationIndex;
+        if (result == null) {
+            result = new AnnotationIndex(this);
+            annotationIndex = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return cached results of method queries on the class and its super classes.
+     **/
+    FilterResultCache<MethodFilter, Method> getMethodResults() {
+        return methodResults;
+    }
+
+    /**
+     * @return cached results of queries on the effective methods of the class.
+     **/
+    FilterResultCache<MethodFilter, Method> getEffectiveMethodResults() {
+        return effectiveMethodResults;
+    }
+
+    /**
+     * @return cached results of field queries on the class and its super classes.
+     **/
+    FilterResultCache<FieldFilter, Field> getFieldResults() {
+        return fieldResults;
+    }
+
+    /**
+     * @return cached results of constructor queries on the class.
+     **/
+    FilterResultCache<ConstructorFilter, Constructor<?>> getConstructorResults() {
+        return constructorResults;
+    }
+
+    /**
+     * @return accessors created for members declared by the class, by kind of accessor and member.
+     **/
+    ConcurrentMap<InvokerFactory.AccessorKey, Object> getAccessors() {
+        return accessors;
+    }
+
+    /**
+     * @return instance factories created for the class, by constructor parameter types.
+     **/
+    ConcurrentMap<List<Class<?>>, InstanceFactory<?>> getInstanceFactories() {
+        return instanceFactories;
+    }
+
+    private static <M> M[] concat(M[] declared, M[] inherited) {
+        if (inherited.length == 0) {
+            return declared;
+        }
+        M[] result = Arrays.copyOf(declared, declared.length + inherited.length);
+        System.arraycopy(inherited, 0, result, declared.length, inherited.length);
+        return result;
+    }
+
+    /**
+     * The name and parameter types of a method.
+     **/
+    private static final class MethodSignature {
+        private final String name;
+        private final Class<?>[] parameterTypes;
+        private final int hash;
+
+        MethodSignature(final Method method) {
+            this.name = method.getName();
+            this.parameterTypes = method.getParameterTypes();
+            this.hash = name.hashCode() * 31 + Arrays.hashCode(parameterTypes);
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (!(object instanceof MethodSignature)) {
+                return false;
+            }
+            MethodSignature other = (MethodSignature) object;
+            return hash == other.hash && name.equals(other.name) && Arrays.equals(parameterTypes, other.parameterTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
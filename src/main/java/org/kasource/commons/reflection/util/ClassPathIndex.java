@@ -0,0 +1,154 @@
+package org.kasource.commons.reflection.util;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory index of the classes found by scanning the class path, see {@link AnnotationScanner#scan(String)}.
+ * <p>
+ * The index is built once from the archives scanned and answers any number of annotation and super type
+ * queries without reading any archive again. Only classes in the packages scanned are returned by queries,
+ * while super types are resolved through all classes in the archives scanned.
+ * <p>
+ * Instances are immutable and thread safe.
+ *
+ * @author rikardwi
+ **/
+public final class ClassPathIndex {
+    private final String[] packages;
+    private final Map<String, Set<String>> annotatedClasses = new HashMap<>();
+    private final Map<String, Set<String>> subTypes = new HashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param archives The archives to index.
+     * @param packages Names of the packages to include classes from.
+     **/
+    ClassPathIndex(final Collection<ArchiveIndex> archives, final String... packages) {
+        this.packages = packages.clone();
+        for (ArchiveIndex archive : archives) {
+            for (Map.Entry<String, Set<String>> entry : archive.getAnnotatedClasses().entrySet()) {
+                for (String className : entry.getValue()) {
+                    if (isIncluded(className)) {
+                        annotatedClasses.computeIfAbsent(entry.getKey(), k -> new HashSet<>()).add(className);
+                    }
+                }
+            }
+            for (Map.Entry<String, String> entry : archive.getSuperClasses().entrySet()) {
+                subTypes.computeIfAbsent(entry.getValue(), k -> new HashSet<>()).add(entry.getKey());
+            }
+            for (Map.Entry<String, Set<String>> entry : archive.getInterfaces().entrySet()) {
+                for (String interfaceName : entry.getValue()) {
+                    subTypes.computeIfAbsent(interfaceName, k -> new HashSet<>()).add(entry.getKey());
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the names of classes annotated with annotation.
+     *
+     * @param annotation The annotation to find classes for.
+     *
+     * @return names of classes annotated with annotation.
+     **/
+    public Set<String> getAnnotatedClassNames(Class<? extends Annotation> annotation) {
+        Set<String> classNames = annotatedClasses.get(annotation.getName());
+        return classNames == null ? Collections.emptySet() : Collections.unmodifiableSet(classNames);
+    }
+
+    /**
+     * Returns the classes annotated with annotationClass, loaded using Class.forName.
+     *
+     * @param annotationClass The annotation to find classes for.
+     * @param ofType          The type the found classes should extend or implement, set to Object if no validation is needed.
+     * @param <T>             Type of class to find.
+     *
+     * @return classes annotated with annotationClass.
+     * @throws IllegalStateException if a class found does not extend or implement ofType or could not be loaded.
+     **/
+    @SuppressWarnings("unchecked")
+    public <T> Set<Class<? extends T>> findAnnotatedClasses(Class<? extends Annotation> annotationClass, Class<T> ofType) {
+        Set<Class<? extends T>> classes = new HashSet<>();
+        for (String className : getAnnotatedClassNames(annotationClass)) {
+            Class<?> matchingClass = loadClass(className);
+            if (!ofType.isAssignableFrom(matchingClass)) {
+                throw new IllegalStateException("Class " + className
+                        + " is annoted with @" + annotationClass + " but does not extend or implement  " + ofType);
+            }
+            classes.add((Class<T>) matchingClass);
+        }
+        return classes;
+    }
+
+    /**
+     * Returns the names of classes which extends or implements superType, directly or indirectly.
+     *
+     * @param superType The class or interface to find sub types of.
+     *
+     * @return names of classes which extends or implements superType.
+     **/
+    public Set<String> getSubTypeNames(Class<?> superType) {
+        Set<String> found = new HashSet<>();
+        Set<String> visited = new HashSet<>();
+        Deque<String> toVisit = new ArrayDeque<>();
+        toVisit.add(superType.getName());
+        while (!toVisit.isEmpty()) {
+            Set<String> types = subTypes.get(toVisit.poll());
+            if (types != null) {
+                for (String type : types) {
+                    if (visited.add(type)) {
+                        toVisit.add(type);
+                        if (isIncluded(type)) {
+                            found.add(type);
+                        }
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Returns the classes which extends or implements superType, directly or indirectly, loaded using Class.forName.
+     *
+     * @param superType The class or interface to find sub types of.
+     * @param <T>       The super type.
+     *
+     * @return classes which extends or implements superType.
+     * @throws IllegalStateException if a class found could not be loaded.
+     **/
+    @SuppressWarnings("unchecked")
+    public <T> Set<Class<? extends T>> findSubTypes(Class<T> superType) {
+        Set<Class<? extends T>> classes = new HashSet<>();
+        for (String className : getSubTypeNames(superType)) {
+            classes.add((Class<? extends T>) loadClass(className));
+        }
+        return classes;
+    }
+
+    private Class<?> loadClass(String className) {
+        try {
+            return Class.forName(className);
+        } catch (ClassNotFoundException cnfe) {
+            throw new IllegalStateException("Scannotation found a class that does not exist " + className + " !", cnfe);
+        }
+    }
+
+    private boolean isIncluded(String className) {
+        for (String packageName : packages) {
+            if (className.startsWith(packageName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
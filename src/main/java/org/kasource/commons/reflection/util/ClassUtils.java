@@ -1,10 +1,9 @@
 package org.kasource.commons.reflection.util;
 
-import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import org.kasource.commons.reflection.filter.ClassFilter;
 
@@ -63,16 +62,8 @@ public final class ClassUtils {
      *
      * @return a set of interfaces from the target class that passes the supplied filter.
      */
-    @SuppressWarnings("PMD.AssignmentInOperand")
     public static Set<Class<?>> getInterfaces(Class<?> target, ClassFilter filter) {
-        Class<?> clazz = target;
-        Set<Class<?>> interfacesFound = getDeclaredInterfaces(clazz, filter);
-
-        while ((clazz = clazz.getSuperclass()) != null) {
-            interfacesFound.addAll(getDeclaredInterfaces(clazz, filter));
-        }
-        return interfacesFound;
-
+        return filter(ClassMetadata.of(target).getInterfaces(), filter);
     }
 
     /**
@@ -105,7 +96,17 @@ public final class ClassUtils {
      * @return all Interface classes from clazz that passes the filter.
      */
     public static Set<Class<?>> getDeclaredInterfaces(Class<?> clazz, ClassFilter filter) {
-        return Arrays.stream(clazz.getInterfaces()).filter(i -> filter.apply(i)).collect(Collectors.toSet());
+        return filter(ClassMetadata.of(clazz).getDeclaredInterfaces(), filter);
+    }
+
+    private static Set<Class<?>> filter(Class<?>[] interfaces, ClassFilter filter) {
+        Set<Class<?>> matches = new HashSet<>();
+        for (Class<?> interfaceClass : interfaces) {
+            if (filter.apply(interfaceClass)) {
+                matches.add(interfaceClass);
+            }
+        }
+        return matches;
     }
 
 
@@ -0,0 +1,24 @@
+package org.kasource.commons.reflection.util;
+
+/**
+ * Invokes a constructor without going through reflection.
+ * <p>
+ * Use {@link InvokerFactory#invoker(java.lang.reflect.Constructor)} to create an invoker.
+ *
+ * @param <T> Type of object created
+ * @author rikardwi
+ **/
+@FunctionalInterface
+public interface ConstructorInvoker<T> {
+
+    /**
+     * Creates a new instance using the constructor.
+     * <p>
+     * Exceptions thrown by the constructor are propagated as is, checked exceptions are not wrapped.
+     *
+     * @param args The arguments to pass to the constructor.
+     *
+     * @return the new instance.
+     **/
+    T newInstance(Object... args);
+}
@@ -1,25 +1,40 @@
 package org.kasource.commons.reflection.util;
 
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Constructor;
-import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import org.apache.commons.lang3.ClassUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.kasource.commons.reflection.filter.ConstructorFilter;
 
 /**
  * Utility class for creating object instances using Reflection Based Construction.
+ * <p>
+ * Constructors are returned from arrays resolved once per class, so the same Constructor instances are returned
+ * to every caller rather than a new copy per call as Class.getDeclaredConstructors() does. Callers must not
+ * change the accessible flag of a returned constructor, use {@link InstanceFactory} to create instances.
  *
  * @author rikardwi
  **/
 public final class ConstructorUtils {
+    private static final Map<ClassLoader, ConcurrentMap<String, WeakReference<Class<?>>>> LOADED_CLASSES =
+            Collections.synchronizedMap(new WeakHashMap<>());
 
     private ConstructorUtils() {
     }
 
     /**
      * Returns set of constructors that matches the filter parameter.
+     * <p>
+     * The result of a {@link ConstructorFilter#isCacheable() cacheable} filter is cached per target class and
+     * filter instance, a new set is returned on each call.
      *
      * @param target Class to get constructor for.
      * @param filter Filter to apply.
@@ -28,9 +43,23 @@ public final class ConstructorUtils {
      * @return constructors that matches the filter parameter.
      * @throws IllegalArgumentException if ofType does not match the target class.
      **/
-    @SuppressWarnings("unchecked")
+    @SuppressWarnings({"unchecked", "rawtypes"})
     public static <T> Set<Constructor<T>> findConstructors(Class<T> target, ConstructorFilter filter) {
-        return Arrays.stream((Constructor<T>[]) target.getDeclaredConstructors()).filter(c -> filter.apply(c)).collect(Collectors.toSet());
+        ClassMetadata metadata = ClassMetadata.of(target);
+        if (filter.isCacheable()) {
+            return (Set) metadata.getConstructorResults().get(filter, f -> filter(metadata.getDeclaredConstructors(), f));
+        }
+        return (Set) filter(metadata.getDeclaredConstructors(), filter);
+    }
+
+    private static Set<Constructor<?>> filter(Constructor<?>[] constructors, ConstructorFilter filter) {
+        Set<Constructor<?>> matches = new HashSet<>();
+        for (Constructor<?> constructor : constructors) {
+            if (filter.apply(constructor)) {
+                matches.add(constructor);
+            }
+        }
+        return matches;
     }
 
 
@@ -75,6 +104,8 @@ public final class ConstructorUtils {
     /**
      * Returns a new object of <i>className</i>. The objected is casted to the <i>ofType</i>,
      * which is either super class or interface of the className class.
+     * <p>
+     * The class and constructor are only resolved on the first invocation, see {@link #getInstanceFactory(ClassLoader, String, Class, Class[])}.
      *
      * @param className         Name of the class to instanciate an object of
      * @param ofType            An super class or interface of the className class.
@@ -83,28 +114,98 @@ public final class ConstructorUtils {
      * @param <T>               Type of instance.
      *
      * @return A new instance of class with name className casted to the ofType class.
-     * @throws IllegalStateException if className could not be loaded or if that class does not have a matching constructor
-     *                               to the constructorParam or if the loaded class is not of the supplied type (ofType).
+     * @throws IllegalStateException    if className could not be loaded or if that class does not have a matching constructor
+     *                                  to the constructorParam or if the constructor throws an exception.
+     * @throws IllegalArgumentException if constructorArgs does not match constructorParams.
+     * @throws ClassCastException       if the loaded class is not of the supplied type (ofType).
      **/
-    @SuppressWarnings({"unchecked", "PMD.UseStringBufferForStringAppends"})
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
     public static <T> T newInstance(String className, Class<T> ofType, Class<?>[] constructorParams, Object... constructorArgs) {
+        InstanceFactory<? extends T> factory = getInstanceFactory(ConstructorUtils.class.getClassLoader(), className, ofType, constructorParams);
+        verifyArguments(constructorParams, constructorArgs);
+        try {
+            return factory.newInstance(constructorArgs);
+        } catch (Exception e) {
+            throw new IllegalStateException(errorMessage(className, constructorParams, constructorArgs), e);
+        }
+    }
+
+    /**
+     * Returns a factory for instances of <i>className</i>, loaded by classLoader, using the public constructor
+     * with the supplied parameter types.
+     * <p>
+     * Loaded classes are cached per class loader and class name, without preventing the class loader from
+     * being garbage collected, and factories are cached per class and parameter types. Repeated calls are
+     * therefore cheap, and the factory returned should be kept when creating many instances.
+     *
+     * @param classLoader       Class loader to load the class with, null for the bootstrap class loader.
+     * @param className         Name of the class to create instances of.
+     * @param ofType            An super class or interface of the className class.
+     * @param constructorParams Constructor parameter types, empty for the default constructor.
+     * @param <T>               Type of instances.
+     *
+     * @return factory for instances of className.
+     * @throws IllegalStateException if className could not be loaded or if that class does not have a matching
+     *                               public constructor.
+     * @throws ClassCastException    if the loaded class is not of the supplied type (ofType).
+     **/
+    @SuppressWarnings("unchecked")
+    public static <T> InstanceFactory<? extends T> getInstanceFactory(ClassLoader classLoader,
+                                                                      String className,
+                                                                      Class<T> ofType,
+                                                                      Class<?>... constructorParams) {
+        Class<?> clazz;
         try {
-            Class<?> clazz = Class.forName(className);
-            Constructor<?> constructor = clazz.getConstructor(constructorParams);
-            return ofType.cast(constructor.newInstance(constructorArgs));
+            clazz = loadClass(classLoader, className);
         } catch (ClassNotFoundException e) {
             throw new IllegalStateException("Could not create new instance of class " + className, e);
-        } catch (RuntimeException e) {
-            throw e;
-        } catch (Exception e) {
-            String errorMessage = "Could not create new instance of class " + className + " using ";
-            if (constructorParams.length == 0) {
-                errorMessage += "default constructor.";
-            } else {
-                errorMessage += "constructor with parameters " + StringUtils.join(constructorArgs, ", ") + ".";
+        }
+        if (!ofType.isAssignableFrom(clazz)) {
+            throw new ClassCastException("Cannot cast " + clazz.getName() + " to " + ofType.getName());
+        }
+        try {
+            return InstanceFactory.of((Class<? extends T>) clazz, constructorParams);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException(errorMessage(className, constructorParams, null), e);
+        }
+    }
+
+    private static Class<?> loadClass(ClassLoader classLoader, String className) throws ClassNotFoundException {
+        ConcurrentMap<String, WeakReference<Class<?>>> classes =
+                LOADED_CLASSES.computeIfAbsent(classLoader, loader -> new ConcurrentHashMap<>());
+        WeakReference<Class<?>> reference = classes.get(className);
+        Class<?> clazz = reference == null ? null : reference.get();
+        if (clazz == null) {
+            clazz = Class.forName(className, true, classLoader);
+            classes.put(className, new WeakReference<>(clazz));
+        }
+        return clazz;
+    }
+
+    private static void verifyArguments(Class<?>[] constructorParams, Object... constructorArgs) {
+        int numberOfArgs = constructorArgs == null ? 0 : constructorArgs.length;
+        if (numberOfArgs != constructorParams.length) {
+            throw new IllegalArgumentException("wrong number of arguments");
+        }
+        for (int i = 0; i < numberOfArgs; i++) {
+            Class<?> paramType = constructorParams[i];
+            Object arg = constructorArgs[i];
+            if (arg == null ? paramType.isPrimitive() : !ClassUtils.isAssignable(arg.getClass(), paramType, true)) {
+                throw new IllegalArgumentException("argument type mismatch");
             }
-            throw new IllegalStateException(errorMessage, e);
         }
     }
 
+    @SuppressWarnings("PMD.UseStringBufferForStringAppends")
+    private static String errorMessage(String className, Class<?>[] constructorParams, Object[] constructorArgs) {
+        String errorMessage = "Could not create new instance of class " + className + " using ";
+        if (constructorParams.length == 0) {
+            errorMessage += "default constructor.";
+        } else if (constructorArgs == null) {
+            errorMessage += "constructor with parameter types " + StringUtils.join(constructorParams, ", ") + ".";
+        } else {
+            errorMessage += "constructor with parameters " + StringUtils.join(constructorArgs, ", ") + ".";
+        }
+        return errorMessage;
+    }
 }
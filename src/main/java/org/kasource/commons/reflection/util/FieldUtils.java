@@ -1,12 +1,22 @@
 package org.kasource.commons.reflection.util;
 
 import java.lang.reflect.Field;
-import java.util.Arrays;
+import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ForkJoinPool;
 
 import org.kasource.commons.reflection.filter.FieldFilter;
+import org.kasource.commons.reflection.filter.impl.FilterPlan;
 
+/**
+ * Utility class for Field based introspection.
+ * <p>
+ * Fields are returned from arrays resolved once per class, so the same Field instances are returned to every
+ * caller rather than a new copy per call as Class.getDeclaredFields() does. Callers must not change the
+ * accessible flag of a returned field, use {@link InvokerFactory} to access non public fields.
+ *
+ * @author rikardwi
+ **/
 public final class FieldUtils {
 
     private FieldUtils() {
@@ -22,28 +32,74 @@ public final class FieldUtils {
      * @return All matching fields declared by the clazz class.
      **/
     public static Set<Field> getDeclaredFields(Class<?> clazz, FieldFilter filter) {
-        return Arrays.stream(clazz.getDeclaredFields())
-                .filter(f -> filter.apply(f))
-                .collect(Collectors.toSet());
+        return declaredFields(clazz, filter, null);
+    }
+
+    /**
+     * Returns a set of all fields matching the supplied filter
+     * declared in the clazz class.
+     * <p>
+     * Classes declaring many fields are filtered in parallel using the threads of pool, so filter must be
+     * thread-safe and must not depend on the calling thread.
+     *
+     * @param clazz  The class to inspect.
+     * @param filter Filter to use.
+     * @param pool   The pool to filter large classes in.
+     * @return All matching fields declared by the clazz class.
+     **/
+    public static Set<Field> getDeclaredFields(Class<?> clazz, FieldFilter filter, ForkJoinPool pool) {
+        return declaredFields(clazz, filter, Objects.requireNonNull(pool, "pool"));
+    }
+
+    private static Set<Field> declaredFields(Class<?> clazz, FieldFilter filter, ForkJoinPool pool) {
+        return filter(ClassMetadata.of(clazz).getDeclaredFieldCandidates(FilterPlan.ofFieldFilter(filter)), filter, pool);
     }
 
     /**
      * Returns a set of all fields matching the supplied filter
      * declared in the target class or any of its super classes.
+     * <p>
+     * The result of a {@link FieldFilter#isCacheable() cacheable} filter is cached per target class and
+     * filter instance, a new set is returned on each call.
      *
      * @param target Class to inspect.
      * @param filter Filter to use.
      *
      * @return All matching fields declared by the target class.
      **/
-    @SuppressWarnings("PMD.AssignmentInOperand")
     public static Set<Field> getFields(Class<?> target, FieldFilter filter) {
-        Class<?> clazz = target;
-        Set<Field> fields = getDeclaredFields(clazz, filter);
-        while ((clazz = clazz.getSuperclass()) != null) {
-            fields.addAll(getDeclaredFields(clazz, filter));
+        return fields(target, filter, null);
+    }
+
+    /**
+     * Returns a set of all fields matching the supplied filter
+     * declared in the target class or any of its super classes.
+     * <p>
+     * The result of a {@link FieldFilter#isCacheable() cacheable} filter is cached per target class and
+     * filter instance, a new set is returned on each call. Classes with many fields in their hierarchy are
+     * filtered in parallel using the threads of pool, so filter must be thread-safe and must not depend on the
+     * calling thread.
+     *
+     * @param target Class to inspect.
+     * @param filter Filter to use.
+     * @param pool   The pool to filter large classes in.
+     *
+     * @return All matching fields declared by the target class.
+     **/
+    public static Set<Field> getFields(Class<?> target, FieldFilter filter, ForkJoinPool pool) {
+        return fields(target, filter, Objects.requireNonNull(pool, "pool"));
+    }
+
+    private static Set<Field> fields(Class<?> target, FieldFilter filter, ForkJoinPool pool) {
+        ClassMetadata metadata = ClassMetadata.of(target);
+        if (filter.isCacheable()) {
+            return metadata.getFieldResults().get(filter, f -> filter(metadata.getFieldCandidates(FilterPlan.ofFieldFilter(f)), f, pool));
         }
-        return fields;
+        return filter(metadata.getFieldCandidates(FilterPlan.ofFieldFilter(filter)), filter, pool);
+    }
+
+    private static Set<Field> filter(Field[] fields, FieldFilter filter, ForkJoinPool pool) {
+        return MemberFilterTask.filter(fields, filter::apply, pool);
     }
 
 }
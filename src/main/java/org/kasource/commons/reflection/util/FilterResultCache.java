@@ -0,0 +1,136 @@
+package org.kasource.commons.reflection.util;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of query results for a single class, keyed by filter identity.
+ * <p>
+ * Filters are weakly referenced so that a cached result does not keep the filter, or the class loader
+ * of the filter, alive. The entries of collected filters are removed on each lookup, through a reference
+ * queue owned by the cache so that keys need no reference back to it. When the cache is full an arbitrary
+ * entry is evicted.
+ * <p>
+ * Cached results are unmodifiable sets sized after the number of matches, which are never handed out: each
+ * call returns a new set holding the cached matches, so callers are free to modify the set returned.
+ *
+ * @param <F> Filter type
+ * @param <M> Member type
+ * @author rikardwi
+ **/
+final class FilterResultCache<F, M> {
+    static final int MAX_ENTRIES = 64;
+
+    private final ReferenceQueue<Object> collectedFilters = new ReferenceQueue<>();
+    private final ConcurrentMap<Object, Set<M>> results = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the cached result for filter, runs and caches the result of query if no result is cached.
+     *
+     * @param filter The filter to return the result for.
+     * @param query  The query to run if no result is cached.
+     *
+     * @return a copy of the cached query result for filter.
+     **/
+    Set<M> get(F filter, Function<F, Set<M>> query) {
+        return new HashSet<>(getCached(filter, query));
+    }
+
+    private Set<M> getCached(F filter, Function<F, Set<M>> query) {
+        expungeCollectedFilters();
+        Set<M> result = results.get(new Lookup(filter));
+        if (result == null) {
+            result = Collections.unmodifiableSet(new HashSet<>(query.apply(filter)));
+            Set<M> existing = put(filter, result);
+            if (existing != null) {
+                result = existing;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the number of cached results.
+     **/
+    int size() {
+        return results.size();
+    }
+
+    private Set<M> put(F filter, Set<M> result) {
+        if (results.size() >= MAX_ENTRIES) {
+            evict();
+        }
+        return results.putIfAbsent(new FilterKey(filter, collectedFilters), result);
+    }
+
+    private void evict() {
+        Iterator<Object> keys = results.keySet().iterator();
+        while (results.size() >= MAX_ENTRIES && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    @SuppressWarnings("PMD.AssignmentInOperand")
+    private void expungeCollectedFilters() {
+        Reference<?> reference;
+        while ((reference = collectedFilters.poll()) != null) {
+            results.remove(reference);
+        }
+    }
+
+    /**
+     * Key of a cached result, holds the filter weakly and compares it by identity.
+     **/
+    private static final class FilterKey extends WeakReference<Object> {
+        private final int hash;
+
+        FilterKey(final Object filter, final ReferenceQueue<Object> queue) {
+            super(filter, queue);
+            this.hash = System.identityHashCode(filter);
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) {
+                return true;
+            }
+            Object filter = get();
+            return filter != null && object instanceof FilterKey && filter == ((FilterKey) object).get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Short lived key used to look up cached results.
+     **/
+    private static final class Lookup {
+        private final Object filter;
+
+        Lookup(final Object filter) {
+            this.filter = filter;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            return object instanceof FilterKey && ((FilterKey) object).get() == filter;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(filter);
+        }
+    }
+}
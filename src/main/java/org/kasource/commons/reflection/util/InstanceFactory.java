@@ -0,0 +1,98 @@
+package org.kasource.commons.reflection.util;
+
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Factory which creates new instances of a class using a resolved constructor.
+ * <p>
+ * The constructor is invoked through an accessor created by {@link InvokerFactory} instead of
+ * Constructor.newInstance, so creating an instance costs about the same as calling new.
+ * <p>
+ * Factories are cached per class and constructor parameter types, use {@link #of(Class, Class[])}
+ * or {@link ConstructorUtils#getInstanceFactory(ClassLoader, String, Class, Class[])} to get a factory.
+ *
+ * @param <T> Type of instances created.
+ * @author rikardwi
+ **/
+public final class InstanceFactory<T> {
+    private final Class<T> type;
+    private final Supplier<T> supplier;
+    private final ConstructorInvoker<T> invoker;
+
+    private InstanceFactory(final Constructor<T> constructor) {
+        this.type = constructor.getDeclaringClass();
+        this.supplier = constructor.getParameterCount() == 0 ? InvokerFactory.supplier(constructor) : null;
+        this.invoker = InvokerFactory.invoker(constructor);
+    }
+
+    /**
+     * Returns the factory for the public constructor of type with the supplied parameter types.
+     *
+     * @param type              The class to create instances of.
+     * @param constructorParams Constructor parameter types, empty for the default constructor.
+     * @param <T>               Type of instances created.
+     *
+     * @return factory for type using the constructor matching constructorParams.
+     * @throws IllegalArgumentException if type does not have a public constructor matching constructorParams.
+     **/
+    @SuppressWarnings("unchecked")
+    public static <T> InstanceFactory<T> of(Class<T> type, Class<?>... constructorParams) {
+        ConcurrentMap<List<Class<?>>, InstanceFactory<?>> factories = ClassMetadata.of(type).getInstanceFactories();
+        List<Class<?>> key = Arrays.asList(constructorParams);
+        InstanceFactory<T> factory = (InstanceFactory<T>) factories.get(key);
+        if (factory == null) {
+            try {
+                factory = new InstanceFactory<>(type.getConstructor(constructorParams));
+            } catch (NoSuchMethodException e) {
+                throw new IllegalArgumentException("No public constructor with parameters " + key + " found for " + type.getName(), e);
+            }
+            InstanceFactory<T> existing = (InstanceFactory<T>) factories.putIfAbsent(Arrays.asList(constructorParams.clone()), factory);
+            if (existing != null) {
+                factory = existing;
+            }
+        }
+        return factory;
+    }
+
+    /**
+     * @return the class instances are created of.
+     **/
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Returns a new instance created with the default constructor.
+     * <p>
+     * Exceptions thrown by the constructor are propagated as is, checked exceptions are not wrapped.
+     *
+     * @return a new instance.
+     * @throws IllegalArgumentException if the constructor of this factory has parameters.
+     **/
+    public T newInstance() {
+        if (supplier == null) {
+            throw new IllegalArgumentException("Constructor of " + type.getName() + " requires arguments");
+        }
+        return supplier.get();
+    }
+
+    /**
+     * Returns a new instance created with args as constructor arguments.
+     * <p>
+     * Exceptions thrown by the constructor are propagated as is, checked exceptions are not wrapped.
+     *
+     * @param args Constructor arguments.
+     *
+     * @return a new instance.
+     **/
+    public T newInstance(Object... args) {
+        if (supplier != null && (args == null || args.length == 0)) {
+            return supplier.get();
+        }
+        return invoker.newInstance(args);
+    }
+}
@@ -0,0 +1,453 @@
+package org.kasource.commons.reflection.util;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Creates accessors which invokes methods, constructors and fields without going through reflection.
+ * <p>
+ * Accessors for public methods and constructors, of public classes visible from the class loader of this
+ * library, are generated with {@link LambdaMetafactory} and performs like a direct call once inlined. Other
+ * methods and constructors, and all fields, are accessed through a {@link MethodHandle}. Non public members
+ * are made accessible on a copy of the member, the member passed in is never modified.
+ * <p>
+ * Accessors are cached per member and kind of accessor, the same accessor instance is returned for the same
+ * member.
+ * <p>
+ * Exceptions thrown by the invoked member are propagated as is by the accessors, checked exceptions
+ * are not wrapped.
+ * <p>
+ * Example:
+ * {@code
+ * for (Method getter : MethodUtils.getMethods(MyBean.class, MethodFilterBuilder.FILTER_GETTERS)) {
+ *     Function<MyBean, Object> accessor = InvokerFactory.getter(getter);
+ *     Object value = accessor.apply(myBean);
+ * }
+ * }
+ *
+ * @author rikardwi
+ **/
+public final class InvokerFactory {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private enum Kind { GETTER, SETTER, INVOKER, SUPPLIER }
+
+    private InvokerFactory() {
+    }
+
+    /**
+     * Returns a function which invokes the getter method on its argument.
+     *
+     * @param method An instance method without parameters and with a return type.
+     * @param <T>    Type of the object declaring the method.
+     * @param <R>    Return type of the method.
+     *
+     * @return a function invoking method.
+     * @throws IllegalArgumentException if method is static, has parameters, is void or could not be accessed.
+     **/
+    public static <T, R> Function<T, R> getter(Method method) {
+        if (Modifier.isStatic(method.getModifiers()) || method.getParameterCount() != 0 || method.getReturnType() == Void.TYPE) {
+            throw new IllegalArgumentException("Method " + method + " is not a getter");
+        }
+        return accessor(Kind.GETTER, method, () -> createGetter(method));
+    }
+
+    /**
+     * Returns a consumer which invokes the setter method on its first argument with its second argument.
+     * <p>
+     * The return value of the method, if any, is ignored.
+     *
+     * @param method An instance method with one parameter.
+     * @param <T>    Type of the object declaring the method.
+     * @param <V>    Type of the parameter.
+     *
+     * @return a consumer invoking method.
+     * @throws IllegalArgumentException if method is static, does not have exactly one parameter or could not be accessed.
+     **/
+    public static <T, V> BiConsumer<T, V> setter(Method method) {
+        if (Modifier.isStatic(method.getModifiers()) || method.getParameterCount() != 1) {
+            throw new IllegalArgumentException("Method " + method + " is not a setter");
+        }
+        return accessor(Kind.SETTER, method, () -> createSetter(method));
+    }
+
+    /**
+     * Returns an invoker for any method.
+     *
+     * @param method The method to invoke.
+     *
+     * @return an invoker for method.
+     * @throws IllegalArgumentException if method could not be accessed.
+     **/
+    public static MethodInvoker invoker(Method method) {
+        return accessor(Kind.INVOKER, method, () -> createInvoker(method));
+    }
+
+    /**
+     * Returns a function which returns the value of the field from its argument.
+     *
+     * @param field The field to read, the argument of the function is ignored for static fields.
+     * @param <T>   Type of the object declaring the field.
+     * @param <V>   Type of the field.
+     *
+     * @return a function reading field.
+     * @throws IllegalArgumentException if field could not be accessed.
+     **/
+    public static <T, V> Function<T, V> getter(Field field) {
+        return accessor(Kind.GETTER, field, () -> createGetter(field));
+    }
+
+    /**
+     * Returns a consumer which sets the field of its first argument to its second argument.
+     *
+     * @param field The field to set, the first argument of the consumer is ignored for static fields.
+     * @param <T>   Type of the object declaring the field.
+     * @param <V>   Type of the field.
+     *
+     * @return a consumer setting field.
+     * @throws IllegalArgumentException if field is static final or could not be accessed.
+     **/
+    public static <T, V> BiConsumer<T, V> setter(Field field) {
+        return accessor(Kind.SETTER, field, () -> createSetter(field));
+    }
+
+    /**
+     * Returns a supplier which creates new instances using the default constructor.
+     *
+     * @param constructor A constructor without parameters.
+     * @param <T>         Type of object created.
+     *
+     * @return a supplier invoking constructor.
+     * @throws IllegalArgumentException if constructor has parameters or could not be accessed.
+     **/
+    public static <T> Supplier<T> supplier(Constructor<T> constructor) {
+        if (constructor.getParameterCount() != 0) {
+            throw new IllegalArgumentException("Constructor " + constructor + " is not a default constructor");
+        }
+        return accessor(Kind.SUPPLIER, constructor, () -> createSupplier(constructor));
+    }
+
+    /**
+     * Returns an invoker for any constructor.
+     *
+     * @param constructor The constructor to invoke.
+     * @param <T>         Type of object created.
+     *
+     * @return an invoker for constructor.
+     * @throws IllegalArgumentException if constructor could not be accessed.
+     **/
+    public static <T> ConstructorInvoker<T> invoker(Constructor<T> constructor) {
+        return accessor(Kind.INVOKER, constructor, () -> createInvoker(constructor));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <A> A accessor(Kind kind, Member member, Supplier<Object> factory) {
+        ConcurrentMap<AccessorKey, Object> accessors = ClassMetadata.of(member.getDeclaringClass()).getAccessors();
+        AccessorKey key = new AccessorKey(kind, member);
+        Object accessor = accessors.get(key);
+        if (accessor == null) {
+            accessor = factory.get();
+            Object existing = accessors.putIfAbsent(key, accessor);
+            if (existing != null) {
+                accessor = existing;
+            }
+        }
+        return (A) accessor;
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingThrowable")
+    private static Function<Object, Object> createGetter(Method method) {
+        MethodHandle handle = unreflect(method);
+        if (isLinkable(method)) {
+            Function<Object, Object> getter = metafactory(Function.class, "apply",
+                    MethodType.methodType(Object.class, Object.class), handle, handle.type().wrap());
+            if (getter != null) {
+                return getter;
+            }
+        }
+        MethodHandle generic = handle.asType(MethodType.genericMethodType(1));
+        return target -> {
+            try {
+                return (Object) generic.invokeExact(target);
+            } catch (Throwable e) {
+                throw InvokerFactory.<RuntimeException>propagate(e);
+            }
+        };
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingThrowable")
+    private static BiConsumer<Object, Object> createSetter(Method method) {
+        MethodHandle handle = unreflect(method);
+        if (isLinkable(method)) {
+            BiConsumer<Object, Object> setter = metafactory(BiConsumer.class, "accept",
+                    MethodType.methodType(Void.TYPE, Object.class, Object.class), handle,
+                    handle.type().wrap().changeReturnType(Void.TYPE));
+            if (setter != null) {
+                return setter;
+            }
+        }
+        MethodHandle generic = handle.asType(MethodType.methodType(Void.TYPE, Object.class, Object.class));
+        return (target, value) -> {
+            try {
+                generic.invokeExact(target, value);
+            } catch (Throwable e) {
+                throw InvokerFactory.<RuntimeException>propagate(e);
+            }
+        };
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingThrowable")
+    private static MethodInvoker createInvoker(Method method) {
+        MethodHandle handle = unreflect(method);
+        if (Modifier.isStatic(method.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        MethodHandle spreader = handle.asType(MethodType.genericMethodType(handle.type().parameterCount()))
+                .asSpreader(Object[].class, method.getParameterCount());
+        return (target, args) -> {
+            try {
+                return (Object) spreader.invokeExact(target, args);
+            } catch (Throwable e) {
+                throw InvokerFactory.<RuntimeException>propagate(e);
+            }
+        };
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingThrowable")
+    private static Function<Object, Object> createGetter(Field field) {
+        MethodHandle handle;
+        try {
+            handle = LOOKUP.unreflectGetter(accessible(field));
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Could not access field: " + field, e);
+        }
+        if (Modifier.isStatic(field.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        MethodHandle generic = handle.asType(MethodType.genericMethodType(1));
+        return target -> {
+            try {
+                return (Object) generic.invokeExact(target);
+            } catch (Throwable e) {
+                throw InvokerFactory.<RuntimeException>propagate(e);
+            }
+        };
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingThrowable")
+    private static BiConsumer<Object, Object> createSetter(Field field) {
+        MethodHandle handle;
+        try {
+            handle = LOOKUP.unreflectSetter(accessible(field));
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Could not access field: " + field, e);
+        }
+        if (Modifier.isStatic(field.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        MethodHandle generic = handle.asType(MethodType.methodType(Void.TYPE, Object.class, Object.class));
+        return (target, value) -> {
+            try {
+                generic.invokeExact(target, value);
+            } catch (Throwable e) {
+                throw InvokerFactory.<RuntimeException>propagate(e);
+            }
+        };
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingThrowable")
+    private static Supplier<Object> createSupplier(Constructor<?> constructor) {
+        MethodHandle handle = unreflect(constructor);
+        if (isLinkable(constructor)) {
+            Supplier<Object> supplier = metafactory(Supplier.class, "get",
+                    MethodType.methodType(Object.class), handle, handle.type());
+            if (supplier != null) {
+                return supplier;
+            }
+        }
+        MethodHandle generic = handle.asType(MethodType.genericMethodType(0));
+        return () -> {
+            try {
+                return (Object) generic.invokeExact();
+            } catch (Throwable e) {
+                throw InvokerFactory.<RuntimeException>propagate(e);
+            }
+        };
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingThrowable")
+    private static ConstructorInvoker<Object> createInvoker(Constructor<?> constructor) {
+        MethodHandle handle = unreflect(constructor);
+        MethodHandle spreader = handle.asType(MethodType.genericMethodType(handle.type().parameterCount()))
+                .asSpreader(Object[].class, constructor.getParameterCount());
+        return args -> {
+            try {
+                return (Object) spreader.invokeExact(args);
+            } catch (Throwable e) {
+                throw InvokerFactory.<RuntimeException>propagate(e);
+            }
+        };
+    }
+
+    /**
+     * Returns an instance of samType implemented by implementation, or null if no such instance could be generated.
+     **/
+    @SuppressWarnings({"unchecked", "PMD.AvoidCatchingThrowable"})
+    private static <S> S metafactory(Class<?> samType, String samName, MethodType samMethodType,
+                                     MethodHandle implementation, MethodType instantiatedMethodType) {
+        try {
+            CallSite site = LambdaMetafactory.metafactory(LOOKUP, samName, MethodType.methodType(samType),
+                    samMethodType, implementation, instantiatedMethodType);
+            return (S) site.getTarget().invoke();
+        } catch (LambdaConversionException | LinkageError e) {
+            return null;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Could not create " + samType.getName() + " for " + implementation, e);
+        }
+    }
+
+    private static MethodHandle unreflect(Method method) {
+        try {
+            return LOOKUP.unreflect(method);
+        } catch (IllegalAccessException e) {
+            try {
+                return LOOKUP.unreflect(accessible(method));
+            } catch (IllegalAccessException iae) {
+                throw new IllegalArgumentException("Could not access method: " + method, iae);
+            }
+        }
+    }
+
+    private static MethodHandle unreflect(Constructor<?> constructor) {
+        try {
+            return LOOKUP.unreflectConstructor(constructor);
+        } catch (IllegalAccessException e) {
+            try {
+                return LOOKUP.unreflectConstructor(accessible(constructor));
+            } catch (IllegalAccessException iae) {
+                throw new IllegalArgumentException("Could not access constructor: " + constructor, iae);
+            }
+        }
+    }
+
+    private static Method accessible(Method method) {
+        try {
+            Method copy = method.getDeclaringClass().getDeclaredMethod(method.getName(), method.getParameterTypes());
+            copy.setAccessible(true);
+            return copy;
+        } catch (NoSuchMethodException | RuntimeException e) {
+            throw new IllegalArgumentException("Could not access method: " + method, e);
+        }
+    }
+
+    private static Constructor<?> accessible(Constructor<?> constructor) {
+        try {
+            Constructor<?> copy = constructor.getDeclaringClass().getDeclaredConstructor(constructor.getParameterTypes());
+            copy.setAccessible(true);
+            return copy;
+        } catch (NoSuchMethodException | RuntimeException e) {
+            throw new IllegalArgumentException("Could not access constructor: " + constructor, e);
+        }
+    }
+
+    private static Field accessible(Field field) {
+        try {
+            Field copy = field.getDeclaringClass().getDeclaredField(field.getName());
+            copy.setAccessible(true);
+            return copy;
+        } catch (NoSuchFieldException | RuntimeException e) {
+            throw new IllegalArgumentException("Could not access field: " + field, e);
+        }
+    }
+
+    /**
+     * Returns true if a lambda calling member can be linked from this class, which requires member and all types
+     * in its signature to be public and visible from the class loader of this class.
+     **/
+    private static boolean isLinkable(Member member) {
+        if (!Modifier.isPublic(member.getModifiers()) || !isVisible(member.getDeclaringClass())) {
+            return false;
+        }
+        Class<?>[] parameterTypes;
+        if (member instanceof Method) {
+            Method method = (Method) member;
+            if (!isVisible(method.getReturnType())) {
+                return false;
+            }
+            parameterTypes = method.getParameterTypes();
+        } else {
+            parameterTypes = ((Constructor<?>) member).getParameterTypes();
+        }
+        for (Class<?> parameterType : parameterTypes) {
+            if (!isVisible(parameterType)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isVisible(Class<?> type) {
+        Class<?> componentType = type;
+        while (componentType.isArray()) {
+            componentType = componentType.getComponentType();
+        }
+        if (componentType.isPrimitive()) {
+            return true;
+        }
+        for (Class<?> clazz = componentType; clazz != null; clazz = clazz.getDeclaringClass()) {
+            if (!Modifier.isPublic(clazz.getModifiers())) {
+                return false;
+            }
+        }
+        try {
+            return Class.forName(componentType.getName(), false, InvokerFactory.class.getClassLoader()) == componentType;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends Throwable> RuntimeException propagate(Throwable throwable) throws E {
+        throw (E) throwable;
+    }
+
+    /**
+     * Key of a cached accessor.
+     **/
+    static final class AccessorKey {
+        private final Kind kind;
+        private final Member member;
+
+        AccessorKey(final Kind kind, final Member member) {
+            this.kind = kind;
+            this.member = member;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (!(object instanceof AccessorKey)) {
+                return false;
+            }
+            AccessorKey other = (AccessorKey) object;
+            return kind == other.kind && member.equals(other.member);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * kind.hashCode() + member.hashCode();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package org.kasource.commons.reflection.util;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Predicate;
+
+/**
+ * Applies a filter to a range of a member array, splitting the range into sub tasks run in a
+ * {@link ForkJoinPool} until each task holds at most {@link #SEGMENT_SIZE} members.
+ * <p>
+ * Each task collects its matches into an array of its own, which is concatenated with the matches of its
+ * sibling when joined, so the threads share no state while filtering. The flattened member arrays of
+ * {@link ClassMetadata} holds the members of every class in the hierarchy, so the levels of the hierarchy are
+ * split across tasks as well.
+ * <p>
+ * Members are only filtered in parallel when a pool is supplied, which callers only do when asked to filter
+ * in parallel, as the filter must then be thread-safe and is applied outside the calling thread. Only arrays of
+ * at least {@link #PARALLEL_THRESHOLD} members are filtered in parallel, smaller arrays are filtered in the
+ * calling thread.
+ *
+ * @param <M> Member type
+ * @author rikardwi
+ **/
+final class MemberFilterTask<M> extends RecursiveTask<M[]> {
+    static final int PARALLEL_THRESHOLD = 1024;
+    static final int SEGMENT_SIZE = 256;
+
+    private static final long serialVersionUID = 1L;
+
+    private final M[] members;
+    private final int from;
+    private final int to;
+    private final transient Predicate<? super M> filter;
+
+    private MemberFilterTask(final M[] members, final int from, final int to, final Predicate<? super M> filter) {
+        this.members = members;
+        this.from = from;
+        this.to = to;
+        this.filter = filter;
+    }
+
+    /**
+     * Returns the members matching filter.
+     *
+     * @param <M>       Member type
+     * @param members   The members to filter.
+     * @param filter    The filter to apply, must be thread-safe if pool is not null.
+     * @param pool      The pool to run sub tasks in, or null to filter in the calling thread.
+     *
+     * @return the members matching filter.
+     **/
+    static <M> Set<M> filter(M[] members, Predicate<? super M> filter, ForkJoinPool pool) {
+        if (pool != null && members.length >= PARALLEL_THRESHOLD) {
+            return toSet(pool.invoke(new MemberFilterTask<>(members, 0, members.length, filter)));
+        }
+        Set<M> matches = new HashSet<>();
+        for (M member : members) {
+            if (filter.test(member)) {
+                matches.add(member);
+            }
+        }
+        return matches;
+    }
+
+    @Override
+    protected M[] compute() {
+        if (to - from <= SEGMENT_SIZE) {
+            return filterSegment(members, from, to, filter);
+        }
+        int middle = (from + to) >>> 1;
+        MemberFilterTask<M> right = new MemberFilterTask<>(members, middle, to, filter);
+        right.fork();
+        M[] left = new MemberFilterTask<>(members, from, middle, filter).compute();
+        return concat(left, right.join());
+    }
+
+    /**
+     * Returns the members in the range from, inclusive, to to, exclusive, matching filter.
+     *
+     * @param <M>     Member type
+     * @param members The members to filter.
+     * @param from    Index of the first member to filter.
+     * @param to      Index after the last member to filter.
+     * @param filter  The filter to apply.
+     *
+     * @return the members matching filter, in the order of members.
+     **/
+    @SuppressWarnings("unchecked")
+    static <M> M[] filterSegment(M[] members, int from, int to, Predicate<? super M> filter) {
+        M[] matches = (M[]) Array.newInstance(members.getClass().getComponentType(), to - from);
+        int size = 0;
+        for (int i = from; i < to; i++) {
+            if (filter.test(members[i])) {
+                matches[size++] = members[i];
+            }
+        }
+        return size == matches.length ? matches : Arrays.copyOf(matches, size);
+    }
+
+    /**
+     * Returns the members of first followed by the members of second, returns either array as is if the
+     * other is empty.
+     *
+     * @param <M>    Member type
+     * @param first  The first members.
+     * @param second The members to append.
+     *
+     * @return the members of first and second.
+     **/
+    static <M> M[] concat(M[] first, M[] second) {
+        if (second.length == 0) {
+            return first;
+        }
+        if (first.length == 0) {
+            return second;
+        }
+        M[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+
+    private static <M> Set<M> toSet(M[] matches) {
+        Set<M> set = new HashSet<>(Math.max(16, (int) (matches.length / .75f) + 1));
+        set.addAll(Arrays.asList(matches));
+        return set;
+    }
+}
@@ -0,0 +1,148 @@
+package org.kasource.commons.reflection.util;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Array;
+import java.lang.reflect.Member;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+
+import org.kasource.commons.reflection.filter.impl.FilterPlan;
+
+/**
+ * Index of an array of members by name, modifier and annotation, used to select the candidate members of a
+ * {@link FilterPlan} instead of applying a filter to every member.
+ * <p>
+ * Each part of the index is built on first use: the name index when a name is looked up, the members of a
+ * modifier when that modifier is looked up and the members of an annotation when that annotation is looked
+ * up. Once built, a lookup is a hash or array lookup.
+ * <p>
+ * The arrays returned are shared, and must never be modified or handed out to callers.
+ *
+ * @param <M> Member type
+ * @author rikardwi
+ **/
+final class MemberIndex<M extends AccessibleObject & Member> {
+    private static final int MODIFIER_BITS = Integer.SIZE;
+
+    private final M[] members;
+    private final M[] noMembers;
+    private volatile Map<String, M[]> byName;
+    private final AtomicReferenceArray<M[]> byModifier = new AtomicReferenceArray<>(MODIFIER_BITS);
+    private final ConcurrentMap<Class<? extends Annotation>, M[]> byAnnotation = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param members The members to index.
+     **/
+    @SuppressWarnings("unchecked")
+    MemberIndex(final M[] members) {
+        this.members = members;
+        this.noMembers = (M[]) Array.newInstance(members.getClass().getComponentType(), 0);
+    }
+
+    /**
+     * Returns the members which may pass a filter with the supplied plan: the members of the name if the plan
+     * has a literal name, else the members of the smallest index entry matching any of the modifiers or the
+     * annotation of the plan, or all members if the plan has no conditions.
+     *
+     * @param plan The plan of the filter.
+     *
+     * @return the candidate members of plan.
+     **/
+    M[] candidates(FilterPlan plan) {
+        if (plan.getName() != null) {
+            return getByName(plan.getName());
+        }
+        M[] candidates = members;
+        int modifiers = plan.getRequiredModifiers();
+        while (modifiers != 0 && candidates.length > 0) {
+            int bit = Integer.lowestOneBit(modifiers);
+            candidates = smallest(candidates, getByModifier(bit));
+            modifiers &= ~bit;
+        }
+        if (plan.getAnnotation() != null && candidates.length > 0) {
+            candidates = smallest(candidates, getByAnnotation(plan.getAnnotation()));
+        }
+        return candidates;
+    }
+
+    /**
+     * Returns the members named name.
+     *
+     * @param name The name of the members.
+     *
+     * @return the members named name.
+     **/
+    M[] getByName(String name) {
+        Map<String, M[]> index = byName;
+        if (index == null) {
+            Map<String, List<M>> grouped = new HashMap<>();
+            for (M member : members) {
+                grouped.computeIfAbsent(member.getName(), n -> new ArrayList<>()).add(member);
+            }
+            index = new HashMap<>(Math.max(16, (int) (grouped.size() / .75f) + 1));
+            for (Map.Entry<String, List<M>> named : grouped.entrySet()) {
+                index.put(named.getKey(), named.getValue().toArray(noMembers));
+            }
+            byName = index;
+        }
+        return index.getOrDefault(name, noMembers);
+    }
+
+    /**
+     * Returns the members which has the modifier.
+     *
+     * @param modifier A single modifier bit, see {@link java.lang.reflect.Modifier}.
+     *
+     * @return the members which has the modifier.
+     **/
+    M[] getByModifier(int modifier) {
+        int bit = Integer.numberOfTrailingZeros(modifier);
+        M[] result = byModifier.get(bit);
+        if (result == null) {
+            result = select(m -> (m.getModifiers() & modifier) != 0);
+            byModifier.set(bit, result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the members annotated with annotation.
+     *
+     * @param annotation The annotation.
+     *
+     * @return the members annotated with annotation.
+     **/
+    M[] getByAnnotation(Class<? extends Annotation> annotation) {
+        M[] result = byAnnotation.get(annotation);
+        if (result == null) {
+            result = select(m -> AnnotationUtils.isAnnotated(m, annotation));
+            byAnnotation.putIfAbsent(annotation, result);
+        }
+        return result;
+    }
+
+    private M[] select(Predicate<M> predicate) {
+        M[] selected = Arrays.copyOf(members, members.length);
+        int size = 0;
+        for (M member : members) {
+            if (predicate.test(member)) {
+                selected[size++] = member;
+            }
+        }
+        return size == members.length ? members : Arrays.copyOf(selected, size);
+    }
+
+    private static <M> M[] smallest(M[] first, M[] second) {
+        return second.length < first.length ? second : first;
+    }
+}
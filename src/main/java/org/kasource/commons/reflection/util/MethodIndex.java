@@ -0,0 +1,105 @@
+package org.kasource.commons.reflection.util;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of methods by name and number of parameters.
+ * <p>
+ * For each method name the index holds all methods of that name, and the same methods grouped by their
+ * number of parameters, so that lookups by name or by name and number of parameters are hash lookups
+ * instead of scans over all methods.
+ * <p>
+ * The arrays returned are shared, and must never be modified or handed out to callers.
+ *
+ * @author rikardwi
+ **/
+final class MethodIndex {
+    private static final Method[] NO_METHODS = new Method[0];
+
+    private final Map<String, Entry> entries;
+
+    private MethodIndex(final Map<String, Entry> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Creates the index of methods.
+     *
+     * @param methods The methods to index.
+     *
+     * @return the index of methods.
+     **/
+    static MethodIndex of(Method[] methods) {
+        Map<String, List<Method>> byName = new LinkedHashMap<>();
+        for (Method method : methods) {
+            byName.computeIfAbsent(method.getName(), n -> new ArrayList<>()).add(method);
+        }
+        Map<String, Entry> entries = new HashMap<>(Math.max(16, (int) (byName.size() / .75f) + 1));
+        for (Map.Entry<String, List<Method>> named : byName.entrySet()) {
+            entries.put(named.getKey(), new Entry(named.getValue().toArray(NO_METHODS)));
+        }
+        return new MethodIndex(entries);
+    }
+
+    /**
+     * Returns the methods named name.
+     *
+     * @param name Name of the methods.
+     *
+     * @return the methods named name, an empty array if no method has that name.
+     **/
+    Method[] get(String name) {
+        Entry entry = entries.get(name);
+        return entry == null ? NO_METHODS : entry.methods;
+    }
+
+    /**
+     * Returns the methods named name which takes numberOfParameters parameters.
+     *
+     * @param name               Name of the methods.
+     * @param numberOfParameters The number of parameters of the methods.
+     *
+     * @return the matching methods, an empty array if no method matches.
+     **/
+    Method[] get(String name, int numberOfParameters) {
+        Entry entry = entries.get(name);
+        if (entry == null || numberOfParameters < 0 || numberOfParameters >= entry.byNumberOfParameters.length) {
+            return NO_METHODS;
+        }
+        return entry.byNumberOfParameters[numberOfParameters];
+    }
+
+    /**
+     * The methods of a single name.
+     **/
+    private static final class Entry {
+        private final Method[] methods;
+        private final Method[][] byNumberOfParameters;
+
+        Entry(final Method[] methods) {
+            this.methods = methods;
+            int maxParameters = 0;
+            for (Method method : methods) {
+                maxParameters = Math.max(maxParameters, method.getParameterCount());
+            }
+            int[] counts = new int[maxParameters + 1];
+            for (Method method : methods) {
+                counts[method.getParameterCount()]++;
+            }
+            this.byNumberOfParameters = new Method[maxParameters + 1][];
+            for (int i = 0; i < counts.length; i++) {
+                byNumberOfParameters[i] = counts[i] == 0 ? NO_METHODS : new Method[counts[i]];
+                counts[i] = 0;
+            }
+            for (Method method : methods) {
+                int parameterCount = method.getParameterCount();
+                byNumberOfParameters[parameterCount][counts[parameterCount]++] = method;
+            }
+        }
+    }
+}
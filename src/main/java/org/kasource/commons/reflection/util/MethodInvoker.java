@@ -0,0 +1,24 @@
+package org.kasource.commons.reflection.util;
+
+/**
+ * Invokes a method without going through reflection.
+ * <p>
+ * Use {@link InvokerFactory#invoker(java.lang.reflect.Method)} to create an invoker.
+ *
+ * @author rikardwi
+ **/
+@FunctionalInterface
+public interface MethodInvoker {
+
+    /**
+     * Invokes the method.
+     * <p>
+     * Exceptions thrown by the method are propagated as is, checked exceptions are not wrapped.
+     *
+     * @param target The object to invoke the method on, ignored for static methods.
+     * @param args   The arguments to pass to the method.
+     *
+     * @return the value returned by the method, null if the method is void.
+     **/
+    Object invoke(Object target, Object... args);
+}
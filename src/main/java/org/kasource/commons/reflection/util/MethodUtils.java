@@ -5,20 +5,30 @@ import java.lang.reflect.Method;
 import java.util.AbstractMap;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 import org.kasource.commons.reflection.filter.MethodFilter;
 import org.kasource.commons.reflection.filter.builder.MethodFilterBuilder;
 import org.kasource.commons.reflection.filter.impl.AndMethodFilter;
+import org.kasource.commons.reflection.filter.impl.FilterPlan;
 
 /**
  * Utility class for Method based introspection.
+ * <p>
+ * Methods are returned from arrays resolved once per class, so the same Method instances are returned to every
+ * caller rather than a new copy per call as Class.getDeclaredMethods() does. Callers must not change the
+ * accessible flag of a returned method, use {@link InvokerFactory} to invoke non public methods.
  *
  * @author rikardwi
  **/
 public final class MethodUtils {
+    private static final Class<?>[] NO_PARAMETERS = new Class<?>[0];
 
     private MethodUtils() {
     }
@@ -26,18 +36,37 @@ public final class MethodUtils {
 
     /**
      * Returns the named method from class <i>clazz</i>, does not throw checked exceptions.
+     * <p>
+     * Unlike Class.getDeclaredMethod, which returns a new copy on each call, the method is looked up in an index
+     * created once per class and the same instance is returned to every caller. Callers must therefore not
+     * change its accessible flag, use {@link InvokerFactory} to invoke a non public method.
      *
      * @param clazz  The class to inspect
      * @param name   The name of the method to get
      * @param params Parameter types for the method
      *
-     * @return Returns the named method from class <i>clazz</i>.
+     * @return Returns the named method from class <i>clazz</i>, shared with other callers.
      * @throws IllegalArgumentException if method could not be found or security
      *                                  issues occurred, when trying to retrieve the method.
      */
     public static Method getDeclaredMethod(Class<?> clazz, String name, Class<?>... params) {
+        Class<?>[] parameterTypes = params == null ? NO_PARAMETERS : params;
+        Method found = null;
+        for (Method method : ClassMetadata.of(clazz).getDeclaredMethodIndex().get(name, parameterTypes.length)) {
+            if (Arrays.equals(method.getParameterTypes(), parameterTypes)) {
+                if (found != null) {
+                    // Bridge methods, let the JDK pick the method with the most specific return type
+                    found = null;
+                    break;
+                }
+                found = method;
+            }
+        }
+        if (found != null) {
+            return found;
+        }
         try {
-            return clazz.getDeclaredMethod(name, params);
+            return clazz.getDeclaredMethod(name, parameterTypes);
         } catch (Exception e) {
             throw new IllegalArgumentException("Could not access method: " + name + " on " + clazz, e);
         }
@@ -74,28 +103,159 @@ public final class MethodUtils {
      * method filter.
      **/
     public static Set<Method> getDeclaredMethods(Class<?> clazz, MethodFilter methodFilter) {
-        return Arrays.stream(clazz.getDeclaredMethods())
-                .filter(m -> methodFilter.apply(m))
-                .collect(Collectors.toSet());
+        return declaredMethods(clazz, methodFilter, null);
+    }
+
+    /**
+     * Returns the methods declared by clazz which matches the supplied
+     * method filter.
+     * <p>
+     * Classes declaring many methods are filtered in parallel using the threads of pool, so methodFilter must be
+     * thread-safe and must not depend on the calling thread.
+     *
+     * @param clazz        The class to inspect
+     * @param methodFilter The method filter to apply.
+     * @param pool         The pool to filter large classes in.
+     *
+     * @return methods that match which matches the supplied
+     * method filter.
+     **/
+    public static Set<Method> getDeclaredMethods(Class<?> clazz, MethodFilter methodFilter, ForkJoinPool pool) {
+        return declaredMethods(clazz, methodFilter, Objects.requireNonNull(pool, "pool"));
+    }
+
+    private static Set<Method> declaredMethods(Class<?> clazz, MethodFilter methodFilter, ForkJoinPool pool) {
+        return filter(ClassMetadata.of(clazz).getDeclaredMethodCandidates(FilterPlan.ofMethodFilter(methodFilter)), methodFilter, pool);
+    }
+
+    /**
+     * Returns the methods named name declared by clazz.
+     * <p>
+     * Methods are looked up in an index by name which is created once per class, the methods returned are
+     * shared with other callers and their accessible flag must not be changed.
+     *
+     * @param clazz The class to inspect.
+     * @param name  The name of the methods.
+     *
+     * @return the methods named name, as an unmodifiable set.
+     **/
+    public static Set<Method> getDeclaredMethodsByName(Class<?> clazz, String name) {
+        return toSet(ClassMetadata.of(clazz).getDeclaredMethodIndex().get(name));
+    }
+
+    /**
+     * Returns the methods named name declared by clazz, which takes numberOfParameters parameters.
+     * <p>
+     * Methods are looked up in an index by name and number of parameters which is created once per class, the
+     * methods returned are shared with other callers and their accessible flag must not be changed.
+     *
+     * @param clazz              The class to inspect.
+     * @param name               The name of the methods.
+     * @param numberOfParameters The number of parameters.
+     *
+     * @return the methods named name which takes numberOfParameters parameters, as an unmodifiable set.
+     **/
+    public static Set<Method> getDeclaredMethodsByName(Class<?> clazz, String name, int numberOfParameters) {
+        return toSet(ClassMetadata.of(clazz).getDeclaredMethodIndex().get(name, numberOfParameters));
+    }
+
+    /**
+     * Returns the methods named name declared by the target class and any of its super classes.
+     * <p>
+     * Methods are looked up in an index by name which is created once per class, the methods returned are
+     * shared with other callers and their accessible flag must not be changed.
+     *
+     * @param target The class to inspect.
+     * @param name   The name of the methods.
+     *
+     * @return the methods named name, as an unmodifiable set.
+     **/
+    public static Set<Method> getMethodsByName(Class<?> target, String name) {
+        return toSet(ClassMetadata.of(target).getMethodIndex().get(name));
+    }
+
+    /**
+     * Returns the methods named name declared by the target class and any of its super classes, which takes
+     * numberOfParameters parameters.
+     * <p>
+     * Methods are looked up in an index by name and number of parameters which is created once per class, the
+     * methods returned are shared with other callers and their accessible flag must not be changed.
+     *
+     * @param target             The class to inspect.
+     * @param name               The name of the methods.
+     * @param numberOfParameters The number of parameters.
+     *
+     * @return the methods named name which takes numberOfParameters parameters, as an unmodifiable set.
+     **/
+    public static Set<Method> getMethodsByName(Class<?> target, String name, int numberOfParameters) {
+        return toSet(ClassMetadata.of(target).getMethodIndex().get(name, numberOfParameters));
     }
 
     /**
      * Returns the methods declared by the target class and any of its super classes, which matches the supplied
      * methodFilter.
+     * <p>
+     * The result of a {@link MethodFilter#isCacheable() cacheable} filter is cached per target class and
+     * filter instance, a new set is returned on each call.
      *
      * @param target  The class to inspect.
      * @param methodFilter The method filter to apply.
      *
      * @return methods that match the methodFilter.
      **/
-    @SuppressWarnings("PMD.AssignmentInOperand")
     public static Set<Method> getMethods(Class<?> target, MethodFilter methodFilter) {
-        Class<?> clazz = target;
-        Set<Method> matches = getDeclaredMethods(clazz, methodFilter);
-        while ((clazz = clazz.getSuperclass()) != null) {
-            matches.addAll(getDeclaredMethods(clazz, methodFilter));
+        return methods(target, methodFilter, null);
+    }
+
+    /**
+     * Returns the methods declared by the target class and any of its super classes, which matches the supplied
+     * methodFilter.
+     * <p>
+     * The result of a {@link MethodFilter#isCacheable() cacheable} filter is cached per target class and
+     * filter instance, a new set is returned on each call. Classes with many methods in their hierarchy are
+     * filtered in parallel using the threads of pool, so methodFilter must be thread-safe and must not depend on
+     * the calling thread.
+     *
+     * @param target       The class to inspect.
+     * @param methodFilter The method filter to apply.
+     * @param pool         The pool to filter large classes in.
+     *
+     * @return methods that match the methodFilter.
+     **/
+    public static Set<Method> getMethods(Class<?> target, MethodFilter methodFilter, ForkJoinPool pool) {
+        return methods(target, methodFilter, Objects.requireNonNull(pool, "pool"));
+    }
+
+    private static Set<Method> methods(Class<?> target, MethodFilter methodFilter, ForkJoinPool pool) {
+        ClassMetadata metadata = ClassMetadata.of(target);
+        if (methodFilter.isCacheable()) {
+            return metadata.getMethodResults().get(methodFilter,
+                    f -> filter(metadata.getMethodCandidates(FilterPlan.ofMethodFilter(f)), f, pool));
         }
-        return matches;
+        return filter(metadata.getMethodCandidates(FilterPlan.ofMethodFilter(methodFilter)), methodFilter, pool);
+    }
+
+    /**
+     * Returns the effective methods of the target class which matches the supplied methodFilter.
+     * <p>
+     * The effective methods are the methods declared by the target class, the methods of its super classes which
+     * are not overridden and the default methods of its interfaces which are not overridden, so each method
+     * signature occurs only once. The effective methods are resolved once per class.
+     * <p>
+     * The result of a {@link MethodFilter#isCacheable() cacheable} filter is cached per target class and
+     * filter instance, a new set is returned on each call.
+     *
+     * @param target       The class to inspect.
+     * @param methodFilter The method filter to apply.
+     *
+     * @return effective methods that match the methodFilter.
+     **/
+    public static Set<Method> getEffectiveMethods(Class<?> target, MethodFilter methodFilter) {
+        ClassMetadata metadata = ClassMetadata.of(target);
+        if (methodFilter.isCacheable()) {
+            return metadata.getEffectiveMethodResults().get(methodFilter, f -> filter(metadata.getEffectiveMethods(), f));
+        }
+        return filter(metadata.getEffectiveMethods(), methodFilter);
     }
 
     /**
@@ -129,11 +289,30 @@ public final class MethodUtils {
                                                                                      MethodFilter methodFilter,
                                                                                      Collection<Class<? extends Annotation>> annotations) {
         return annotations.stream()
-                .map(a -> new AbstractMap.SimpleEntry<>(a, getMethods(clazz, getFilterFor(a, methodFilter))))
+                .map(a -> new AbstractMap.SimpleEntry<>(a, filter(ClassMetadata.of(clazz).getMethods(), getFilterFor(a, methodFilter))))
                 .collect(Collectors.toMap(e -> e.getKey(), e -> e.getValue()));
     }
 
 
+    private static Set<Method> filter(Method[] methods, MethodFilter methodFilter) {
+        return filter(methods, methodFilter, null);
+    }
+
+    private static Set<Method> filter(Method[] methods, MethodFilter methodFilter, ForkJoinPool pool) {
+        return MemberFilterTask.filter(methods, methodFilter::apply, pool);
+    }
+
+    private static Set<Method> toSet(Method[] methods) {
+        switch (methods.length) {
+            case 0:
+                return Collections.emptySet();
+            case 1:
+                return Collections.singleton(methods[0]);
+            default:
+                return Collections.unmodifiableSet(new HashSet<>(Arrays.asList(methods)));
+        }
+    }
+
     private static MethodFilter getFilterFor(Class<? extends Annotation> annotation, MethodFilter methodFilter) {
         MethodFilter annotationFilter = new MethodFilterBuilder().annotated(annotation).build();
         if (methodFilter != null) {
@@ -9,6 +9,7 @@ import java.lang.annotation.Target;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.EventListener;
 import java.util.HashSet;
 import java.util.Map;
@@ -220,6 +221,18 @@ public class ClassIntrospectorTest {
         introspector.findFirstConstructor(constructorFilter, MyBase.class);
     }
 
+    @Test
+    public void getTarget() {
+        assertThat(introspector.getTarget(), equalTo((Object) MyClass.class));
+    }
+
+    @Test
+    public void getEffectiveMethods() throws NoSuchMethodException {
+        Set<Method> methods = introspector.getEffectiveMethods(new MethodFilterBuilder().name("run").build());
+
+        assertThat(methods, equalTo((Set<Method>) new HashSet<>(Arrays.asList(MyBase.class.getMethod("run")))));
+    }
+
     @Test
     public void isAnnotationPresentTrue() {
         assertThat(introspector.isAnnotationPresent(ClassAnnotation2.class), is(true));
@@ -1,14 +1,22 @@
 package org.kasource.commons.reflection.annotation;
 
+import java.lang.annotation.Annotation;
 import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.util.HashMap;
+import java.util.Map;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.Resource;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 
 import org.junit.Test;
 import org.unitils.inject.annotation.InjectInto;
@@ -85,6 +93,160 @@ public class AnnotationBuilderTest {
         assertThat(annotation, equalTo(target));
     }
 
+    @Test
+    public void generatedClass() {
+        Resource first = new AnnotationBuilder<Resource>(Resource.class).attr("name", "first").build();
+        Resource second = new AnnotationBuilder<Resource>(Resource.class).attr("name", "second").build();
+        assertThat(first, instanceOf(SyntheticAnnotation.class));
+        assertThat(first.getClass(), sameInstance((Object) second.getClass()));
+        assertThat(first.name(), equalTo("first"));
+        assertThat(second.name(), equalTo("second"));
+        assertThat(first, not(equalTo(second)));
+    }
+
+    @Test
+    public void allAttributeTypes() {
+        AllTypes declared = AnnotatedClass.class.getAnnotation(AllTypes.class);
+        AllTypes annotation = new AnnotationBuilder<AllTypes>(AllTypes.class)
+                .attr("intValue", 1)
+                .attr("booleanValue", true)
+                .attr("charValue", 'c')
+                .attr("doubleValue", 1.5)
+                .attr("longValue", 2L)
+                .attr("intArray", new int[]{1, 2})
+                .attr("type", String.class)
+                .attr("elementType", ElementType.FIELD)
+                .attr("names", new String[]{"a", "b"})
+                .attr("target", declared.target())
+                .build();
+
+        assertThat(annotation, instanceOf(SyntheticAnnotation.class));
+        assertThat(annotation.intValue(), is(1));
+        assertThat(annotation.booleanValue(), is(true));
+        assertThat(annotation.charValue(), is('c'));
+        assertThat(annotation.doubleValue(), is(1.5));
+        assertThat(annotation.longValue(), is(2L));
+        assertThat(annotation.intArray()[1], is(2));
+        assertThat(annotation.type(), equalTo((Object) String.class));
+        assertThat(annotation.elementType(), is(ElementType.FIELD));
+        assertThat(annotation.names()[0], equalTo("a"));
+        assertThat(annotation.defaultValue(), equalTo("default"));
+        assertThat(annotation.equals(declared), is(true));
+        assertThat(declared.equals(annotation), is(true));
+        assertThat(annotation.hashCode(), is(declared.hashCode()));
+        assertThat(annotation.toString(), equalTo("@" + AllTypes.class.getName() + "(booleanValue = 'true', charValue = 'c', "
+                + "defaultValue = 'default', doubleValue = '1.5', elementType = 'FIELD', intArray = '[1, 2]', intValue = '1', "
+                + "longValue = '2', names = '[a, b]', target = '" + declared.target() + "', type = 'class java.lang.String')"));
+    }
+
+    @Test
+    public void hashMapKeyWithDeclaredAnnotations() {
+        Map<Annotation, String> map = new HashMap<>();
+        map.put(AnnotatedClass.class.getAnnotation(AllTypes.class), "declared");
+        map.put(PostConstruct.class.getAnnotation(Target.class), "target");
+
+        AllTypes built = new AnnotationBuilder<AllTypes>(AllTypes.class)
+                .attr("intValue", 1)
+                .attr("booleanValue", true)
+                .attr("charValue", 'c')
+                .attr("doubleValue", 1.5)
+                .attr("longValue", 2L)
+                .attr("intArray", new int[]{1, 2})
+                .attr("type", String.class)
+                .attr("elementType", ElementType.FIELD)
+                .attr("names", new String[]{"a", "b"})
+                .attr("target", AnnotatedClass.class.getAnnotation(AllTypes.class).target())
+                .build();
+        Target target = new AnnotationBuilder<Target>(Target.class).value(ElementType.METHOD).build();
+
+        assertThat(map.get(built), equalTo("declared"));
+        assertThat(map.get(target), equalTo("target"));
+        assertThat(target.equals(new AnnotationBuilder<Target>(Target.class).value(ElementType.FIELD).build()), is(false));
+    }
+
+    @Test
+    public void arrayAttributesAreCopied() {
+        AllTypes annotation = new AnnotationBuilder<AllTypes>(AllTypes.class)
+                .attr("intArray", new int[]{1, 2})
+                .attr("names", new String[]{"a", "b"})
+                .attr("target", AnnotatedClass.class.getAnnotation(AllTypes.class).target())
+                .build();
+
+        annotation.intArray()[0] = 3;
+        annotation.names()[0] = "c";
+
+        assertThat(annotation.intArray()[0], is(1));
+        assertThat(annotation.names()[0], equalTo("a"));
+    }
+
+    @Test
+    public void internedReturnsCanonicalInstance() {
+        Resource first = new AnnotationBuilder<Resource>(Resource.class).attr("name", "x").interned().build();
+        Resource second = new AnnotationBuilder<Resource>(Resource.class).attr("name", "x").interned().build();
+        Resource other = new AnnotationBuilder<Resource>(Resource.class).attr("name", "y").interned().build();
+
+        assertThat(second, sameInstance(first));
+        assertThat(other, not(sameInstance(first)));
+        assertThat(other.equals(first), is(false));
+    }
+
+    @Test
+    public void notInternedReturnsNewInstance() {
+        Resource interned = new AnnotationBuilder<Resource>(Resource.class).attr("name", "x").interned().build();
+        Resource built = new AnnotationBuilder<Resource>(Resource.class).attr("name", "x").build();
+
+        assertThat(built, not(sameInstance(interned)));
+        assertThat(built, equalTo(interned));
+    }
+
+    @Test
+    public void internedArrayAttributes() {
+        int[] intArray = new int[]{1, 2};
+        AllTypes first = new AnnotationBuilder<AllTypes>(AllTypes.class)
+                .attr("intArray", intArray)
+                .attr("names", new String[]{"a", "b"})
+                .attr("target", AnnotatedClass.class.getAnnotation(AllTypes.class).target())
+                .interned()
+                .build();
+        intArray[0] = 3;
+        AllTypes second = new AnnotationBuilder<AllTypes>(AllTypes.class)
+                .attr("intArray", new int[]{1, 2})
+                .attr("names", new String[]{"a", "b"})
+                .attr("target", AnnotatedClass.class.getAnnotation(AllTypes.class).target())
+                .interned()
+                .build();
+
+        assertThat(second, sameInstance(first));
+        assertThat(first.intArray()[0], is(1));
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface AllTypes {
+        int intValue() default 0;
+
+        boolean booleanValue() default false;
+
+        char charValue() default 'a';
+
+        double doubleValue() default 0;
+
+        long longValue() default 0;
+
+        int[] intArray();
+
+        Class<?> type() default Object.class;
+
+        ElementType elementType() default ElementType.TYPE;
+
+        String[] names();
+
+        Target target();
+
+        String defaultValue() default "default";
+    }
+
+    @AllTypes(intValue = 1, booleanValue = true, charValue = 'c', doubleValue = 1.5, longValue = 2L, intArray = {1, 2},
+            type = String.class, elementType = ElementType.FIELD, names = {"a", "b"}, target = @Target(ElementType.METHOD))
     private static class AnnotatedClass {
         @Resource(name = "Test")
         private String variable;
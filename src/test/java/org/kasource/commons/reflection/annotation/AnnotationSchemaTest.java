@@ -0,0 +1,93 @@
+package org.kasource.commons.reflection.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.junit.Test;
+
+public class AnnotationSchemaTest {
+
+    @Test
+    public void cachedPerAnnotationType() {
+        assertThat(AnnotationSchema.of(Schema.class), sameInstance(AnnotationSchema.of(Schema.class)));
+    }
+
+    @Test
+    public void attributesOrderedByName() {
+        AnnotationSchema schema = AnnotationSchema.of(Schema.class);
+
+        assertThat(schema.getAttributes().length, is(4));
+        assertThat(schema.getName(0), equalTo("count"));
+        assertThat(schema.getName(1), equalTo("elementTypes"));
+        assertThat(schema.getName(2), equalTo("name"));
+        assertThat(schema.getName(3), equalTo("type"));
+        assertThat(schema.indexOf("name"), is(2));
+        assertThat(schema.getType(0), equalTo((Class) int.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void indexOfUnknownAttribute() {
+        AnnotationSchema.of(Schema.class).indexOf("unknown");
+    }
+
+    @Test
+    public void defaultValues() {
+        AnnotationSchema schema = AnnotationSchema.of(Schema.class);
+        Object[] defaultValues = schema.newDefaultValues();
+        defaultValues[0] = 2;
+
+        assertThat(schema.newDefaultValues(), not(sameInstance(defaultValues)));
+        assertThat(schema.newDefaultValues()[0], equalTo((Object) 1));
+        assertThat((ElementType[]) defaultValues[1], arrayContaining(ElementType.TYPE));
+        assertThat(defaultValues[2], nullValue());
+        assertThat(defaultValues[3], equalTo((Object) Object.class));
+    }
+
+    @Test
+    public void validate() {
+        AnnotationSchema schema = AnnotationSchema.of(Schema.class);
+
+        schema.validate(0, Integer.class);
+        schema.validate(1, ElementType.class);
+        schema.validate(1, ElementType[].class);
+        schema.validate(2, String.class);
+        schema.validate(3, Class.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void validateWrongWrapper() {
+        AnnotationSchema.of(Schema.class).validate(0, Long.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void validateWrongComponentType() {
+        AnnotationSchema.of(Schema.class).validate(1, String.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void validateWrongArrayType() {
+        AnnotationSchema.of(Schema.class).validate(1, String[].class);
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.TYPE)
+    @interface Schema {
+        String name();
+
+        int count() default 1;
+
+        Class<?> type() default Object.class;
+
+        ElementType[] elementTypes() default ElementType.TYPE;
+    }
+}
@@ -1,7 +1,10 @@
 package org.kasource.commons.reflection.annotation.cglib;
 
 import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
 import java.lang.reflect.Method;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
@@ -12,6 +15,8 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.Mockito.when;
 
@@ -214,9 +219,59 @@ public class AnnotationMethodInterceptorTest {
     public void hashCodeTest() throws Throwable {
         Method method = MyClass.class.getMethod("hashCode");
         Object[] args = {};
-        int hashCode = proxy.hashCode();
+        Resource resource = MyClass.class.getMethod("annotationType").getAnnotation(Resource.class);
+        Map<String, Method> resourceAttributes = new HashMap<>();
+        Map<String, Object> resourceAttributeData = new HashMap<>();
+        for (Method attribute : Resource.class.getDeclaredMethods()) {
+            resourceAttributes.put(attribute.getName(), attribute);
+            resourceAttributeData.put(attribute.getName(), attribute.invoke(resource));
+        }
+        AnnotationMethodInterceptor resourceInterceptor =
+                new AnnotationMethodInterceptor(Resource.class, resourceAttributes, resourceAttributeData);
+
+        assertThat(resourceInterceptor.intercept(obj, method, args, proxy), equalTo((Object) resource.hashCode()));
+    }
+
+    @Test
+    public void arrayAttributeIsCloned() throws Throwable {
+        Method valueMethod = PrimitiveArray.class.getMethod("value");
+        Map<String, Method> arrayAttributes = new HashMap<>();
+        arrayAttributes.put("value", valueMethod);
+        Map<String, Object> arrayAttributeData = new HashMap<>();
+        int[] value = {1, 2};
+        arrayAttributeData.put("value", value);
+        AnnotationMethodInterceptor arrayInterceptor =
+                new AnnotationMethodInterceptor(PrimitiveArray.class, arrayAttributes, arrayAttributeData);
+
+        int[] returned = (int[]) arrayInterceptor.intercept(obj, valueMethod, new Object[0], proxy);
+        returned[0] = 3;
+
+        assertThat(returned, not(sameInstance(value)));
+        assertThat(value[0], equalTo(1));
+        assertThat((int[]) arrayInterceptor.intercept(obj, valueMethod, new Object[0], proxy), equalTo(new int[]{1, 2}));
+    }
+
+    @Test
+    public void equalsPrimitiveArray() throws Throwable {
+        Method method = MyClass.class.getMethod("equals", Object.class);
+        Method valueMethod = PrimitiveArray.class.getMethod("value");
+        Object[] args = {MyClass.class.getAnnotation(PrimitiveArray.class)};
+        Map<String, Method> arrayAttributes = new HashMap<>();
+        arrayAttributes.put("value", valueMethod);
+        Map<String, Object> arrayAttributeData = new HashMap<>();
+        arrayAttributeData.put("value", new int[]{1, 2});
+        AnnotationMethodInterceptor arrayInterceptor =
+                new AnnotationMethodInterceptor(PrimitiveArray.class, arrayAttributes, arrayAttributeData);
+
+        assertThat(arrayInterceptor.intercept(obj, method, args, proxy), equalTo((Object) true));
+        arrayAttributeData.put("value", new int[]{2, 1});
+        assertThat(new AnnotationMethodInterceptor(PrimitiveArray.class, arrayAttributes, arrayAttributeData)
+                .intercept(obj, method, args, proxy), equalTo((Object) false));
+    }
 
-        assertThat(interceptor.intercept(obj, method, args, proxy), equalTo((Object) hashCode));
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface PrimitiveArray {
+        int[] value();
     }
 
 
@@ -234,6 +289,7 @@ public class AnnotationMethodInterceptorTest {
     }
 
     @Resource
+    @PrimitiveArray({1, 2})
     private static class MyClass {
 
         @Resource(name = "annotationType")
@@ -1,13 +1,22 @@
 package org.kasource.commons.reflection.collection;
 
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.RandomAccess;
 
 import javax.management.AttributeList;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
 
@@ -39,4 +48,54 @@ public class ClassMapTest {
         ClassMap<String> classMap = new ClassMap<String>(map);
         assertThat(classMap.get(AttributeList.class), equalTo("List"));
     }
+
+    @Test
+    public void getBySuperInterface() {
+        Map<Class<?>, String> map = new HashMap<Class<?>, String>();
+        map.put(CharSequence.class, "CharSequence");
+        map.put(Iterable.class, "Iterable");
+        ClassMap<String> classMap = new ClassMap<String>(map);
+        assertThat(classMap.get(MyList.class), equalTo("Iterable"));
+        assertThat(classMap.get(Integer.class), is(nullValue()));
+    }
+
+    @Test
+    public void putAndRemove() {
+        ClassMap<String> classMap = new ClassMap<String>();
+        assertThat(classMap.get(Integer.class), is(nullValue()));
+
+        assertThat(classMap.put(Number.class, "Number"), is(nullValue()));
+        assertThat(classMap.get(Integer.class), equalTo("Number"));
+
+        assertThat(classMap.put(Comparable.class, "Comparable"), is(nullValue()));
+        assertThat(classMap.get(Integer.class), equalTo("Comparable"));
+
+        assertThat(classMap.remove(Comparable.class), equalTo("Comparable"));
+        assertThat(classMap.get(Integer.class), equalTo("Number"));
+    }
+
+    @Test
+    public void linearization() {
+        assertOrder(ClassMap.getLinearization(Integer.class), Integer.class, Comparable.class, Number.class, Serializable.class, Object.class);
+        assertOrder(ClassMap.getLinearization(ArrayList.class), ArrayList.class, List.class, RandomAccess.class, Cloneable.class,
+                Serializable.class, AbstractList.class, AbstractCollection.class, Collection.class, Object.class, Iterable.class);
+        assertOrder(ClassMap.getLinearization(List.class), List.class, Collection.class, Iterable.class);
+    }
+
+    /**
+     * Asserts that types occurs in linearization once each, in the order given, other types may be interleaved.
+     **/
+    private static void assertOrder(Class<?>[] linearization, Class<?>... types) {
+        List<Class<?>> order = Arrays.asList(linearization);
+        assertThat(new HashSet<>(order).size(), is(order.size()));
+        int previous = -1;
+        for (Class<?> type : types) {
+            int index = order.indexOf(type);
+            assertThat(type + " in " + order, index, greaterThan(previous));
+            previous = index;
+        }
+    }
+
+    private interface MyList extends List<String> {
+    }
 }
@@ -0,0 +1,135 @@
+package org.kasource.commons.reflection.collection;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import org.junit.Test;
+
+public class ConcurrentClassMapTest {
+    private static final int THREADS = 8;
+    private static final int KEYS_PER_THREAD = 8;
+    private static final int ITERATIONS = 2000;
+
+    @Test
+    public void getInteger() {
+        Map<Class<?>, String> map = new HashMap<Class<?>, String>();
+        map.put(Number.class, "Number");
+        map.put(Object.class, "Object");
+        ClassMap<String> classMap = new ConcurrentClassMap<String>(map);
+        assertThat(classMap.get(Integer.class), equalTo("Number"));
+        assertThat(classMap.get(String.class), equalTo("Object"));
+    }
+
+    @Test
+    public void putAndRemove() {
+        ClassMap<String> classMap = new ConcurrentClassMap<String>();
+        assertThat(classMap.get(Integer.class), is(nullValue()));
+
+        assertThat(classMap.put(Number.class, "Number"), is(nullValue()));
+        assertThat(classMap.get(Integer.class), equalTo("Number"));
+        assertThat(classMap.put(Number.class, "Number2"), equalTo("Number"));
+        assertThat(classMap.get(Integer.class), equalTo("Number2"));
+
+        assertThat(classMap.put(Comparable.class, "Comparable"), is(nullValue()));
+        assertThat(classMap.get(Integer.class), equalTo("Comparable"));
+        assertThat(classMap.getByInterfaces(Integer.class), equalTo("Comparable"));
+
+        assertThat(classMap.remove(Comparable.class), equalTo("Comparable"));
+        assertThat(classMap.get(Integer.class), equalTo("Number2"));
+    }
+
+    @Test
+    public void concurrentUpdatesAreNotLost() throws Exception {
+        ConcurrentClassMap<Integer> classMap = new ConcurrentClassMap<Integer>();
+        classMap.put(Object.class, -1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS * 2);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                Class<?>[] keys = keys(thread);
+                results.add(executor.submit(writer(classMap, keys, start)));
+                results.add(executor.submit(reader(classMap, keys, start)));
+            }
+            start.countDown();
+            for (Future<Boolean> result : results) {
+                assertThat(result.get(1, TimeUnit.MINUTES), is(true));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        for (int thread = 0; thread < THREADS; thread++) {
+            for (Class<?> key : keys(thread)) {
+                assertThat(key.getName(), classMap.get(key), equalTo(ITERATIONS - 1));
+            }
+        }
+        assertThat(classMap.get(String.class), equalTo(-1));
+    }
+
+    /**
+     * Puts and removes values of keys, checking that each write is visible to subsequent reads of the writer.
+     **/
+    private Callable<Boolean> writer(ClassMap<Integer> classMap, Class<?>[] keys, CountDownLatch start) {
+        return () -> {
+            start.await();
+            for (int i = 0; i < ITERATIONS; i++) {
+                for (Class<?> key : keys) {
+                    classMap.put(key, i);
+                    if (classMap.get(key) != i) {
+                        return false;
+                    }
+                    if (i < ITERATIONS - 1) {
+                        classMap.remove(key);
+                        if (classMap.get(key) != -1) {
+                            return false;
+                        }
+                    }
+                }
+            }
+            return true;
+        };
+    }
+
+    /**
+     * Reads values of keys, checking that only values written are resolved.
+     **/
+    private Callable<Boolean> reader(ClassMap<Integer> classMap, Class<?>[] keys, CountDownLatch start) {
+        return () -> {
+            start.await();
+            for (int i = 0; i < ITERATIONS; i++) {
+                for (Class<?> key : keys) {
+                    Integer value = classMap.get(key);
+                    if (value == null || value < -1 || value >= ITERATIONS) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        };
+    }
+
+    /**
+     * Returns distinct array classes to use as keys by a thread.
+     **/
+    private Class<?>[] keys(int thread) {
+        Class<?>[] keys = new Class<?>[KEYS_PER_THREAD];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = Array.newInstance(int.class, new int[thread * KEYS_PER_THREAD + i + 1]).getClass();
+        }
+        return keys;
+    }
+}
@@ -7,6 +7,8 @@ import javax.xml.bind.annotation.adapters.XmlAdapter;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 
 import org.junit.Test;
 
@@ -24,4 +26,51 @@ public class PackageMapTest {
         assertThat(packageMap.get(XmlAdapter.class), equalTo("bind"));
 
     }
+
+    @Test
+    public void getByName() {
+        Map<String, String> map = new HashMap<String, String>();
+        map.put("javax", "javax");
+        map.put("javax.xml.bind", "bind");
+        map.put("org.kasource", "kasource");
+        PackageMap<String> packageMap = new PackageMap<String>(map);
+
+        assertThat(packageMap.get("javax.xml.bind"), equalTo("bind"));
+        assertThat(packageMap.get("javax.xml.bind.annotation"), equalTo("bind"));
+        assertThat(packageMap.get("javax.xml"), equalTo("javax"));
+        assertThat(packageMap.get("javax.xmlx"), equalTo("javax"));
+        assertThat(packageMap.get("javaxx"), is(nullValue()));
+        assertThat(packageMap.get("java"), is(nullValue()));
+        assertThat(packageMap.get("org"), is(nullValue()));
+        assertThat(packageMap.get(""), is(nullValue()));
+    }
+
+    @Test
+    public void getManyPackages() {
+        Map<String, Integer> map = new HashMap<String, Integer>();
+        for (int i = 0; i < 100; i++) {
+            map.put("com.company" + i, i);
+        }
+        PackageMap<Integer> packageMap = new PackageMap<Integer>(map);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(packageMap.get("com.company" + i + ".sub"), equalTo(i));
+        }
+        assertThat(packageMap.get("com.company100"), is(nullValue()));
+    }
+
+    @Test
+    public void getDefaultPackage() {
+        Map<String, String> map = new HashMap<String, String>();
+        map.put("", "default");
+        map.put("java.lang", "lang");
+        PackageMap<String> packageMap = new PackageMap<String>(map);
+
+        assertThat(packageMap.get(""), equalTo("default"));
+        assertThat(packageMap.get(int.class), equalTo("default"));
+        assertThat(packageMap.get(String[].class), equalTo("lang"));
+        assertThat(packageMap.get(String.class), equalTo("lang"));
+        assertThat(packageMap.get(PackageMapTest.class), is(nullValue()));
+        assertThat(packageMap.get(PackageMapTest.class), is(nullValue()));
+    }
 }
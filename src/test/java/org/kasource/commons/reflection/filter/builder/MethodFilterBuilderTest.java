@@ -16,6 +16,7 @@ import org.kasource.commons.reflection.filter.impl.AssignableFromParameterFilter
 import org.kasource.commons.reflection.filter.impl.AssignableToParameterFilter;
 import org.kasource.commons.reflection.filter.impl.MetaAnnotatedFilter;
 import org.kasource.commons.reflection.filter.impl.AndMethodFilter;
+import org.kasource.commons.reflection.filter.impl.CompiledMethodFilter;
 import org.kasource.commons.reflection.filter.impl.ModifierFilter;
 import org.kasource.commons.reflection.filter.impl.NameFilter;
 import org.kasource.commons.reflection.filter.impl.NegationMethodFilter;
@@ -52,6 +53,17 @@ public class MethodFilterBuilderTest {
 
     }
 
+    @Test
+    public void compileTest() {
+        MethodFilter filter = builder.isPublic().isSynchronized().compile();
+        assertThat(filter, is(instanceOf(CompiledMethodFilter.class)));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void compileEmptyFilter() {
+        builder.compile();
+    }
+
     @Test
     public void listTest() {
         MethodFilter filter = builder.isPublic().isSynchronized().build();
@@ -6,11 +6,14 @@ import java.util.Arrays;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.kasource.commons.reflection.filter.FieldFilter;
+import org.kasource.commons.reflection.filter.FilterCost;
 import org.kasource.commons.reflection.filter.MethodFilter;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -79,6 +82,50 @@ public class AndMethodFilterTest {
     }
 
 
+    @Test
+    public void isCacheable() {
+        InjectionUtils.injectInto(Arrays.asList(new MethodFilter[]{new ModifierFilter(1), new NameFilter("get.*")}), filter, "filters");
+
+        assertThat(filter.isCacheable(), is(true));
+    }
+
+    @Test
+    public void isNotCacheable() {
+        InjectionUtils.injectInto(Arrays.asList(new MethodFilter[]{new ModifierFilter(1), methodFilter}), filter, "filters");
+
+        assertThat(filter.isCacheable(), is(false));
+    }
+
+    @Test
+    public void cheapFiltersEvaluatedFirst() throws SecurityException, NoSuchMethodException {
+        when(methodFilter.getCost()).thenReturn(FilterCost.HIGH);
+        when(methodFilter2.getCost()).thenReturn(FilterCost.LOW);
+        InjectionUtils.injectInto(Arrays.asList(new MethodFilter[]{methodFilter, methodFilter2}), filter, "filters");
+        Method method = MyClass.class.getMethod("noParameters");
+        when(methodFilter2.apply(method)).thenReturn(false);
+
+        assertThat(filter.apply(method), is(false));
+        verify(methodFilter, never()).apply(method);
+    }
+
+    @Test
+    public void unknownCostNotReordered() throws SecurityException, NoSuchMethodException {
+        when(methodFilter2.getCost()).thenReturn(FilterCost.LOW);
+        InjectionUtils.injectInto(Arrays.asList(new MethodFilter[]{methodFilter, methodFilter2}), filter, "filters");
+        Method method = MyClass.class.getMethod("noParameters");
+        when(methodFilter.apply(method)).thenReturn(false);
+
+        assertThat(filter.apply(method), is(false));
+        verify(methodFilter2, never()).apply(method);
+    }
+
+    @Test
+    public void getCost() {
+        InjectionUtils.injectInto(Arrays.asList(new MethodFilter[]{new ModifierFilter(1), new NameFilter("get.*")}), filter, "filters");
+
+        assertThat(filter.getCost(), is(FilterCost.MEDIUM));
+    }
+
     @Test
     public void describe() {
         InjectionUtils.injectInto(Arrays.asList(new MethodFilter[]{methodFilter, methodFilter2}), filter, "filters");
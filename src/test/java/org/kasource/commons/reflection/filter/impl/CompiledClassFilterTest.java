@@ -0,0 +1,45 @@
+package org.kasource.commons.reflection.filter.impl;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.Test;
+import org.kasource.commons.reflection.filter.ClassFilter;
+import org.kasource.commons.reflection.filter.builder.ClassFilterBuilder;
+
+
+public class CompiledClassFilterTest {
+    private static final Class<?>[] CLASSES = {String.class, AbstractList.class, ArrayList.class, Map.Entry.class,
+        Serializable.class, MyClass.class, MyAbstractClass.class, int.class};
+
+    @Test
+    public void modifiers() {
+        assertSameResult(new ClassFilterBuilder().isPublic().isFinal().build());
+        assertSameResult(new ClassFilterBuilder().isPublic().not().isAbstract().build());
+        assertSameResult(new ClassFilterBuilder().isPrivate().or().isStatic().build());
+    }
+
+    @Test
+    public void filters() {
+        assertSameResult(new ClassFilterBuilder().isInterface().or().isAbstract().isPublic().build());
+        assertSameResult(new ClassFilterBuilder().not().name("java\\..*").or().isFinal().build());
+    }
+
+    private void assertSameResult(ClassFilter source) {
+        ClassFilter compiled = CompiledClassFilter.compile(source);
+        for (Class<?> clazz : CLASSES) {
+            assertThat(clazz.getName(), compiled.apply(clazz), is(source.apply(clazz)));
+        }
+    }
+
+    private static final class MyClass {
+    }
+
+    protected abstract static class MyAbstractClass {
+    }
+}
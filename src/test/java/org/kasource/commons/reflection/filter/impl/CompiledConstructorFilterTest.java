@@ -0,0 +1,50 @@
+package org.kasource.commons.reflection.filter.impl;
+
+import java.lang.reflect.Constructor;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.Test;
+import org.kasource.commons.reflection.filter.ConstructorFilter;
+import org.kasource.commons.reflection.filter.builder.ConstructorFilterBuilder;
+
+
+public class CompiledConstructorFilterTest {
+
+    @Test
+    public void modifiers() {
+        assertSameResult(new ConstructorFilterBuilder().isPublic().build());
+        assertSameResult(new ConstructorFilterBuilder().not().isPrivate().build());
+        assertSameResult(new ConstructorFilterBuilder().isPrivate().or().isProtected().build());
+    }
+
+    @Test
+    public void filters() {
+        assertSameResult(new ConstructorFilterBuilder().isPublic().numberOfParameters(1).build());
+        assertSameResult(new ConstructorFilterBuilder().numberOfParameters(0).or().isProtected().not().isPublic().build());
+    }
+
+    @SuppressWarnings("rawtypes")
+    private void assertSameResult(ConstructorFilter source) {
+        ConstructorFilter compiled = CompiledConstructorFilter.compile(source);
+        for (Constructor constructor : MyClass.class.getDeclaredConstructors()) {
+            assertThat(constructor.toString(), compiled.apply(constructor), is(source.apply(constructor)));
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static class MyClass {
+        MyClass() {
+        }
+
+        public MyClass(String name) {
+        }
+
+        protected MyClass(int value) {
+        }
+
+        private MyClass(String name, int value) {
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package org.kasource.commons.reflection.filter.impl;
+
+import java.lang.reflect.Field;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.Test;
+import org.kasource.commons.reflection.filter.FieldFilter;
+import org.kasource.commons.reflection.filter.builder.FieldFilterBuilder;
+
+
+public class CompiledFieldFilterTest {
+
+    @Test
+    public void modifiers() {
+        assertSameResult(new FieldFilterBuilder().isPublic().isStatic().build());
+        assertSameResult(new FieldFilterBuilder().isStatic().not().isFinal().build());
+        assertSameResult(new FieldFilterBuilder().isPrivate().or().isProtected().build());
+    }
+
+    @Test
+    public void filters() {
+        assertSameResult(new FieldFilterBuilder().name("my.*").or().isStatic().isPrivate().build());
+        assertSameResult(new FieldFilterBuilder().not().name("my.*").or().isFinal().build());
+    }
+
+    private void assertSameResult(FieldFilter source) {
+        FieldFilter compiled = CompiledFieldFilter.compile(source);
+        for (Field field : MyClass.class.getDeclaredFields()) {
+            assertThat(field.toString(), compiled.apply(field), is(source.apply(field)));
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static class MyClass {
+        public static final String CONSTANT = "constant";
+        public static String myStatic;
+        public String myPublic;
+        protected final int myProtected = 1;
+        private static int privateStatic;
+        private String name;
+        long packageField;
+    }
+}
@@ -0,0 +1,137 @@
+package org.kasource.commons.reflection.filter.impl;
+
+import java.lang.reflect.Method;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.junit.Test;
+import org.kasource.commons.reflection.filter.MethodFilter;
+import org.kasource.commons.reflection.filter.builder.MethodFilterBuilder;
+
+
+public class CompiledMethodFilterTest {
+
+    @Test
+    public void modifiers() {
+        assertSameResult(new MethodFilterBuilder().isPublic().isStatic().build());
+        assertSameResult(new MethodFilterBuilder().isPublic().not().isStatic().build());
+        assertSameResult(new MethodFilterBuilder().byModifiers(java.lang.reflect.Modifier.PUBLIC
+                | java.lang.reflect.Modifier.PROTECTED).build());
+        assertSameResult(new MethodFilterBuilder().isDefault().build());
+    }
+
+    @Test
+    public void orOfModifiers() {
+        assertSameResult(new MethodFilterBuilder().isPrivate().or().isProtected().build());
+        assertSameResult(new MethodFilterBuilder().isPrivate().or().isProtected().isStatic().build());
+    }
+
+    @Test
+    public void orOfFilters() {
+        assertSameResult(new MethodFilterBuilder().name("get.*").or().isStatic().or().numberOfParameters(1).build());
+        assertSameResult(new OrMethodFilter(new ModifierFilter(java.lang.reflect.Modifier.STATIC),
+                new AndMethodFilter(new ModifierFilter(java.lang.reflect.Modifier.PUBLIC), new NameFilter("set.*")),
+                new OrMethodFilter(new NameFilter("is.*"), new NegationMethodFilter(new ModifierFilter(java.lang.reflect.Modifier.PUBLIC)))));
+    }
+
+    @Test
+    public void negation() {
+        assertSameResult(new MethodFilterBuilder().not().name("get.*").build());
+        assertSameResult(new NegationMethodFilter(new AndMethodFilter(new ModifierFilter(java.lang.reflect.Modifier.PUBLIC),
+                new NameFilter("get.*"))));
+    }
+
+    @Test
+    public void getters() {
+        assertSameResult(new MethodFilterBuilder().isGetter().build());
+        assertSameResult(new MethodFilterBuilder().isSetter().build());
+    }
+
+    @Test
+    public void modifiersEvaluatedFirst() throws NoSuchMethodException {
+        MethodFilter expensive = mock(MethodFilter.class);
+        MethodFilter filter = CompiledMethodFilter.compile(new MethodFilterBuilder().with(expensive).isStatic().build());
+
+        assertThat(filter.apply(MyClass.class.getMethod("getName")), is(false));
+        verify(expensive, never()).apply(any(Method.class));
+    }
+
+    @Test
+    public void compileCompiled() {
+        MethodFilter filter = CompiledMethodFilter.compile(new MethodFilterBuilder().isPublic().build());
+        assertThat(CompiledMethodFilter.compile(filter), is(sameInstance(filter)));
+    }
+
+    @Test
+    public void describeAndCacheable() {
+        MethodFilter source = new MethodFilterBuilder().isPublic().name("get.*").build();
+        MethodFilter filter = CompiledMethodFilter.compile(source);
+        assertThat(filter.describe(), is(source.describe()));
+        assertThat(filter.isCacheable(), is(true));
+    }
+
+    @Test
+    public void subClassedFiltersNotFolded() {
+        ModifierFilter isPublic = new ModifierFilter(java.lang.reflect.Modifier.PUBLIC) {
+            @Override
+            public boolean apply(Method method) {
+                return !super.apply(method);
+            }
+        };
+        assertSameResult(new AndMethodFilter(isPublic, new ModifierFilter(java.lang.reflect.Modifier.STATIC)));
+        assertSameResult(new NegationMethodFilter(isPublic));
+        assertSameResult(new OrMethodFilter(isPublic, new ModifierFilter(java.lang.reflect.Modifier.STATIC)));
+        assertSameResult(new AndMethodFilter(new ModifierFilter(java.lang.reflect.Modifier.STATIC)) {
+            @Override
+            public boolean apply(Method method) {
+                return true;
+            }
+        });
+    }
+
+    private void assertSameResult(MethodFilter source) {
+        MethodFilter compiled = CompiledMethodFilter.compile(source);
+        for (Method method : MyClass.class.getDeclaredMethods()) {
+            assertThat(method.toString(), compiled.apply(method), is(source.apply(method)));
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static class MyClass {
+        public String getName() {
+            return null;
+        }
+
+        public boolean isValid() {
+            return false;
+        }
+
+        public void setName(String name) {
+        }
+
+        public static void staticMethod() {
+        }
+
+        protected void protectedMethod() {
+        }
+
+        protected static void protectedStaticMethod(int value) {
+        }
+
+        private void privateMethod() {
+        }
+
+        synchronized void packageMethod(String value) {
+        }
+
+        String getPackageName() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.kasource.commons.reflection.filter.impl;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+
+import org.junit.Test;
+import org.kasource.commons.reflection.filter.FilterCost;
+
+
+public class FilterOrderTest {
+
+    @Test
+    public void sortedByCost() {
+        Filter high = new Filter(FilterCost.HIGH);
+        Filter medium = new Filter(FilterCost.MEDIUM);
+        Filter low = new Filter(FilterCost.LOW);
+        Filter low2 = new Filter(FilterCost.LOW);
+
+        assertThat(order(high, low, medium, low2), contains(low, low2, medium, high));
+    }
+
+    @Test
+    public void unknownCostNotReordered() {
+        Filter high = new Filter(FilterCost.HIGH);
+        Filter unknown = new Filter(FilterCost.UNKNOWN);
+        Filter nullCost = new Filter(null);
+        Filter medium = new Filter(FilterCost.MEDIUM);
+        Filter low = new Filter(FilterCost.LOW);
+
+        assertThat(order(high, unknown, medium, low, nullCost), contains(high, unknown, low, medium, nullCost));
+    }
+
+    @Test
+    public void reorderedBySelectivity() {
+        Filter first = new Filter(FilterCost.LOW);
+        Filter second = new Filter(FilterCost.LOW);
+        Filter third = new Filter(FilterCost.LOW);
+        Filter high = new Filter(FilterCost.HIGH);
+        FilterOrder<Filter> order = new FilterOrder<>(Arrays.asList(first, second, third, high), new Filter[0], Filter::getCost);
+
+        for (int i = 0; i < FilterOrder.SAMPLE_SIZE; i++) {
+            if (i % 4 == 0) {
+                order.rejected(0);
+            } else if (i % 4 == 3) {
+                order.passed();
+            } else {
+                order.rejected(2);
+            }
+        }
+
+        assertThat(Arrays.asList(order.getFilters()), contains(third, first, second, high));
+    }
+
+    private List<Filter> order(Filter... filters) {
+        return Arrays.asList(new FilterOrder<>(Arrays.asList(filters), new Filter[0], Filter::getCost).getFilters());
+    }
+
+    private static final class Filter {
+        private final FilterCost cost;
+
+        Filter(final FilterCost cost) {
+            this.cost = cost;
+        }
+
+        FilterCost getCost() {
+            return cost;
+        }
+    }
+}
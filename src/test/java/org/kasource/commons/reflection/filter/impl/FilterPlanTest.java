@@ -0,0 +1,141 @@
+package org.kasource.commons.reflection.filter.impl;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import javax.annotation.Resource;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.junit.Test;
+import org.kasource.commons.reflection.filter.FieldFilter;
+import org.kasource.commons.reflection.filter.MethodFilter;
+import org.kasource.commons.reflection.filter.builder.FieldFilterBuilder;
+import org.kasource.commons.reflection.filter.builder.MethodFilterBuilder;
+
+public class FilterPlanTest {
+
+    @Test
+    public void literalNameAndNumberOfParameters() {
+        FilterPlan plan = FilterPlan.ofMethodFilter(new MethodFilterBuilder().name("setName").numberOfParameters(1).build());
+
+        assertThat(plan.getName(), equalTo("setName"));
+        assertThat(plan.getNumberOfParameters(), is(1));
+        assertThat(plan.isEmpty(), is(false));
+    }
+
+    @Test
+    public void regularExpressionNameNotPlanned() {
+        FilterPlan plan = FilterPlan.ofMethodFilter(new MethodFilterBuilder().name("set.*").build());
+
+        assertThat(plan, is(sameInstance(FilterPlan.NONE)));
+        assertThat(plan.isEmpty(), is(true));
+    }
+
+    @Test
+    public void modifiersAndAnnotation() {
+        FilterPlan plan = FilterPlan.ofMethodFilter(new MethodFilterBuilder().isPublic().isStatic().annotated(Resource.class).build());
+
+        assertThat(plan.getRequiredModifiers(), is(Modifier.PUBLIC | Modifier.STATIC));
+        assertThat(plan.getAnnotation(), equalTo((Class) Resource.class));
+        assertThat(plan.getName(), is(nullValue()));
+        assertThat(plan.getNumberOfParameters(), is(-1));
+    }
+
+    @Test
+    public void orAndNegationNotPlanned() {
+        assertThat(FilterPlan.ofMethodFilter(new MethodFilterBuilder().name("a").or().name("b").build()).isEmpty(), is(true));
+        assertThat(FilterPlan.ofMethodFilter(new MethodFilterBuilder().not().isPublic().build()).isEmpty(), is(true));
+        assertThat(FilterPlan.ofMethodFilter(new MethodFilterBuilder().byModifiers(Modifier.PUBLIC | Modifier.PROTECTED).build()).isEmpty(),
+                is(true));
+        assertThat(FilterPlan.ofMethodFilter((MethodFilter) m -> true).isEmpty(), is(true));
+    }
+
+    @Test
+    public void compiledFilterPlanCreatedOnce() {
+        MethodFilter filter = new MethodFilterBuilder().name("getName").isPublic().compile();
+
+        FilterPlan plan = FilterPlan.ofMethodFilter(filter);
+
+        assertThat(plan.getName(), equalTo("getName"));
+        assertThat(plan.getRequiredModifiers(), is(Modifier.PUBLIC));
+        assertThat(FilterPlan.ofMethodFilter(filter), is(sameInstance(plan)));
+    }
+
+    @Test
+    public void nestedCompiledFilter() {
+        MethodFilter filter = new AndMethodFilter(new MethodFilterBuilder().name("getName").compile(),
+                new MethodFilterBuilder().isStatic().build());
+
+        FilterPlan plan = FilterPlan.ofMethodFilter(filter);
+
+        assertThat(plan.getName(), equalTo("getName"));
+        assertThat(plan.getRequiredModifiers(), is(Modifier.STATIC));
+    }
+
+    @Test
+    public void fieldFilter() {
+        FieldFilter filter = new FieldFilterBuilder().name("name").isPrivate().annotated(Resource.class).compile();
+
+        FilterPlan plan = FilterPlan.ofFieldFilter(filter);
+
+        assertThat(plan.getName(), equalTo("name"));
+        assertThat(plan.getRequiredModifiers(), is(Modifier.PRIVATE));
+        assertThat(plan.getAnnotation(), equalTo((Class) Resource.class));
+    }
+
+    @Test
+    public void filterImplementingBothKinds() {
+        NameFilter filter = new NameFilter("name");
+
+        assertThat(FilterPlan.ofMethodFilter(filter).getName(), equalTo("name"));
+        assertThat(FilterPlan.ofFieldFilter(filter).getName(), equalTo("name"));
+    }
+
+    @Test
+    public void subClassedFiltersNotPlanned() {
+        MethodFilter filter = new AndMethodFilter(
+                new NameFilter("setName") {
+                    @Override
+                    public boolean apply(Method method) {
+                        return true;
+                    }
+                },
+                new ModifierFilter(Modifier.STATIC) {
+                    @Override
+                    public boolean apply(Method method) {
+                        return true;
+                    }
+                },
+                new AnnotatedFilter(Resource.class) {
+                    @Override
+                    public boolean apply(Method method) {
+                        return true;
+                    }
+                },
+                new NumberOfParametersFilter(1) {
+                    @Override
+                    public boolean apply(Method method) {
+                        return true;
+                    }
+                });
+
+        assertThat(FilterPlan.ofMethodFilter(filter).isEmpty(), is(true));
+    }
+
+    @Test
+    public void subClassedAndFilterNotPlanned() {
+        MethodFilter filter = new AndMethodFilter(new NameFilter("setName")) {
+            @Override
+            public boolean apply(Method method) {
+                return true;
+            }
+        };
+
+        assertThat(FilterPlan.ofMethodFilter(filter).isEmpty(), is(true));
+    }
+}
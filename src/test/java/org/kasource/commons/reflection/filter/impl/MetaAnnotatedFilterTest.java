@@ -1,5 +1,6 @@
 package org.kasource.commons.reflection.filter.impl;
 
+import java.lang.annotation.Documented;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -67,6 +68,23 @@ public class MetaAnnotatedFilterTest {
         assertThat(filter.apply(field), is(false));
     }
 
+    @Test
+    public void passTransitiveTrue() throws SecurityException, NoSuchMethodException {
+        assertThat(filter.apply(StereotypedClass.class), is(true));
+        assertThat(filter.apply(StereotypedClass.class.getMethod("stereotyped")), is(true));
+    }
+
+    @Test
+    public void passTransitiveFalse() {
+        assertThat(new MetaAnnotatedFilter(Deprecated.class).apply(StereotypedClass.class), is(false));
+    }
+
+    @Test
+    public void passCyclicMetaAnnotation() {
+        assertThat(new MetaAnnotatedFilter(Documented.class).apply(MyClass.class), is(true));
+        assertThat(new MetaAnnotatedFilter(Documented.class).apply(Documented.class), is(true));
+    }
+
     @Target(ElementType.ANNOTATION_TYPE)
     @Retention(RetentionPolicy.RUNTIME)
     @interface SuperAnnotation {
@@ -79,6 +97,26 @@ public class MetaAnnotatedFilterTest {
 
     }
 
+    @MyAnnotation
+    @Target({ElementType.METHOD, ElementType.TYPE})
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Stereotype {
+    }
+
+    @Stereotype
+    @Target({ElementType.METHOD, ElementType.TYPE})
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface SubStereotype {
+    }
+
+    @SubStereotype
+    private static class StereotypedClass {
+
+        @SubStereotype
+        public void stereotyped() {
+        }
+    }
+
     @MyAnnotation
     private static class MyClass {
 
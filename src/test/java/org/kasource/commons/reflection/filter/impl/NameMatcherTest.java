@@ -0,0 +1,69 @@
+package org.kasource.commons.reflection.filter.impl;
+
+import java.util.regex.PatternSyntaxException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import org.junit.Test;
+
+
+public class NameMatcherTest {
+
+    private static final String[] NAMES = {"", "get", "getName", "getname", "isValid", "is", "hasNext", "has_Next",
+        "setName", "java.lang.String", "javaXlang", "name", "Name", "getName$1", "get\nName", "myList", "a|b"};
+
+    @Test
+    public void literal() {
+        NameMatcher matcher = NameMatcher.compile("getName");
+        assertThat(matcher.getLiteral(), is("getName"));
+        assertSameAsRegExp("getName");
+    }
+
+    @Test
+    public void escapedLiteral() {
+        NameMatcher matcher = NameMatcher.compile("java\\.lang\\.String");
+        assertThat(matcher.getLiteral(), is("java.lang.String"));
+        assertSameAsRegExp("java\\.lang\\.String");
+    }
+
+    @Test
+    public void prefix() {
+        assertThat(NameMatcher.compile("get.*").getLiteral(), is(nullValue()));
+        assertSameAsRegExp("get.*");
+        assertSameAsRegExp("java\\.lang\\..*");
+        assertSameAsRegExp("get\\w*");
+    }
+
+    @Test
+    public void alternationOfPrefixes() {
+        assertThat(NameMatcher.compile("get[A-Z].*|is[A-Z].*|has[A-Z].*").getLiteral(), is(nullValue()));
+        assertSameAsRegExp("get[A-Z].*|is[A-Z].*|has[A-Z].*");
+        assertSameAsRegExp("get[A-Z]\\w*|is[A-Z]\\w*");
+        assertSameAsRegExp("get|set");
+        assertSameAsRegExp("a\\|b");
+    }
+
+    @Test
+    public void fallbackToRegExp() {
+        assertThat(NameMatcher.compile("get(Name)?").getLiteral(), is(nullValue()));
+        assertSameAsRegExp(".*List.*");
+        assertSameAsRegExp("get(Name)?");
+        assertSameAsRegExp("[gs]et.*");
+        assertSameAsRegExp("get\\d*");
+        assertSameAsRegExp("^get.*$");
+    }
+
+    @Test(expected = PatternSyntaxException.class)
+    public void invalidRegExp() {
+        NameMatcher.compile("get[A-Z");
+    }
+
+    private void assertSameAsRegExp(String regExp) {
+        NameMatcher matcher = NameMatcher.compile(regExp);
+        for (String name : NAMES) {
+            assertThat(regExp + " matches " + name, matcher.matches(name), is(name.matches(regExp)));
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package org.kasource.commons.reflection.processor;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+
+public class ClassIndexProcessorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File sourceDir;
+    private File outputDir;
+
+    @Before
+    public void setup() throws IOException {
+        sourceDir = folder.newFolder("src");
+        outputDir = folder.newFolder("classes");
+    }
+
+    @Test
+    public void writesIndex() throws IOException {
+        writeSource("a/Plugin.java", "package a; @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME) public @interface Plugin {}");
+        writeSource("a/Service.java", "package a; public interface Service extends Runnable {}");
+        writeSource("a/MyService.java", "package a; @Plugin @SuppressWarnings(\"all\") public class MyService implements Service, java.io.Serializable {"
+                + " public void run() {} @Deprecated static class Inner extends MyService {} }");
+
+        assertThat(compile(), is(true));
+
+        assertThat(readIndex(), containsInAnyOrder(
+                "a.Plugin - java.lang.annotation.Annotation java.lang.annotation.Retention",
+                "a.Service - java.lang.Runnable -",
+                "a.MyService java.lang.Object a.Service,java.io.Serializable a.Plugin",
+                "a.MyService$Inner a.MyService - java.lang.Deprecated"));
+    }
+
+    @Test
+    public void keepsEntriesOfIncrementalCompilation() throws IOException {
+        writeSource("a/First.java", "package a; public class First {}");
+        assertThat(compile(), is(true));
+        Files.delete(sourceDir.toPath().resolve("a/First.java"));
+        writeSource("a/Second.java", "package a; public class Second extends First {}");
+
+        assertThat(compile(), is(true));
+
+        assertThat(readIndex(), containsInAnyOrder("a.First java.lang.Object - -", "a.Second a.First - -"));
+    }
+
+    private void writeSource(String path, String source) throws IOException {
+        Path file = sourceDir.toPath().resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private boolean compile() throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            List<File> sources = new ArrayList<>();
+            try (Stream<Path> files = Files.walk(sourceDir.toPath())) {
+                files.filter(p -> p.toString().endsWith(".java")).forEach(p -> sources.add(p.toFile()));
+            }
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null,
+                    Arrays.asList("-d", outputDir.getPath(), "-classpath", outputDir.getPath()),
+                    null, fileManager.getJavaFileObjectsFromFiles(sources));
+            task.setProcessors(Arrays.asList(new ClassIndexProcessor()));
+            return task.call();
+        }
+    }
+
+    private List<String> readIndex() throws IOException {
+        return Files.readAllLines(outputDir.toPath().resolve(ClassIndexProcessor.INDEX_RESOURCE), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,166 @@
+package org.kasource.commons.reflection.util;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.junit.Test;
+
+public class AnnotationIndexTest {
+
+    @Test
+    public void idOfIsStable() {
+        assertThat(AnnotationIndex.idOf(Marker.class), is(AnnotationIndex.idOf(Marker.class)));
+        assertThat(AnnotationIndex.idOf(Marker.class), not(AnnotationIndex.idOf(Other.class)));
+    }
+
+    @Test
+    public void classBits() {
+        AnnotationIndex.Bits bits = AnnotationIndex.bitsOf(Annotated.class);
+
+        assertThat(bits.isPresent(AnnotationIndex.idOf(Marker.class)), is(true));
+        assertThat(bits.isPresent(AnnotationIndex.idOf(Deprecated.class)), is(false));
+        assertThat(bits.isMetaPresent(AnnotationIndex.idOf(Documented.class)), is(true));
+    }
+
+    @Test
+    public void metaAnnotationsAreTransitive() {
+        AnnotationIndex.Bits bits = AnnotationIndex.bitsOf(Stereotyped.class);
+
+        assertThat(bits.isMetaPresent(AnnotationIndex.idOf(Stereotype.class)), is(true));
+        assertThat(bits.isMetaPresent(AnnotationIndex.idOf(Marker.class)), is(true));
+        assertThat(bits.isMetaPresent(AnnotationIndex.idOf(Documented.class)), is(true));
+        assertThat(bits.isMetaPresent(AnnotationIndex.idOf(Other.class)), is(false));
+    }
+
+    @Test
+    public void metaAnnotationCycle() {
+        assertThat(AnnotationIndex.isMetaAnnotation(Documented.class, AnnotationIndex.idOf(Documented.class)), is(true));
+        assertThat(AnnotationIndex.isMetaAnnotation(Retention.class, AnnotationIndex.idOf(Target.class)), is(true));
+        assertThat(AnnotationIndex.isMetaAnnotation(Other.class, AnnotationIndex.idOf(Marker.class)), is(false));
+    }
+
+    @Test
+    public void inheritedAnnotationPresentOnSubClass() {
+        AnnotationIndex.Bits bits = AnnotationIndex.bitsOf(SubAnnotated.class);
+
+        assertThat(bits.isPresent(AnnotationIndex.idOf(Marker.class)), is(true));
+        assertThat(bits.isMetaPresent(AnnotationIndex.idOf(Documented.class)), is(false));
+    }
+
+    @Test
+    public void presentInHierarchy() {
+        AnnotationIndex index = ClassMetadata.of(SubAnnotated.class).getAnnotationIndex();
+
+        assertThat(index.isPresentInHierarchy(AnnotationIndex.idOf(Other.class)), is(true));
+        assertThat(index.isPresentInHierarchy(AnnotationIndex.idOf(Marker.class)), is(true));
+        assertThat(index.isPresentInHierarchy(AnnotationIndex.idOf(Deprecated.class)), is(false));
+    }
+
+    @Test
+    public void memberBits() throws NoSuchMethodException, NoSuchFieldException {
+        Method method = Annotated.class.getDeclaredMethod("marked");
+
+        assertThat(AnnotationIndex.bitsOf(method).isPresent(AnnotationIndex.idOf(Marker.class)), is(true));
+        assertThat(AnnotationIndex.bitsOf(Annotated.class.getDeclaredMethod("plain")).isPresent(AnnotationIndex.idOf(Marker.class)), is(false));
+        assertThat(AnnotationIndex.bitsOf(Annotated.class.getDeclaredField("field")).isPresent(AnnotationIndex.idOf(Other.class)), is(true));
+        assertThat(AnnotationIndex.bitsOf(Annotated.class.getDeclaredConstructor()).isPresent(AnnotationIndex.idOf(Marker.class)), is(true));
+    }
+
+    @Test
+    public void memberLookupDoesNotIndexSuperClass() throws Exception {
+        AnnotationIndex.bitsOf(LazySub.class.getDeclaredMethod("marked"));
+
+        assertThat(indexOf(LazyBase.class), nullValue());
+        assertThat(ClassMetadata.of(LazySub.class).getAnnotationIndex()
+                .isPresentInHierarchy(AnnotationIndex.idOf(Other.class)), is(true));
+        assertThat(indexOf(LazyBase.class), not(nullValue()));
+    }
+
+    @Test
+    public void memberCopiesShareBits() throws NoSuchMethodException {
+        assertThat(AnnotationIndex.bitsOf(Annotated.class.getDeclaredMethod("marked")),
+                   sameInstance(AnnotationIndex.bitsOf(Annotated.class.getDeclaredMethod("marked"))));
+    }
+
+    @Test
+    public void otherElementNotIndexed() {
+        assertThat(AnnotationIndex.bitsOf(Annotated.class.getPackage()), nullValue());
+    }
+
+    @Documented
+    @Inherited
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.METHOD, ElementType.CONSTRUCTOR})
+    @interface Marker {
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.FIELD})
+    @interface Other {
+    }
+
+    @Marker
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.TYPE)
+    @interface Stereotype {
+    }
+
+    @Stereotype
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.TYPE)
+    @interface SubStereotype {
+    }
+
+    @SubStereotype
+    private static class Stereotyped {
+    }
+
+    @Marker
+    @Other
+    private static class Annotated {
+        @Other
+        private String field;
+
+        @Marker
+        Annotated() {
+        }
+
+        @Marker
+        void marked() {
+        }
+
+        void plain() {
+        }
+    }
+
+    private static class SubAnnotated extends Annotated {
+    }
+
+    @Other
+    private static class LazyBase {
+    }
+
+    private static class LazySub extends LazyBase {
+        @Marker
+        void marked() {
+        }
+    }
+
+    private static Object indexOf(Class<?> type) throws ReflectiveOperationException {
+        Field field = ClassMetadata.class.getDeclaredField("annotationIndex");
+        field.setAccessible(true);
+        return field.get(ClassMetadata.of(type));
+    }
+}
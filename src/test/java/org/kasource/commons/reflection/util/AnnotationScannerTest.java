@@ -0,0 +1,123 @@
+package org.kasource.commons.reflection.util;
+
+import java.io.IOException;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.Runner;
+import org.junit.runners.BlockJUnit4ClassRunner;
+
+
+public class AnnotationScannerTest {
+    private static final String SCAN_PATH = "org.kasource.commons.reflection.util";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private AnnotationScanner scanner = new AnnotationScanner();
+
+    @Test
+    public void findAnnotatedClasses() throws IOException {
+        assertThat(scanner.findAnnotatedClasses(SCAN_PATH, Plugin.class, Object.class),
+                containsInAnyOrder(MyPlugin.class, MyOtherPlugin.class));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void findAnnotatedClassesWrongType() throws IOException {
+        scanner.findAnnotatedClasses(SCAN_PATH, Plugin.class, MyService.class);
+    }
+
+    @Test
+    public void scanAnswersSeveralQueries() throws IOException {
+        ClassPathIndex index = scanner.scan(SCAN_PATH);
+
+        assertThat(index.getAnnotatedClassNames(Plugin.class),
+                containsInAnyOrder(MyPlugin.class.getName(), MyOtherPlugin.class.getName()));
+        assertThat(index.findAnnotatedClasses(Extension.class, MyService.class), containsInAnyOrder(MySubService.class));
+        assertThat(index.getAnnotatedClassNames(Deprecated.class), is(empty()));
+    }
+
+    @Test
+    public void findSubTypes() throws IOException {
+        ClassPathIndex index = scanner.scan(SCAN_PATH);
+
+        assertThat(index.findSubTypes(MyService.class), containsInAnyOrder(MyPlugin.class, MySubService.class));
+        assertThat(index.findSubTypes(MyPlugin.class), containsInAnyOrder(MySubService.class));
+        assertThat(index.getSubTypeNames(MySubService.class), is(empty()));
+    }
+
+    @Test
+    public void scanOutsidePackage() throws IOException {
+        ClassPathIndex index = scanner.scan("org.kasource.commons.reflection.filter, org.kasource.commons.reflection.annotation");
+
+        assertThat(index.getAnnotatedClassNames(Plugin.class), is(empty()));
+        assertThat(index.getSubTypeNames(MyService.class), is(empty()));
+    }
+
+    @Test
+    public void scanWithExecutor() throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            ClassPathIndex index = new AnnotationScanner(executor).scan(SCAN_PATH);
+            assertThat(index.findSubTypes(MyService.class), containsInAnyOrder(MyPlugin.class, MySubService.class));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void scanWithIndexFile() throws IOException {
+        Path indexFile = folder.getRoot().toPath().resolve("index.bin");
+        AnnotationScanner indexedScanner = new AnnotationScanner(ForkJoinPool.commonPool(), indexFile);
+
+        Set<String> scanned = indexedScanner.scan("org.junit").getSubTypeNames(Runner.class);
+        assertThat(Files.exists(indexFile), is(true));
+        Set<String> reused = indexedScanner.scan("org.junit").getSubTypeNames(Runner.class);
+
+        assertThat(scanned, hasItem(BlockJUnit4ClassRunner.class.getName()));
+        assertThat(reused, is(scanned));
+        assertThat(indexedScanner.scan(SCAN_PATH).findSubTypes(MyService.class),
+                containsInAnyOrder(MyPlugin.class, MySubService.class));
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    private @interface Plugin {
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    private @interface Extension {
+    }
+
+    private interface MyService {
+    }
+
+    @Plugin
+    private static class MyPlugin implements MyService, Runnable {
+        @Override
+        public void run() {
+        }
+    }
+
+    @Extension
+    private static class MySubService extends MyPlugin {
+    }
+
+    @Plugin
+    private static class MyOtherPlugin {
+    }
+}
@@ -6,6 +6,8 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.lang.reflect.Parameter;
+import java.util.Arrays;
 import java.util.EventListener;
 
 import static org.hamcrest.Matchers.equalTo;
@@ -39,6 +41,24 @@ public class AnnotationUtilsTest {
         assertThat(AnnotationUtils.isAnyAnnotationPresent(MyClass.class, ClassAnnotation1.class, ClassAnnotation2.class), is(true));
     }
 
+    @Test
+    public void attributeValueEquals() {
+        assertThat(AnnotationUtils.attributeValueEquals("a", "a"), is(true));
+        assertThat(AnnotationUtils.attributeValueEquals(new int[]{1, 2}, new int[]{1, 2}), is(true));
+        assertThat(AnnotationUtils.attributeValueEquals(new int[]{1, 2}, new int[]{2, 1}), is(false));
+        assertThat(AnnotationUtils.attributeValueEquals(new int[]{1, 2}, new long[]{1, 2}), is(false));
+        assertThat(AnnotationUtils.attributeValueEquals(new String[]{"a"}, new String[]{"a"}), is(true));
+        assertThat(AnnotationUtils.attributeValueEquals(new boolean[]{true}, new boolean[]{true}), is(true));
+        assertThat(AnnotationUtils.attributeValueEquals(new String[]{"a"}, "a"), is(false));
+    }
+
+    @Test
+    public void attributeValueHashCode() {
+        assertThat(AnnotationUtils.attributeValueHashCode("a"), is("a".hashCode()));
+        assertThat(AnnotationUtils.attributeValueHashCode(new int[]{1, 2}), is(Arrays.hashCode(new int[]{1, 2})));
+        assertThat(AnnotationUtils.attributeValueHashCode(new String[]{"a"}), is(Arrays.hashCode(new String[]{"a"})));
+    }
+
     @Test
     public void getAnnotation() {
         assertThat(AnnotationUtils.getAnnotation(MyClass.class, ClassAnnotation2.class).value(), equalTo("Value2"));
@@ -59,6 +79,42 @@ public class AnnotationUtilsTest {
         assertThat(AnnotationUtils.getAnnotatedParameterIndex(MyClass.class.getMethod("oneParameter", String.class), ParameterAnnotation2.class), is(-1));
     }
 
+    @Test
+    public void isAnnotatedMethod() throws NoSuchMethodException {
+        assertThat(AnnotationUtils.isAnnotated(MyClass.class.getMethod("oneParameter", String.class), MethodAnnotation1.class), is(true));
+        assertThat(AnnotationUtils.isAnnotated(MyClass.class.getMethod("oneParameter", String.class), MethodAnnotation2.class), is(false));
+    }
+
+    @Test
+    public void isAnnotatedInheritedMethod() throws NoSuchMethodException {
+        assertThat(AnnotationUtils.isAnnotated(MyClass.class.getMethod("run"), MethodAnnotation2.class), is(true));
+    }
+
+    @Test
+    public void isAnnotatedField() throws NoSuchFieldException {
+        assertThat(AnnotationUtils.isAnnotated(MyClass.class.getDeclaredField("name"), MethodAnnotation1.class), is(false));
+    }
+
+    @Test
+    public void isAnnotatedClass() {
+        assertThat(AnnotationUtils.isAnnotated(MyClass.class, ClassAnnotation3.class), is(true));
+        assertThat(AnnotationUtils.isAnnotated(MyClass.class, ClassAnnotation2.class), is(false));
+    }
+
+    @Test
+    public void isMetaAnnotated() throws NoSuchMethodException {
+        assertThat(AnnotationUtils.isMetaAnnotated(MyClass.class.getMethod("oneParameter", String.class), Target.class), is(true));
+        assertThat(AnnotationUtils.isMetaAnnotated(MyClass.class.getMethod("oneParameter", String.class), Deprecated.class), is(false));
+        assertThat(AnnotationUtils.isMetaAnnotated(MyClass.class.getMethod("superClassMethod", String.class), Target.class), is(false));
+    }
+
+    @Test
+    public void isMetaAnnotatedParameter() throws NoSuchMethodException {
+        Parameter parameter = MyClass.class.getMethod("oneParameter", String.class).getParameters()[0];
+        assertThat(AnnotationUtils.isMetaAnnotated(parameter, Retention.class), is(true));
+        assertThat(AnnotationUtils.isAnnotated(parameter, ParameterAnnotation1.class), is(true));
+    }
+
 
     @Target(ElementType.METHOD)
     @Retention(RetentionPolicy.RUNTIME)
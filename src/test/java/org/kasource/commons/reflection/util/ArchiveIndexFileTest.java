@@ -0,0 +1,116 @@
+package org.kasource.commons.reflection.util;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+
+public class ArchiveIndexFileTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path file;
+    private File jarFile;
+    private ArchiveIndex index;
+
+    @Before
+    public void setup() throws IOException {
+        file = folder.getRoot().toPath().resolve("index.bin");
+        jarFile = new File(folder.getRoot(), "test.jar");
+        writeJar("a/A.class", "content");
+        Map<String, Set<String>> annotated = Collections.singletonMap("a.Plugin", new HashSet<>(Arrays.asList("a.A", "a.B")));
+        Map<String, String> superClasses = Collections.singletonMap("a.B", "a.A");
+        Map<String, Set<String>> interfaces = new HashMap<>();
+        interfaces.put("a.A", Collections.singleton("java.lang.Runnable"));
+        interfaces.put("a.B", Collections.emptySet());
+        index = new ArchiveIndex(annotated, superClasses, interfaces);
+    }
+
+    @Test
+    public void missingFile() throws IOException {
+        assertThat(ArchiveIndexFile.load(file).get(ArchiveIndexFile.Key.of(jarFile)), is(nullValue()));
+    }
+
+    @Test
+    public void saveAndLoad() throws IOException {
+        ArchiveIndexFile indexFile = ArchiveIndexFile.load(file);
+        indexFile.put(ArchiveIndexFile.Key.of(jarFile), index);
+        indexFile.save();
+
+        ArchiveIndex loaded = ArchiveIndexFile.load(file).get(ArchiveIndexFile.Key.of(jarFile));
+
+        assertThat(loaded, is(notNullValue()));
+        assertThat(loaded.getAnnotatedClasses().get("a.Plugin"), containsInAnyOrder("a.A", "a.B"));
+        assertThat(loaded.getSuperClasses(), is(index.getSuperClasses()));
+        assertThat(loaded.getInterfaces(), is(index.getInterfaces()));
+    }
+
+    @Test
+    public void changedJarIsNotReused() throws IOException {
+        ArchiveIndexFile indexFile = ArchiveIndexFile.load(file);
+        indexFile.put(ArchiveIndexFile.Key.of(jarFile), index);
+        indexFile.save();
+        long lastModified = jarFile.lastModified();
+
+        writeJar("a/B.class", "content");
+        jarFile.setLastModified(lastModified);
+
+        assertThat(ArchiveIndexFile.load(file).get(ArchiveIndexFile.Key.of(jarFile)), is(nullValue()));
+    }
+
+    @Test
+    public void corruptFileIsIgnored() throws IOException {
+        Files.write(file, "not an index".getBytes(StandardCharsets.UTF_8));
+        ArchiveIndexFile indexFile = ArchiveIndexFile.load(file);
+        assertThat(indexFile.get(ArchiveIndexFile.Key.of(jarFile)), is(nullValue()));
+
+        indexFile.put(ArchiveIndexFile.Key.of(jarFile), index);
+        indexFile.save();
+
+        assertThat(ArchiveIndexFile.load(file).get(ArchiveIndexFile.Key.of(jarFile)), is(notNullValue()));
+    }
+
+    @Test
+    public void deletedJarIsRemoved() throws IOException {
+        ArchiveIndexFile indexFile = ArchiveIndexFile.load(file);
+        ArchiveIndexFile.Key key = ArchiveIndexFile.Key.of(jarFile);
+        indexFile.put(key, index);
+        indexFile.save();
+
+        Files.delete(jarFile.toPath());
+        ArchiveIndexFile.load(file).save();
+
+        assertThat(ArchiveIndexFile.load(file).get(key), is(nullValue()));
+    }
+
+    private void writeJar(String entryName, String content) throws IOException {
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jarFile))) {
+            out.putNextEntry(new ZipEntry(entryName));
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+        }
+    }
+}
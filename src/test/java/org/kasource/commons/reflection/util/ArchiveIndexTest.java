@@ -0,0 +1,100 @@
+package org.kasource.commons.reflection.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.kasource.commons.reflection.processor.ClassIndexProcessor;
+
+
+public class ArchiveIndexTest {
+    private static final String INDEX = "a.A java.lang.Object java.lang.Runnable a.Plugin\n"
+            + "a.B a.A - a.Plugin,a.Other\n"
+            + "a.Service - - -\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void parse() throws IOException {
+        ArchiveIndex index = ArchiveIndex.parse(new StringReader(INDEX));
+
+        assertThat(index.getAnnotatedClasses().get("a.Plugin"), containsInAnyOrder("a.A", "a.B"));
+        assertThat(index.getAnnotatedClasses().get("a.Other"), containsInAnyOrder("a.B"));
+        assertThat(index.getSuperClasses(), hasEntry("a.B", "a.A"));
+        assertThat(index.getSuperClasses().containsKey("a.Service"), is(false));
+        assertThat(index.getInterfaces().get("a.A"), containsInAnyOrder("java.lang.Runnable"));
+        assertThat(index.getInterfaces().get("a.Service"), is(empty()));
+    }
+
+    @Test(expected = IOException.class)
+    public void parseMalformed() throws IOException {
+        ArchiveIndex.parse(new StringReader("a.A java.lang.Object\n"));
+    }
+
+    @Test
+    public void readGenerated() throws IOException {
+        File directory = folder.newFolder("classes");
+        Path indexFile = directory.toPath().resolve(ClassIndexProcessor.INDEX_RESOURCE);
+        Files.createDirectories(indexFile.getParent());
+        Files.write(indexFile, INDEX.getBytes(StandardCharsets.UTF_8));
+
+        ArchiveIndex index = ArchiveIndex.readGenerated(directory.toURI().toURL());
+
+        assertThat(index.getAnnotatedClasses().get("a.Plugin"), containsInAnyOrder("a.A", "a.B"));
+    }
+
+    @Test
+    public void readGeneratedIncomplete() throws IOException {
+        File directory = folder.newFolder("classes");
+        Path indexFile = directory.toPath().resolve(ClassIndexProcessor.INDEX_RESOURCE);
+        Files.createDirectories(indexFile.getParent());
+        Files.write(indexFile, INDEX.getBytes(StandardCharsets.UTF_8));
+        Files.createDirectories(directory.toPath().resolve("a"));
+        Files.write(directory.toPath().resolve("a/A.class"), new byte[0]);
+        Files.write(directory.toPath().resolve("a/A$1.class"), new byte[0]);
+        Files.write(directory.toPath().resolve("a/Generated.class"), new byte[0]);
+
+        assertThat(ArchiveIndex.readGenerated(directory.toURI().toURL()), is(nullValue()));
+    }
+
+    @Test
+    public void readGeneratedCompleteIgnoresAnonymousClasses() throws IOException {
+        File directory = folder.newFolder("classes");
+        Path indexFile = directory.toPath().resolve(ClassIndexProcessor.INDEX_RESOURCE);
+        Files.createDirectories(indexFile.getParent());
+        Files.write(indexFile, INDEX.getBytes(StandardCharsets.UTF_8));
+        Files.createDirectories(directory.toPath().resolve("a"));
+        Files.write(directory.toPath().resolve("a/A.class"), new byte[0]);
+        Files.write(directory.toPath().resolve("a/A$1.class"), new byte[0]);
+        Files.write(directory.toPath().resolve("a/package-info.class"), new byte[0]);
+
+        assertThat(ArchiveIndex.readGenerated(directory.toURI().toURL()), is(not(nullValue())));
+    }
+
+    @Test
+    public void readGeneratedMissing() throws IOException {
+        assertThat(ArchiveIndex.readGenerated(folder.newFolder("classes").toURI().toURL()), is(nullValue()));
+    }
+
+    @Test
+    public void scan() throws IOException {
+        ArchiveIndex index = ArchiveIndex.scan(ArchiveIndexTest.class.getProtectionDomain().getCodeSource().getLocation());
+
+        assertThat(index.getInterfaces().keySet(), is(not(empty())));
+    }
+}
@@ -0,0 +1,150 @@
+package org.kasource.commons.reflection.util;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.Test;
+import org.kasource.commons.reflection.filter.FieldFilter;
+import org.kasource.commons.reflection.filter.MethodFilter;
+import org.kasource.commons.reflection.filter.builder.ConstructorFilterBuilder;
+import org.kasource.commons.reflection.filter.builder.FieldFilterBuilder;
+import org.kasource.commons.reflection.filter.builder.MethodFilterBuilder;
+
+public class BatchIntrospectorTest {
+
+    @Test
+    public void introspect() throws NoSuchMethodException, NoSuchFieldException {
+        BatchIntrospector introspector = new BatchIntrospector(
+                new MethodFilterBuilder().name("get.*").build(),
+                new FieldFilterBuilder().name("name|value").build(),
+                new ConstructorFilterBuilder().numberOfParameters(0).build());
+
+        Map<Class<?>, BatchIntrospector.Result> results = introspector.introspect(Arrays.asList(Child.class, Sibling.class));
+
+        BatchIntrospector.Result child = results.get(Child.class);
+        assertThat(child.getMethods(), containsInAnyOrder(
+                Child.class.getDeclaredMethod("getValue"),
+                Base.class.getDeclaredMethod("getName"),
+                Object.class.getDeclaredMethod("getClass")));
+        assertThat(child.getFields(), containsInAnyOrder(
+                Child.class.getDeclaredField("value"),
+                Base.class.getDeclaredField("name")));
+        assertThat(child.getConstructors(), containsInAnyOrder(Child.class.getDeclaredConstructor()));
+        assertThat(results.get(Sibling.class).getMethods(), containsInAnyOrder(
+                Base.class.getDeclaredMethod("getName"),
+                Object.class.getDeclaredMethod("getClass")));
+        assertThat(results.get(Sibling.class).getConstructors(), is(empty()));
+    }
+
+    @Test
+    public void sameResultAsMethodAndFieldUtils() {
+        MethodFilter methodFilter = new MethodFilterBuilder().isPublic().build();
+        FieldFilter fieldFilter = new FieldFilterBuilder().isPrivate().build();
+        BatchIntrospector introspector = new BatchIntrospector(methodFilter, fieldFilter, null);
+
+        BatchIntrospector.Result result = introspector.introspect(Arrays.asList(Child.class)).get(Child.class);
+
+        assertThat(result.getMethods(), equalTo(MethodUtils.getMethods(Child.class, methodFilter)));
+        assertThat(result.getFields(), equalTo(FieldUtils.getFields(Child.class, fieldFilter)));
+        assertThat(result.getConstructors(), is(empty()));
+    }
+
+    @Test
+    public void superClassMembersFilteredOnce() {
+        AtomicInteger objectMethodsFiltered = new AtomicInteger();
+        MethodFilter methodFilter = m -> {
+            if (m.getDeclaringClass() == Object.class) {
+                objectMethodsFiltered.incrementAndGet();
+            }
+            return true;
+        };
+        BatchIntrospector introspector = new BatchIntrospector(methodFilter, null, null);
+
+        Map<Class<?>, BatchIntrospector.Result> results = introspector.introspect(
+                Arrays.asList(Base.class, Child.class, Sibling.class, String.class));
+
+        assertThat(objectMethodsFiltered.get(), is(Object.class.getDeclaredMethods().length));
+        assertThat(results.size(), is(4));
+        assertThat(results.get(String.class).getFields(), is(empty()));
+    }
+
+    @Test
+    public void introspectInPool() throws NoSuchMethodException {
+        BatchIntrospector introspector = new BatchIntrospector(
+                new MethodFilterBuilder().name("getName").build(), null, null);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            Map<Class<?>, BatchIntrospector.Result> results = introspector.introspect(
+                    Arrays.asList(Child.class, Sibling.class, Child.class), pool);
+
+            Method getName = Base.class.getDeclaredMethod("getName");
+            assertThat(results.size(), is(2));
+            assertThat(results.get(Child.class).getMethods(), containsInAnyOrder(getName));
+            assertThat(results.get(Sibling.class).getMethods(), containsInAnyOrder(getName));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void filtersRunInPool() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        Set<ForkJoinPool> pools = Collections.synchronizedSet(new HashSet<>());
+        BatchIntrospector introspector = new BatchIntrospector(null, null, c -> {
+            pools.add(ForkJoinTask.getPool());
+            return true;
+        });
+        List<Class<?>> classes = Arrays.asList(Object.class, String.class, Integer.class, Long.class, Short.class,
+                Byte.class, Double.class, Float.class, Character.class, Boolean.class, StringBuilder.class,
+                ArrayList.class, HashMap.class, Base.class, Child.class, Sibling.class);
+        try {
+            Map<Class<?>, BatchIntrospector.Result> results = introspector.introspect(classes, pool);
+
+            assertThat(results.size(), is(classes.size()));
+            assertThat(results.get(Sibling.class).getConstructors().size(), is(1));
+            assertThat(pools, contains(pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static class Base {
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    private static class Child extends Base {
+        private int value;
+        private Field unused;
+
+        public int getValue() {
+            return value;
+        }
+    }
+
+    private static class Sibling extends Base {
+        Sibling(String name) {
+        }
+    }
+}
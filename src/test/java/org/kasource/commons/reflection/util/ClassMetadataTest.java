@@ -0,0 +1,173 @@
+package org.kasource.commons.reflection.util;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.EventListener;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.junit.Test;
+
+
+public class ClassMetadataTest {
+
+    @Test
+    public void ofReturnsSameInstance() {
+        assertThat(ClassMetadata.of(MyClass.class), is(sameInstance(ClassMetadata.of(MyClass.class))));
+    }
+
+    @Test
+    public void superClass() {
+        assertThat(ClassMetadata.of(MyClass.class).getSuperClass(), is(sameInstance(ClassMetadata.of(MyBase.class))));
+        assertThat(ClassMetadata.of(Object.class).getSuperClass(), is(nullValue()));
+        assertThat(ClassMetadata.of(Runnable.class).getSuperClass(), is(nullValue()));
+    }
+
+    @Test
+    public void declaredMethodsAreCached() {
+        ClassMetadata metadata = ClassMetadata.of(MyClass.class);
+        assertThat(metadata.getDeclaredMethods(), is(sameInstance(metadata.getDeclaredMethods())));
+        assertThat(metadata.getMethods(), is(sameInstance(metadata.getMethods())));
+    }
+
+    @Test
+    public void methodsIncludesSuperClassMethods() throws NoSuchMethodException {
+        List<Method> methods = Arrays.asList(ClassMetadata.of(MyClass.class).getMethods());
+        assertThat(methods, hasItem(MyClass.class.getDeclaredMethod("myMethod")));
+        assertThat(methods, hasItem(MyBase.class.getDeclaredMethod("run")));
+        assertThat(methods, hasItem(Object.class.getDeclaredMethod("toString")));
+        assertThat(methods.size(), is(MyClass.class.getDeclaredMethods().length
+                + MyBase.class.getDeclaredMethods().length
+                + Object.class.getDeclaredMethods().length));
+    }
+
+    @Test
+    public void fieldsIncludesSuperClassFields() throws NoSuchFieldException {
+        Field[] fields = ClassMetadata.of(MyClass.class).getFields();
+        assertThat(Arrays.asList(fields), containsInAnyOrder(MyClass.class.getDeclaredField("name"),
+                MyBase.class.getDeclaredField("superField")));
+    }
+
+    @Test
+    public void interfacesWithoutDuplicates() {
+        assertThat(Arrays.asList(ClassMetadata.of(MyClass.class).getDeclaredInterfaces()),
+                containsInAnyOrder(EventListener.class, Runnable.class));
+        assertThat(Arrays.asList(ClassMetadata.of(MyClass.class).getInterfaces()),
+                containsInAnyOrder(EventListener.class, Runnable.class, Cloneable.class));
+    }
+
+    @Test
+    public void declaredConstructors() throws NoSuchMethodException {
+        assertThat(Arrays.asList(ClassMetadata.of(MyClass.class).getDeclaredConstructors()),
+                containsInAnyOrder(MyClass.class.getDeclaredConstructor(), MyClass.class.getDeclaredConstructor(String.class)));
+    }
+
+    @Test
+    public void effectiveMethodsExcludeOverriddenMethods() throws NoSuchMethodException {
+        List<Method> methods = Arrays.asList(ClassMetadata.of(Sub.class).getEffectiveMethods());
+
+        assertThat(methods, hasItem(Sub.class.getDeclaredMethod("toString")));
+        assertThat(methods, hasItem(Sub.class.getDeclaredMethod("get")));
+        assertThat(methods, hasItem(Object.class.getDeclaredMethod("hashCode")));
+        assertThat(methods, not(hasItem(Object.class.getDeclaredMethod("toString"))));
+        assertThat(methods, not(hasItem(Base.class.getDeclaredMethod("get"))));
+        assertThat(methods.stream().filter(m -> m.getName().equals("get")).count(), is(1L));
+    }
+
+    @Test
+    public void effectiveMethodsIncludeDefaultMethods() throws NoSuchMethodException {
+        List<Method> methods = Arrays.asList(ClassMetadata.of(Sub.class).getEffectiveMethods());
+
+        assertThat(methods, hasItem(SpecificGreeter.class.getDeclaredMethod("greet")));
+        assertThat(methods, hasItem(Greeter.class.getDeclaredMethod("name")));
+        assertThat(methods, not(hasItem(Greeter.class.getDeclaredMethod("greet"))));
+        assertThat(methods, not(hasItem(Greeter.class.getDeclaredMethod("hello"))));
+        assertThat(methods, hasItem(Base.class.getDeclaredMethod("hello")));
+    }
+
+    @Test
+    public void effectiveMethodsReuseSuperClass() throws NoSuchMethodException {
+        ClassMetadata metadata = ClassMetadata.of(Sub.class);
+
+        assertThat(metadata.getEffectiveMethods(), is(sameInstance(metadata.getEffectiveMethods())));
+        assertThat(Arrays.asList(ClassMetadata.of(Base.class).getEffectiveMethods()),
+                hasItem(Greeter.class.getDeclaredMethod("greet")));
+    }
+
+    private interface Greeter {
+        default String greet() {
+            return "Hi";
+        }
+
+        default String hello() {
+            return "Hello";
+        }
+
+        default String name() {
+            return "greeter";
+        }
+    }
+
+    private interface SpecificGreeter extends Greeter {
+        @Override
+        default String greet() {
+            return "Hi there";
+        }
+    }
+
+    private static class Base implements Greeter {
+        Object get() {
+            return null;
+        }
+
+        @Override
+        public String hello() {
+            return "Hello from base";
+        }
+    }
+
+    private static class Sub extends Base implements SpecificGreeter {
+        @Override
+        String get() {
+            return "";
+        }
+
+        @Override
+        public String toString() {
+            return "override";
+        }
+    }
+
+    private static class MyClass extends MyBase implements EventListener, Runnable {
+        @SuppressWarnings("unused")
+        private String name;
+
+        MyClass() {
+        }
+
+        MyClass(String name) {
+            this.name = name;
+        }
+
+        @SuppressWarnings("unused")
+        private void myMethod() {
+        }
+    }
+
+    private static class MyBase implements Runnable, Cloneable {
+        @SuppressWarnings("unused")
+        private String superField;
+
+        @Override
+        public void run() {
+        }
+    }
+}
@@ -10,6 +10,7 @@ import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 import org.junit.Test;
@@ -54,6 +55,49 @@ public class ConstructorUtilsTest {
         ConstructorUtils.newInstance("java.lang.Integer", Number.class, new Class<?>[]{List.class}, new Object[]{new ArrayList<Integer>()});
     }
 
+    @Test(expected = IllegalStateException.class)
+    public void newInstanceConstructorThrowsRuntimeException() {
+        ConstructorUtils.newInstance("java.lang.Integer", Number.class, new Class<?>[]{String.class}, new Object[]{"five"});
+    }
+
+    @Test
+    public void newInstanceWidensPrimitiveArgument() {
+        Number number = ConstructorUtils.newInstance("java.lang.Long", Number.class, new Class<?>[]{long.class}, new Object[]{5});
+
+        assertThat(number, equalTo(5L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void newInstanceArgumentTypeMismatch() {
+        ConstructorUtils.newInstance("java.lang.Integer", Number.class, new Class<?>[]{int.class}, new Object[]{"5"});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void newInstanceWrongNumberOfArguments() {
+        ConstructorUtils.newInstance("java.lang.Integer", Number.class, new Class<?>[]{int.class});
+    }
+
+    @Test
+    public void getInstanceFactory() {
+        InstanceFactory<? extends Number> factory =
+                ConstructorUtils.getInstanceFactory(getClass().getClassLoader(), "java.lang.Integer", Number.class, int.class);
+        assertThat(factory.getType(), equalTo(Integer.class));
+        assertThat(factory.newInstance(5), equalTo(5));
+        assertThat(ConstructorUtils.getInstanceFactory(getClass().getClassLoader(), "java.lang.Integer", Number.class, int.class),
+                is(sameInstance(factory)));
+    }
+
+    @Test
+    public void getInstanceFactoryBootstrapClassLoader() {
+        InstanceFactory<? extends List> factory = ConstructorUtils.getInstanceFactory(null, "java.util.ArrayList", List.class);
+        assertThat(factory.newInstance(), is(instanceOf(ArrayList.class)));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void getInstanceFactoryUnknownClass() {
+        ConstructorUtils.getInstanceFactory(getClass().getClassLoader(), "org.rikard.MyClass", List.class);
+    }
+
     @Test
     public void findFirstConstructor() throws NoSuchMethodException {
        Constructor<Integer> constructor = ConstructorUtils.findFirstConstructor(Integer.class, new ConstructorFilterBuilder().isPublic().hasSignature(int.class).build());
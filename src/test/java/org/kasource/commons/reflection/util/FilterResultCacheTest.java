@@ -0,0 +1,86 @@
+package org.kasource.commons.reflection.util;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.junit.Test;
+
+
+public class FilterResultCacheTest {
+
+    private FilterResultCache<Object, String> cache = new FilterResultCache<>();
+
+    @Test
+    public void getRunsQueryOnce() {
+        AtomicInteger queries = new AtomicInteger();
+        Object filter = new Object();
+
+        Set<String> result = cache.get(filter, f -> query(queries, "a", "b"));
+
+        assertThat(result, containsInAnyOrder("a", "b"));
+        assertThat(cache.get(filter, f -> query(queries, "c")), containsInAnyOrder("a", "b"));
+        assertThat(queries.get(), is(1));
+    }
+
+    @Test
+    public void keyedByFilterIdentity() {
+        AtomicInteger queries = new AtomicInteger();
+
+        cache.get("filter", f -> query(queries, "a"));
+        Set<String> result = cache.get(new String("filter"), f -> query(queries, "b"));
+
+        assertThat(result, containsInAnyOrder("b"));
+        assertThat(queries.get(), is(2));
+    }
+
+    @Test
+    public void resultIsCopy() {
+        Object filter = new Object();
+        Set<String> result = cache.get(filter, f -> query(new AtomicInteger(), "a"));
+
+        result.add("b");
+
+        assertThat(cache.get(filter, f -> query(new AtomicInteger(), "c")), containsInAnyOrder("a"));
+        assertThat(cache.get(filter, f -> query(new AtomicInteger(), "c")), is(not(sameInstance(result))));
+    }
+
+    @Test
+    public void bounded() {
+        Object[] filters = new Object[FilterResultCache.MAX_ENTRIES * 2];
+        for (int i = 0; i < filters.length; i++) {
+            filters[i] = new Object();
+            cache.get(filters[i], f -> Collections.emptySet());
+            assertThat(cache.size() <= FilterResultCache.MAX_ENTRIES, is(true));
+        }
+    }
+
+    @Test
+    public void collectedFilterExpungedOnGet() throws InterruptedException {
+        Object filter = new Object();
+        cache.get(new Object(), f -> query(new AtomicInteger(), "a"));
+        cache.get(filter, f -> query(new AtomicInteger(), "b"));
+
+        for (int i = 0; i < 50 && cache.size() > 1; i++) {
+            System.gc();
+            Thread.sleep(10);
+            cache.get(filter, f -> query(new AtomicInteger(), "c"));
+        }
+
+        assertThat(cache.size(), is(1));
+    }
+
+    private Set<String> query(AtomicInteger queries, String... result) {
+        queries.incrementAndGet();
+        Set<String> set = new HashSet<>();
+        Collections.addAll(set, result);
+        return set;
+    }
+}
@@ -0,0 +1,46 @@
+package org.kasource.commons.reflection.util;
+
+import java.util.ArrayList;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.junit.Test;
+
+
+public class InstanceFactoryTest {
+
+    @Test
+    public void defaultConstructor() {
+        InstanceFactory<ArrayList> factory = InstanceFactory.of(ArrayList.class);
+        ArrayList<?> list = factory.newInstance();
+        assertThat(list.isEmpty(), is(true));
+        assertThat(factory.newInstance(), is(not(sameInstance(list))));
+    }
+
+    @Test
+    public void constructorWithParameters() {
+        InstanceFactory<StringBuilder> factory = InstanceFactory.of(StringBuilder.class, String.class);
+        assertThat(factory.newInstance("value").toString(), is("value"));
+    }
+
+    @Test
+    public void cached() {
+        assertThat(InstanceFactory.of(StringBuilder.class, String.class),
+                is(sameInstance(InstanceFactory.of(StringBuilder.class, String.class))));
+        assertThat(InstanceFactory.of(StringBuilder.class, String.class),
+                is(not(sameInstance(InstanceFactory.of(StringBuilder.class, CharSequence.class)))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void noSuchConstructor() {
+        InstanceFactory.of(Integer.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void newInstanceWithoutArguments() {
+        InstanceFactory.of(StringBuilder.class, String.class).newInstance();
+    }
+}
@@ -0,0 +1,181 @@
+package org.kasource.commons.reflection.util;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.junit.Test;
+
+
+public class InvokerFactoryTest {
+
+    @Test
+    public void publicGetter() throws NoSuchMethodException {
+        Function<MyBean, String> getter = InvokerFactory.getter(MyBean.class.getMethod("getName"));
+        assertThat(getter.apply(new MyBean("name")), is("name"));
+    }
+
+    @Test
+    public void primitiveGetter() throws NoSuchMethodException {
+        Function<MyBean, Integer> getter = InvokerFactory.getter(MyBean.class.getMethod("getSize"));
+        assertThat(getter.apply(new MyBean("name")), is(4));
+    }
+
+    @Test
+    public void nonPublicGetter() throws NoSuchMethodException {
+        Method method = MyPrivateBean.class.getDeclaredMethod("getValue");
+        Function<MyPrivateBean, Long> getter = InvokerFactory.getter(method);
+
+        assertThat(getter.apply(new MyPrivateBean()), is(42L));
+        assertThat(method.isAccessible(), is(false));
+    }
+
+    @Test
+    public void getterCached() throws NoSuchMethodException {
+        Method method = MyBean.class.getMethod("getName");
+        assertThat(InvokerFactory.getter(method), is(sameInstance(InvokerFactory.getter(MyBean.class.getMethod("getName")))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getterVoidMethod() throws NoSuchMethodException {
+        InvokerFactory.getter(MyBean.class.getMethod("setName", String.class));
+    }
+
+    @Test
+    public void setter() throws NoSuchMethodException {
+        BiConsumer<MyBean, String> setter = InvokerFactory.setter(MyBean.class.getMethod("setName", String.class));
+        MyBean bean = new MyBean("name");
+
+        setter.accept(bean, "other");
+
+        assertThat(bean.getName(), is("other"));
+    }
+
+    @Test
+    public void fluentPrimitiveSetter() throws NoSuchMethodException {
+        BiConsumer<MyBean, Integer> setter = InvokerFactory.setter(MyBean.class.getMethod("withSize", int.class));
+        MyBean bean = new MyBean("name");
+
+        setter.accept(bean, 10);
+
+        assertThat(bean.getSize(), is(10));
+    }
+
+    @Test
+    public void invoker() throws NoSuchMethodException {
+        MethodInvoker invoker = InvokerFactory.invoker(MyBean.class.getMethod("concat", String.class, int.class));
+        assertThat(invoker.invoke(new MyBean("name"), "-", 2), is("name-2"));
+    }
+
+    @Test
+    public void invokerStaticAndVoid() throws NoSuchMethodException {
+        MethodInvoker invoker = InvokerFactory.invoker(MyBean.class.getMethod("create", String.class));
+        MethodInvoker voidInvoker = InvokerFactory.invoker(MyBean.class.getMethod("setName", String.class));
+        MyBean bean = (MyBean) invoker.invoke(null, "name");
+
+        assertThat(voidInvoker.invoke(bean, "other"), is(nullValue()));
+        assertThat(bean.getName(), is("other"));
+    }
+
+    @Test(expected = IOException.class)
+    public void checkedExceptionPropagated() throws Exception {
+        MethodInvoker invoker = InvokerFactory.invoker(MyBean.class.getMethod("fail"));
+        invoker.invoke(new MyBean("name"));
+    }
+
+    @Test
+    public void fieldAccessors() throws NoSuchFieldException {
+        Field field = MyBean.class.getDeclaredField("name");
+        Function<MyBean, String> getter = InvokerFactory.getter(field);
+        BiConsumer<MyBean, String> setter = InvokerFactory.setter(field);
+        MyBean bean = new MyBean("name");
+
+        setter.accept(bean, "other");
+
+        assertThat(getter.apply(bean), is("other"));
+        assertThat(field.isAccessible(), is(false));
+    }
+
+    @Test
+    public void staticFieldGetter() throws NoSuchFieldException {
+        Function<Object, String> getter = InvokerFactory.getter(MyBean.class.getDeclaredField("DEFAULT_NAME"));
+        assertThat(getter.apply(null), is(MyBean.DEFAULT_NAME));
+    }
+
+    @Test
+    public void supplier() throws NoSuchMethodException {
+        Supplier<MyBean> supplier = InvokerFactory.supplier(MyBean.class.getConstructor());
+        assertThat(supplier.get().getName(), is(MyBean.DEFAULT_NAME));
+    }
+
+    @Test
+    public void nonPublicSupplier() throws NoSuchMethodException {
+        Supplier<MyPrivateBean> supplier = InvokerFactory.supplier(MyPrivateBean.class.getDeclaredConstructor());
+        assertThat(supplier.get().getValue(), is(42L));
+    }
+
+    @Test
+    public void constructorInvoker() throws NoSuchMethodException {
+        Constructor<MyBean> constructor = MyBean.class.getConstructor(String.class);
+        ConstructorInvoker<MyBean> invoker = InvokerFactory.invoker(constructor);
+        assertThat(invoker.newInstance("name").getName(), is("name"));
+    }
+
+    public static class MyBean {
+        public static final String DEFAULT_NAME = "default";
+        private String name;
+        private int size = 4;
+
+        public MyBean() {
+            this(DEFAULT_NAME);
+        }
+
+        public MyBean(final String name) {
+            this.name = name;
+        }
+
+        public static MyBean create(String name) {
+            return new MyBean(name);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public MyBean withSize(int size) {
+            this.size = size;
+            return this;
+        }
+
+        public String concat(String separator, int count) {
+            return name + separator + count;
+        }
+
+        public void fail() throws IOException {
+            throw new IOException("failed");
+        }
+    }
+
+    private static final class MyPrivateBean {
+        private long getValue() {
+            return 42L;
+        }
+    }
+}
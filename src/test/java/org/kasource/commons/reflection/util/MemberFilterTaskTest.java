@@ -0,0 +1,79 @@
+package org.kasource.commons.reflection.util;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MemberFilterTaskTest {
+    private ForkJoinPool pool;
+
+    @Before
+    public void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void filterLargeArrayInParallel() {
+        Integer[] members = members(MemberFilterTask.PARALLEL_THRESHOLD * 4 + 3);
+        Set<Thread> threads = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+        Set<Integer> matches = MemberFilterTask.filter(members, m -> {
+            threads.add(Thread.currentThread());
+            return m % 3 == 0;
+        }, pool);
+
+        assertThat(matches, equalTo(IntStream.range(0, members.length).filter(i -> i % 3 == 0).boxed().collect(Collectors.toSet())));
+        assertThat(threads.contains(Thread.currentThread()), is(false));
+        assertThat(threads.size(), greaterThan(0));
+    }
+
+    @Test
+    public void filterSmallArrayInCallingThread() {
+        Integer[] members = members(MemberFilterTask.PARALLEL_THRESHOLD - 1);
+        Set<Thread> threads = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+        Set<Integer> matches = MemberFilterTask.filter(members, m -> {
+            threads.add(Thread.currentThread());
+            return m == 5;
+        }, pool);
+
+        assertThat(matches, contains(5));
+        assertThat(threads, contains(Thread.currentThread()));
+    }
+
+    @Test
+    public void filterWithoutPoolInCallingThread() {
+        Integer[] members = members(MemberFilterTask.PARALLEL_THRESHOLD * 2);
+        Set<Thread> threads = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+        Set<Integer> matches = MemberFilterTask.filter(members, m -> {
+            threads.add(Thread.currentThread());
+            return m == members.length - 1;
+        }, null);
+
+        assertThat(matches, contains(members.length - 1));
+        assertThat(threads, contains(Thread.currentThread()));
+    }
+
+    private static Integer[] members(int size) {
+        return IntStream.range(0, size).boxed().toArray(Integer[]::new);
+    }
+}
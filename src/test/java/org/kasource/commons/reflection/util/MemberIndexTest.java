@@ -0,0 +1,65 @@
+package org.kasource.commons.reflection.util;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+import javax.annotation.Resource;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContainingInAnyOrder;
+import static org.hamcrest.Matchers.emptyArray;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.junit.Test;
+import org.kasource.commons.reflection.filter.builder.FieldFilterBuilder;
+import org.kasource.commons.reflection.filter.impl.FilterPlan;
+
+public class MemberIndexTest {
+
+    private final MemberIndex<Field> index = new MemberIndex<>(Fields.class.getDeclaredFields());
+
+    @Test
+    public void getByName() throws NoSuchFieldException {
+        assertThat(index.getByName("name"), arrayContainingInAnyOrder(Fields.class.getDeclaredField("name")));
+        assertThat(index.getByName("missing"), emptyArray());
+    }
+
+    @Test
+    public void getByModifier() throws NoSuchFieldException {
+        assertThat(index.getByModifier(Modifier.STATIC), arrayContainingInAnyOrder(
+                Fields.class.getDeclaredField("CONSTANT"),
+                Fields.class.getDeclaredField("counter")));
+        assertThat(index.getByModifier(Modifier.STATIC), is(sameInstance(index.getByModifier(Modifier.STATIC))));
+    }
+
+    @Test
+    public void getByAnnotation() throws NoSuchFieldException {
+        assertThat(index.getByAnnotation(Resource.class), arrayContainingInAnyOrder(
+                Fields.class.getDeclaredField("name"),
+                Fields.class.getDeclaredField("counter")));
+        assertThat(index.getByAnnotation(Deprecated.class), emptyArray());
+    }
+
+    @Test
+    public void candidates() throws NoSuchFieldException {
+        assertThat(index.candidates(FilterPlan.ofFieldFilter(new FieldFilterBuilder().name("value").build())),
+                arrayContainingInAnyOrder(Fields.class.getDeclaredField("value")));
+        assertThat(index.candidates(FilterPlan.ofFieldFilter(new FieldFilterBuilder().isStatic().isPublic().build())),
+                arrayContainingInAnyOrder(Fields.class.getDeclaredField("CONSTANT")));
+        assertThat(index.candidates(FilterPlan.ofFieldFilter(new FieldFilterBuilder().isStatic().annotated(Resource.class).build())).length,
+                is(2));
+        assertThat(index.candidates(FilterPlan.NONE).length, is(Fields.class.getDeclaredFields().length));
+    }
+
+    @SuppressWarnings("unused")
+    private static class Fields {
+        public static final String CONSTANT = "constant";
+        @Resource
+        private static int counter;
+        @Resource
+        private String name;
+        private int value;
+        protected long other;
+    }
+}
@@ -0,0 +1,69 @@
+package org.kasource.commons.reflection.util;
+
+import java.lang.reflect.Method;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContainingInAnyOrder;
+import static org.hamcrest.Matchers.emptyArray;
+
+import org.junit.Test;
+
+public class MethodIndexTest {
+
+    private final MethodIndex index = MethodIndex.of(Overloads.class.getDeclaredMethods());
+
+    @Test
+    public void getByName() throws NoSuchMethodException {
+        assertThat(index.get("call"), arrayContainingInAnyOrder(
+                Overloads.class.getDeclaredMethod("call"),
+                Overloads.class.getDeclaredMethod("call", String.class),
+                Overloads.class.getDeclaredMethod("call", int.class),
+                Overloads.class.getDeclaredMethod("call", String.class, String.class, String.class)));
+        assertThat(index.get("other"), arrayContainingInAnyOrder(Overloads.class.getDeclaredMethod("other")));
+    }
+
+    @Test
+    public void getByNameAndNumberOfParameters() throws NoSuchMethodException {
+        assertThat(index.get("call", 0), arrayContainingInAnyOrder(Overloads.class.getDeclaredMethod("call")));
+        assertThat(index.get("call", 1), arrayContainingInAnyOrder(
+                Overloads.class.getDeclaredMethod("call", String.class),
+                Overloads.class.getDeclaredMethod("call", int.class)));
+        assertThat(index.get("call", 3), arrayContainingInAnyOrder(
+                Overloads.class.getDeclaredMethod("call", String.class, String.class, String.class)));
+    }
+
+    @Test
+    public void getMissing() {
+        assertThat(index.get("missing"), emptyArray());
+        assertThat(index.get("missing", 0), emptyArray());
+        assertThat(index.get("call", 2), emptyArray());
+        assertThat(index.get("call", 4), emptyArray());
+        assertThat(index.get("call", -1), emptyArray());
+    }
+
+    @Test
+    public void emptyIndex() {
+        MethodIndex empty = MethodIndex.of(new Method[0]);
+
+        assertThat(empty.get("call"), emptyArray());
+        assertThat(empty.get("call", 0), emptyArray());
+    }
+
+    @SuppressWarnings("unused")
+    private static class Overloads {
+        void call() {
+        }
+
+        void call(String value) {
+        }
+
+        void call(int value) {
+        }
+
+        void call(String first, String second, String third) {
+        }
+
+        void other() {
+        }
+    }
+}
@@ -1,11 +1,25 @@
 package org.kasource.commons.reflection.util;
 
 import java.lang.reflect.Method;
-
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 
+import net.sf.cglib.core.TypeUtils;
+import net.sf.cglib.proxy.InterfaceMaker;
 import org.junit.Test;
+import org.kasource.commons.reflection.filter.MethodFilter;
+import org.kasource.commons.reflection.filter.builder.MethodFilterBuilder;
 
 
 public class MethodUtilsTest {
@@ -60,6 +74,134 @@ public class MethodUtilsTest {
         MethodUtils.verifyMethodSignature(method, String.class, String.class);
     }
 
+    @Test
+    public void getMethodsCachesCacheableFilterResult() throws NoSuchMethodException {
+        Set<Method> getters = MethodUtils.getMethods(MyClass.class, MethodFilterBuilder.FILTER_GETTERS);
+
+        assertThat(getters, containsInAnyOrder(MyClass.class.getMethod("getName"), Object.class.getMethod("getClass")));
+        assertThat(MethodUtils.getMethods(MyClass.class, MethodFilterBuilder.FILTER_GETTERS), equalTo(getters));
+    }
+
+    @Test
+    public void getMethodsCachedResultIsModifiableCopy() throws NoSuchMethodException {
+        MethodUtils.getMethods(MyClass.class, MethodFilterBuilder.FILTER_SETTERS).clear();
+
+        assertThat(MethodUtils.getMethods(MyClass.class, MethodFilterBuilder.FILTER_SETTERS),
+                   containsInAnyOrder(MyClass.class.getMethod("setName", String.class)));
+    }
+
+    @Test
+    public void getMethodsNonCacheableFilterNotCached() throws NoSuchMethodException {
+        MethodFilter filter = m -> m.getName().equals("setName");
+
+        Set<Method> setters = MethodUtils.getMethods(MyClass.class, filter);
+
+        assertThat(setters, containsInAnyOrder(MyClass.class.getMethod("setName", String.class)));
+        assertThat(MethodUtils.getMethods(MyClass.class, filter), is(not(sameInstance(setters))));
+    }
+
+    @Test
+    public void getEffectiveMethods() throws NoSuchMethodException {
+        MethodFilter filter = new MethodFilterBuilder().name("toString|getName").build();
+
+        Set<Method> methods = MethodUtils.getEffectiveMethods(MyClass.class, filter);
+
+        assertThat(methods, containsInAnyOrder(MyClass.class.getMethod("getName"), Object.class.getMethod("toString")));
+        assertThat(MethodUtils.getEffectiveMethods(MyClass.class, filter), equalTo(methods));
+    }
+
+    @Test
+    public void getMethodsByName() throws NoSuchMethodException {
+        assertThat(MethodUtils.getMethodsByName(MyClass.class, "getName"), containsInAnyOrder(MyClass.class.getMethod("getName")));
+        assertThat(MethodUtils.getMethodsByName(MyClass.class, "wait", 1), containsInAnyOrder(Object.class.getMethod("wait", long.class)));
+        assertThat(MethodUtils.getMethodsByName(MyClass.class, "wait").size(), is(3));
+        assertThat(MethodUtils.getDeclaredMethodsByName(MyClass.class, "wait").isEmpty(), is(true));
+        assertThat(MethodUtils.getDeclaredMethodsByName(MyClass.class, "setName", 1),
+                containsInAnyOrder(MyClass.class.getMethod("setName", String.class)));
+        assertThat(MethodUtils.getDeclaredMethodsByName(MyClass.class, "setName", 0).isEmpty(), is(true));
+    }
+
+    @Test
+    public void getDeclaredMethod() throws NoSuchMethodException {
+        assertThat(MethodUtils.getDeclaredMethod(MyClass.class, "setName", String.class),
+                is(MyClass.class.getMethod("setName", String.class)));
+        assertThat(MethodUtils.getDeclaredMethod(Covariant.class, "get"), is(Covariant.class.getDeclaredMethod("get")));
+        assertThat(MethodUtils.getDeclaredMethod(Covariant.class, "get").getReturnType(), is((Object) String.class));
+    }
+
+    @Test
+    public void getDeclaredMethodNullParameters() throws NoSuchMethodException {
+        assertThat(MethodUtils.getDeclaredMethod(MyClass.class, "getName", (Class<?>[]) null), equalTo(MyClass.class.getMethod("getName")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getDeclaredMethodNotFound() {
+        MethodUtils.getDeclaredMethod(MyClass.class, "setName", Integer.class);
+    }
+
+    @Test
+    public void getMethodsWithIndexedFilter() throws NoSuchMethodException {
+        assertThat(MethodUtils.getMethods(MyClass.class, new MethodFilterBuilder().name("wait").numberOfParameters(2).build()),
+                containsInAnyOrder(Object.class.getMethod("wait", long.class, int.class)));
+        assertThat(MethodUtils.getMethods(MyClass.class, new MethodFilterBuilder().name("setName").isStatic().build()).isEmpty(),
+                is(true));
+        assertThat(MethodUtils.getDeclaredMethods(MyClass.class, new MethodFilterBuilder().isPublic().name("get.*").build()),
+                containsInAnyOrder(MyClass.class.getMethod("getName")));
+        assertThat(MethodUtils.getMethods(MyClass.class, new MethodFilterBuilder().isPublic().byModifiers(java.lang.reflect.Modifier.FINAL).numberOfParameters(0).build()),
+                containsInAnyOrder(Object.class.getMethod("getClass"), Object.class.getMethod("notify"),
+                        Object.class.getMethod("notifyAll"), Object.class.getMethod("wait")));
+    }
+
+    @Test
+    public void getMethodsInPool() throws NoSuchMethodException {
+        Class<?> large = largeInterface();
+        Set<Thread> threads = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        MethodFilter filter = m -> {
+            threads.add(Thread.currentThread());
+            return m.getName().equals("m7");
+        };
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            assertThat(MethodUtils.getMethods(large, filter, pool), containsInAnyOrder(large.getMethod("m7")));
+            assertThat(MethodUtils.getDeclaredMethods(large, filter, pool), containsInAnyOrder(large.getMethod("m7")));
+        } finally {
+            pool.shutdown();
+        }
+        assertThat(threads.contains(Thread.currentThread()), is(false));
+    }
+
+    @Test
+    public void getMethodsWithoutPoolInCallingThread() throws NoSuchMethodException {
+        Class<?> large = largeInterface();
+        Set<Thread> threads = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        MethodFilter filter = m -> {
+            threads.add(Thread.currentThread());
+            return m.getName().equals("m7");
+        };
+
+        assertThat(MethodUtils.getMethods(large, filter), containsInAnyOrder(large.getMethod("m7")));
+        assertThat(MethodUtils.getDeclaredMethods(large, filter), containsInAnyOrder(large.getMethod("m7")));
+        assertThat(threads, contains(Thread.currentThread()));
+    }
+
+    /**
+     * @return an interface declaring more methods than the parallel threshold.
+     **/
+    private static Class<?> largeInterface() {
+        InterfaceMaker maker = new InterfaceMaker();
+        for (int i = 0; i <= MemberFilterTask.PARALLEL_THRESHOLD; i++) {
+            maker.add(TypeUtils.parseSignature("void m" + i + "()"), null);
+        }
+        return maker.create();
+    }
+
+    private static class Covariant implements Supplier<String> {
+        @Override
+        public String get() {
+            return "";
+        }
+    }
+
     private static class MyClass {
         public void setName(String name) {
         }